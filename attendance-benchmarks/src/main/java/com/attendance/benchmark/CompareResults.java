@@ -0,0 +1,71 @@
+package com.attendance.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 对比两份JMH JSON结果（-rf json 输出）
+ * 用法: java -cp benchmarks.jar com.attendance.benchmark.CompareResults baseline.json current.json [阈值百分比]
+ * 任一基准的平均耗时比基线增加超过阈值（默认10%）时以状态码1退出
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: CompareResults <baseline.json> <current.json> [阈值百分比]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-80s %12s %12s %-6s %9s%n", "Benchmark", "Baseline", "Current", "Unit", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode base = baseline.get(entry.getKey());
+            JsonNode metric = entry.getValue().path("primaryMetric");
+            String unit = metric.path("scoreUnit").asText();
+            double score = metric.path("score").asDouble();
+            if (base == null) {
+                System.out.printf("%-80s %12s %12.3f %-6s %9s%n", entry.getKey(), "-", score, unit, "new");
+                continue;
+            }
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double change = (score - baseScore) / baseScore * 100;
+            boolean slower = change > threshold;
+            regressed |= slower;
+            System.out.printf("%-80s %12.3f %12.3f %-6s %+8.1f%%%s%n", entry.getKey(), baseScore, score, unit, change,
+                slower ? "  <-- 回退" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    /**
+     * 以 基准名+参数 为键读取结果
+     */
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                .replace(CompareResults.class.getPackageName() + ".", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(key.indexOf("(") < 0 ? "(" : ", ").append(param.getKey()).append('=')
+                    .append(param.getValue().asText());
+            }
+            if (key.indexOf("(") >= 0) {
+                key.append(')');
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
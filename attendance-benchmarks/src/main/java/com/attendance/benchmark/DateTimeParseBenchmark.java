@@ -0,0 +1,61 @@
+package com.attendance.benchmark;
+
+import com.attendance.common.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateTimeUtil.parseDateTime 各级回退路径的耗时
+ * 每失败一级都会构造并丢弃一个 DateTimeParseException
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeParseBenchmark {
+
+    /**
+     * STANDARD: 标准格式，第一级直接成功
+     * ISO: 带T的ISO格式，第一级直接成功
+     * SINGLE_DIGIT_HOUR: 小时位缺少前导零，第二级宽松格式成功
+     * INVALID: 所有格式均失败，走完整条回退链后抛出异常
+     */
+    @Param({"STANDARD", "ISO", "SINGLE_DIGIT_HOUR", "INVALID"})
+    private String format;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = switch (format) {
+            case "STANDARD" -> "2025-05-02 08:30:00";
+            case "ISO" -> "2025-05-02T08:30:00";
+            case "SINGLE_DIGIT_HOUR" -> "2025-05-02 8:30:00";
+            case "INVALID" -> "2025/05/02 08:30";
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        try {
+            return DateTimeUtil.parseDateTime(input);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.attendance.benchmark;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.model.ApiResponse;
+import com.attendance.model.dto.course.CourseDTO;
+import com.attendance.model.dto.course.CourseRecordDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页接口响应的JSON序列化
+ * 响应结构与 CourseServiceImpl 的课程列表、签到记录列表一致，ObjectMapper 按 spring.jackson 配置构造
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    /**
+     * 每页条数：默认分页大小和教师查看整个课程签到记录时的大分页
+     */
+    @Param({"20", "500"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Map<String, Object>> coursePage;
+    private ApiResponse<Map<String, Object>> recordPage;
+
+    @Setup
+    public void setup() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+8"));
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .dateFormat(dateFormat)
+            .timeZone("GMT+8")
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        LocalDateTime now = LocalDateTime.of(2025, 5, 2, 8, 30);
+        String courseId = UUID.randomUUID().toString();
+
+        List<CourseDTO> courses = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            courses.add(CourseDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .name("数据结构与算法 " + i)
+                .description("本课程介绍常用数据结构与算法设计方法")
+                .creatorId(UUID.randomUUID().toString())
+                .creatorUsername("teacher" + i)
+                .creatorFullName("张老师")
+                .code("A1B2C3D4")
+                .startDate(LocalDate.of(2025, 2, 24))
+                .endDate(LocalDate.of(2025, 6, 30))
+                .type(SystemConstants.CourseType.COURSE)
+                .status(SystemConstants.CourseStatus.ACTIVE)
+                .memberCount(120)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        }
+        coursePage = ApiResponse.success(page("courses", courses));
+
+        List<CourseRecordDTO> records = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            records.add(CourseRecordDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(UUID.randomUUID().toString())
+                .username("student" + i)
+                .fullName("学生" + i)
+                .courseId(UUID.randomUUID().toString())
+                .courseName("第5周签到")
+                .parentCourseId(courseId)
+                .parentCourseName("数据结构与算法")
+                .status(i % 7 == 0 ? SystemConstants.RecordStatus.LATE : SystemConstants.RecordStatus.NORMAL)
+                .checkInTime(now.plusMinutes(i % 30))
+                .location("39.991270,116.305960")
+                .device("Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X)")
+                .verifyMethod(SystemConstants.CheckInType.QR_CODE)
+                .active(true)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        }
+        recordPage = ApiResponse.success(page("records", records));
+    }
+
+    @Benchmark
+    public byte[] coursePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(coursePage);
+    }
+
+    @Benchmark
+    public byte[] courseRecordPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(recordPage);
+    }
+
+    private Map<String, Object> page(String key, List<?> content) {
+        Map<String, Object> page = new HashMap<>();
+        page.put(key, content);
+        page.put("currentPage", 0);
+        page.put("totalItems", (long) content.size());
+        page.put("totalPages", 1);
+        return page;
+    }
+}
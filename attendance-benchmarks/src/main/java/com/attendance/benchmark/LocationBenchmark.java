@@ -0,0 +1,56 @@
+package com.attendance.benchmark;
+
+import com.attendance.common.util.LocationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 位置签到：距离计算与坐标字符串解析
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocationBenchmark {
+
+    // 教室位置与约百米外的学生位置
+    private double teacherLatitude = 39.990464;
+    private double teacherLongitude = 116.305186;
+    private double studentLatitude = 39.991270;
+    private double studentLongitude = 116.305960;
+
+    private String location = "39.991270,116.305960";
+
+    @Benchmark
+    public double calculateDistance() {
+        return LocationUtil.calculateDistance(teacherLatitude, teacherLongitude, studentLatitude, studentLongitude);
+    }
+
+    /**
+     * 签到时分别解析纬度和经度，坐标字符串被拆分两次
+     */
+    @Benchmark
+    public double parseCoordinates() {
+        return LocationUtil.parseLatitude(location) + LocationUtil.parseLongitude(location);
+    }
+
+    /**
+     * 解析坐标并计算距离，对应一次位置签到的校验
+     */
+    @Benchmark
+    public double parseAndCalculate() {
+        return LocationUtil.calculateDistance(teacherLatitude, teacherLongitude,
+            LocationUtil.parseLatitude(location), LocationUtil.parseLongitude(location));
+    }
+}
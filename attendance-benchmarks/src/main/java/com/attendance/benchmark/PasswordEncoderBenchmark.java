@@ -0,0 +1,80 @@
+package com.attendance.benchmark;
+
+import com.attendance.common.config.security.Argon2PasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两种密码编码器的编码与校验耗时
+ * BCrypt强度覆盖 app.security.password-hashing 的校准范围，Argon2id 使用默认参数（2次迭代，64MB）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Attendance@2025";
+
+    private Argon2PasswordEncoder argon2;
+    private String argon2Hash;
+
+    /**
+     * BCrypt按强度参数化，Argon2id不随之重复执行
+     */
+    @State(Scope.Benchmark)
+    public static class BCryptState {
+
+        @Param({"10", "12"})
+        private int strength;
+
+        private BCryptPasswordEncoder encoder;
+        private String hash;
+
+        @Setup
+        public void setup() {
+            encoder = new BCryptPasswordEncoder(strength);
+            hash = encoder.encode(PASSWORD);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        argon2 = new Argon2PasswordEncoder();
+        argon2Hash = argon2.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String bcryptEncode(BCryptState state) {
+        return state.encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches(BCryptState state) {
+        return state.encoder.matches(PASSWORD, state.hash);
+    }
+
+    @Benchmark
+    public String argon2Encode() {
+        return argon2.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean argon2Matches() {
+        return argon2.matches(PASSWORD, argon2Hash);
+    }
+}
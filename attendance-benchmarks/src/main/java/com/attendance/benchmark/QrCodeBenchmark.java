@@ -0,0 +1,95 @@
+package com.attendance.benchmark;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二维码PNG生成
+ * 参数与 CourseController 的课程邀请码和签到二维码接口一致（300x300，H级纠错，边距1）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QrCodeBenchmark {
+
+    private static final int SIZE = 300;
+
+    private final Map<EncodeHintType, Object> hints = new HashMap<>();
+
+    private String inviteCode;
+    private String checkinContent;
+    private BitMatrix checkinMatrix;
+
+    @Setup
+    public void setup() throws WriterException {
+        System.setProperty("java.awt.headless", "true");
+        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H);
+        hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
+        hints.put(EncodeHintType.MARGIN, 1);
+
+        inviteCode = "A1B2C3D4";
+        // 签到二维码内容为 任务ID:5秒时间块
+        checkinContent = "5f0c6a4e-3b1d-4a8e-9a43-2f7d1c6e8b90:" + (1746144000000L / 5000);
+        checkinMatrix = encode(checkinContent);
+    }
+
+    @Benchmark
+    public byte[] courseInviteQrCode() throws WriterException, IOException {
+        return toPng(encode(inviteCode));
+    }
+
+    @Benchmark
+    public byte[] checkinQrCode() throws WriterException, IOException {
+        return toPng(encode(checkinContent));
+    }
+
+    /**
+     * 只计算二维码矩阵
+     */
+    @Benchmark
+    public BitMatrix checkinQrEncodeOnly() throws WriterException {
+        return encode(checkinContent);
+    }
+
+    /**
+     * 只做PNG编码
+     */
+    @Benchmark
+    public byte[] checkinPngWriteOnly() throws IOException {
+        return toPng(checkinMatrix);
+    }
+
+    private BitMatrix encode(String content) throws WriterException {
+        return new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, SIZE, SIZE, hints);
+    }
+
+    private static byte[] toPng(BitMatrix matrix) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatrixToImageWriter.writeToStream(matrix, "PNG", out);
+        return out.toByteArray();
+    }
+}
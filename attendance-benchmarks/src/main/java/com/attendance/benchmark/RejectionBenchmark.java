@@ -0,0 +1,143 @@
+package com.attendance.benchmark;
+
+import com.attendance.common.exception.BusinessException;
+import com.attendance.common.exception.ErrorCode;
+import com.attendance.common.exception.RejectionException;
+import com.attendance.common.exception.RejectionResponses;
+import com.attendance.common.model.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 单次签到拒绝（重复签到）的异常和响应开销
+ * 捕获点位于 stackDepth 层调用栈之下，近似 Tomcat 线程经过过滤器链后到达 Spring MVC 异常处理的深度，
+ * 异常从其上 UNWIND_DEPTH 层（控制器、事务代理、服务）抛出；填充调用栈覆盖整个线程栈，栈展开只经过抛出点到捕获点之间的帧。
+ * 响应写入复用的缓冲区，与消息转换器写响应的方式一致。
+ * businessException 为改造前：带调用栈的 BusinessException + 构建 ApiResponse + JSON序列化；
+ * stacklessRejection 只去掉调用栈；preSerializedRejection 为改造后：缓存的无调用栈异常 + 预先序列化的响应体
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RejectionBenchmark {
+
+    private static final String DUPLICATE_MESSAGE = "重复签到：您已经完成了本次签到，无需重复操作";
+
+    /**
+     * 捕获点到抛出点之间的帧数
+     */
+    private static final int UNWIND_DEPTH = 16;
+
+    /**
+     * 捕获点以下的调用栈深度：简单调用和实测签到请求的典型深度
+     */
+    @Param({"32", "128"})
+    private int stackDepth;
+
+    private ObjectMapper objectMapper;
+    private RejectionResponses rejectionResponses;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+
+    @Setup
+    public void setup() throws Exception {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+8"));
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .dateFormat(dateFormat)
+            .timeZone("GMT+8")
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        rejectionResponses = new RejectionResponses(objectMapper);
+    }
+
+    @Benchmark
+    public int businessException() {
+        return descend(stackDepth, () -> {
+            try {
+                service(UNWIND_DEPTH, () -> new BusinessException(DUPLICATE_MESSAGE));
+            } catch (BusinessException e) {
+                writeJson(ApiResponse.error(e.getCode(), e.getMessage()));
+            }
+            return out.size();
+        });
+    }
+
+    @Benchmark
+    public int stacklessRejection() {
+        return descend(stackDepth, () -> {
+            try {
+                service(UNWIND_DEPTH, ErrorCode.CHECKIN_DUPLICATE::rejection);
+            } catch (RejectionException e) {
+                writeJson(ApiResponse.error(e.getCode(), e.getMessage()));
+            }
+            return out.size();
+        });
+    }
+
+    @Benchmark
+    public int preSerializedRejection() {
+        return descend(stackDepth, () -> {
+            try {
+                service(UNWIND_DEPTH, ErrorCode.CHECKIN_DUPLICATE::rejection);
+            } catch (RejectionException e) {
+                out.reset();
+                byte[] body = rejectionResponses.get(e.getErrorCode());
+                out.write(body, 0, body.length);
+            }
+            return out.size();
+        });
+    }
+
+    private void writeJson(ApiResponse<Void> response) {
+        out.reset();
+        try {
+            objectMapper.writeValue(out, response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 捕获点以下的调用栈
+     */
+    private static int descend(int depth, IntSupplier handler) {
+        if (depth == 0) {
+            return handler.getAsInt();
+        }
+        return descend(depth - 1, handler) + 1;
+    }
+
+    /**
+     * 捕获点到抛出点之间的调用栈
+     */
+    private static int service(int depth, Supplier<? extends RuntimeException> rejection) {
+        if (depth == 0) {
+            throw rejection.get();
+        }
+        return service(depth - 1, rejection) + 1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.attendance.loadtest;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * 请求到达曲线，计算每个请求相对压测开始的计划到达时间
+ * 按计划时间发送（开放模型），响应变慢不会推迟后续请求，延迟从计划到达时间开始计算
+ */
+public enum ArrivalCurve {
+
+    /**
+     * 所有请求同时到达，对应上课铃响后全班同时扫码的最坏情况
+     */
+    BURST {
+        @Override
+        long[] schedule(int count, LoadTestOptions options, Random random) {
+            return new long[count];
+        }
+    },
+
+    /**
+     * 按固定速率匀速到达
+     */
+    CONSTANT {
+        @Override
+        long[] schedule(int count, LoadTestOptions options, Random random) {
+            long[] offsets = new long[count];
+            double interval = 1e9 / options.rate();
+            for (int i = 0; i < count; i++) {
+                offsets[i] = (long) (i * interval);
+            }
+            return offsets;
+        }
+    },
+
+    /**
+     * 到达速率在爬坡时长内从0线性增长，累计到达数与时间的平方成正比
+     */
+    RAMP {
+        @Override
+        long[] schedule(int count, LoadTestOptions options, Random random) {
+            long[] offsets = new long[count];
+            long duration = options.duration().toNanos();
+            for (int i = 0; i < count; i++) {
+                offsets[i] = (long) (duration * Math.sqrt((double) i / count));
+            }
+            return offsets;
+        }
+    },
+
+    /**
+     * 泊松到达，到达间隔服从指数分布
+     */
+    POISSON {
+        @Override
+        long[] schedule(int count, LoadTestOptions options, Random random) {
+            long[] offsets = new long[count];
+            double meanInterval = 1e9 / options.rate();
+            double time = 0;
+            for (int i = 0; i < count; i++) {
+                offsets[i] = (long) time;
+                time += -Math.log(1 - random.nextDouble()) * meanInterval;
+            }
+            return offsets;
+        }
+    };
+
+    /**
+     * @return 每个请求的计划到达时间（相对开始时间的纳秒数，升序）
+     */
+    abstract long[] schedule(int count, LoadTestOptions options, Random random);
+
+    static ArrivalCurve of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的到达曲线: " + name + "，可选 burst、constant、ramp、poisson");
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.attendance.loadtest;
+
+import com.attendance.AttendanceApplication;
+import com.attendance.common.config.security.JwtTokenProvider;
+import com.attendance.common.config.security.SecurityUserDetails;
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.CourseUser;
+import com.attendance.model.entity.User;
+import com.attendance.repository.course.CourseRepository;
+import com.attendance.repository.course.CourseUserRepository;
+import com.attendance.repository.user.UserRepository;
+import com.attendance.service.schedule.CheckinTaskScheduler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 签到突发流量压测
+ * 启动完整应用（默认内嵌H2），准备一个N名学生的课程，教师通过接口开启二维码签到，学生逐个登录后
+ * 按到达曲线并发提交签到，二维码内容按签到二维码接口的规则（任务ID:5秒时间块）实时生成。
+ * 输出吞吐量、延迟分位数、错误分布和各连接池的饱和情况，用于得到可复现的早八签到容量数字
+ *
+ * 运行方式：
+ * mvn -q package -DskipTests
+ * java -jar attendance-loadtest/target/attendance-loadtest-0.0.1-SNAPSHOT.jar --students=500 --curve=burst
+ */
+public class CheckinLoadTest {
+
+    private static final String PASSWORD = "Loadtest@2025";
+
+    /**
+     * 签到二维码每5秒刷新一次，与 CourseController.generateCheckinQRCode 一致
+     */
+    private static final long QR_BLOCK_MILLIS = 5000;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ConfigurableApplicationContext context;
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    CheckinLoadTest(ConfigurableApplicationContext context, LoadTestOptions options) {
+        this.context = context;
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        this.baseUrl = "http://localhost:" + port + contextPath;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(LoadTestOptions.USAGE);
+            return;
+        }
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        boolean succeeded;
+        try (ConfigurableApplicationContext context = startApplication(options)) {
+            succeeded = new CheckinLoadTest(context, options).run();
+        }
+        System.exit(succeeded ? 0 : 1);
+    }
+
+    /**
+     * 启动应用
+     * 所有请求来自同一IP，关闭按IP的限流；其余配置与生产一致，并发限制和隔离线程池的拒绝会计入错误分布
+     */
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            "--app.security.rate-limit.enabled=false"));
+        // 命令行中的应用参数放在最后，可覆盖以上默认值
+        args.addAll(options.applicationArgs());
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AttendanceApplication.class);
+        if ("embedded".equals(options.database())) {
+            builder.profiles("loadtest");
+        }
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    boolean run() throws Exception {
+        System.out.println("压测参数: " + options);
+
+        long start = System.nanoTime();
+        Fixture fixture = seed();
+        System.out.printf("准备数据: %d名学生, 耗时%dms%n", fixture.students().size(), elapsedMillis(start));
+
+        String teacherToken = login(fixture.teacher().getUsername());
+        String checkinId = openCheckinTask(teacherToken, fixture.course().getId());
+        System.out.println("已开启二维码签到: " + checkinId);
+
+        start = System.nanoTime();
+        List<String> tokens = loginStudents(fixture.students());
+        System.out.printf("学生登录(%s): %d人, 耗时%dms%n", options.loginMode(), tokens.size(), elapsedMillis(start));
+
+        LoadTestReport report = burst(checkinId, teacherToken, tokens);
+        return report.getSucceeded() > 0;
+    }
+
+    /**
+     * 准备教师、课程和学生，学生密码共用一个哈希
+     */
+    private Fixture seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        CourseUserRepository courseUserRepository = context.getBean(CourseUserRepository.class);
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        String runId = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            User teacher = userRepository.save(newUser("lt_" + runId + "_teacher", SystemConstants.UserRole.TEACHER,
+                password));
+            Course course = courseRepository.save(Course.builder()
+                .name("压测课程")
+                .creatorId(teacher.getId())
+                .code(runId)
+                .type(SystemConstants.CourseType.COURSE)
+                .status(SystemConstants.CourseStatus.ACTIVE)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(4))
+                .build());
+
+            List<User> students = new ArrayList<>(options.students());
+            for (int i = 0; i < options.students(); i++) {
+                students.add(newUser(String.format("lt_%s_%05d", runId, i), SystemConstants.UserRole.STUDENT,
+                    password));
+            }
+            students = userRepository.saveAll(students);
+
+            List<CourseUser> members = new ArrayList<>(students.size() + 1);
+            members.add(newMember(course, teacher, SystemConstants.CourseUserRole.CREATOR,
+                SystemConstants.JoinMethod.CREATED));
+            for (User student : students) {
+                members.add(newMember(course, student, SystemConstants.CourseUserRole.STUDENT,
+                    SystemConstants.JoinMethod.CODE));
+            }
+            courseUserRepository.saveAll(members);
+            return new Fixture(teacher, course, students);
+        });
+    }
+
+    /**
+     * 教师通过接口创建签到任务
+     * 接口不允许开始时间早于当前时间，创建时设为2秒后，到点后执行一次任务状态调度将其激活
+     */
+    private String openCheckinTask(String teacherToken, String courseId) throws Exception {
+        LocalDateTime startTime = LocalDateTime.now().withNano(0).plusSeconds(2);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("courseId", courseId);
+        body.put("title", "压测签到");
+        body.put("startTime", startTime.format(DATE_TIME));
+        body.put("endTime", startTime.plusMinutes(30).format(DATE_TIME));
+        body.put("checkInType", SystemConstants.CheckInType.QR_CODE);
+        JsonNode data = expectSuccess("创建签到任务", send(post("/courses/attendance/create", teacherToken, body)));
+        String checkinId = data.path("id").asText();
+
+        parkUntil(System.nanoTime() + Duration.between(LocalDateTime.now(), startTime).toNanos()
+            + TimeUnit.MILLISECONDS.toNanos(100));
+        context.getBean(CheckinTaskScheduler.class).updateTaskStatus();
+
+        String status = context.getBean(CourseRepository.class).findById(checkinId)
+            .map(Course::getStatus)
+            .orElse(null);
+        if (!SystemConstants.TaskStatus.ACTIVE.equals(status)) {
+            throw new IllegalStateException("签到任务未激活: status=" + status);
+        }
+        return checkinId;
+    }
+
+    private List<String> loginStudents(List<User> students) throws Exception {
+        if ("token".equals(options.loginMode())) {
+            JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+            return students.stream()
+                .map(student -> tokenProvider.generateToken(new SecurityUserDetails(student)))
+                .toList();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.loginConcurrency());
+        try {
+            List<Future<String>> futures = new ArrayList<>(students.size());
+            for (User student : students) {
+                futures.add(executor.submit(() -> login(student.getUsername())));
+            }
+            List<String> tokens = new ArrayList<>(students.size());
+            for (Future<String> future : futures) {
+                tokens.add(future.get());
+            }
+            return tokens;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        Map<String, Object> body = Map.of("username", username, "password", PASSWORD);
+        return expectSuccess("登录 " + username, send(post("/auth/login", null, body)))
+            .path("accessToken").asText();
+    }
+
+    /**
+     * 按到达曲线发送签到请求，同时模拟教师端每5秒刷新一次签到二维码
+     */
+    private LoadTestReport burst(String checkinId, String teacherToken, List<String> tokens) throws Exception {
+        Random random = new Random(options.seed());
+        int count = tokens.size();
+        long[] offsets = options.curve().schedule(count, options, random);
+        long[] scanDelays = new long[count];
+        for (int i = 0; i < count; i++) {
+            scanDelays[i] = random.nextLong(options.scanDelay().toMillis() + 1);
+        }
+
+        LoadTestReport report = new LoadTestReport(count);
+        QrCodeRefresher refresher = new QrCodeRefresher(checkinId, teacherToken);
+        Map<String, HikariDataSource> pools = context.getBeansOfType(HikariDataSource.class);
+        try (PoolSaturationMonitor monitor = new PoolSaturationMonitor(pools); refresher) {
+            monitor.start();
+            refresher.start();
+
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+            report.start(start);
+            List<CompletableFuture<?>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                long scheduled = start + offsets[i];
+                parkUntil(scheduled);
+
+                // 学生扫到的是scanDelay之前显示的二维码
+                String qrContent = checkinId + ":" + (System.currentTimeMillis() - scanDelays[i]) / QR_BLOCK_MILLIS;
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("checkinId", checkinId);
+                body.put("verifyMethod", SystemConstants.CheckInType.QR_CODE);
+                body.put("verifyData", qrContent);
+                body.put("device", "Mobile/LoadTest/Android");
+                futures.add(client.sendAsync(post("/courses/attendance/check-in", tokens.get(i), body),
+                        HttpResponse.BodyHandlers.ofString())
+                    .handle((response, failure) -> {
+                        report.record(index, scheduled, classify(response, failure));
+                        return null;
+                    }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            System.out.println(report.format(options, monitor.report(), refresher.toString()));
+        }
+        return report;
+    }
+
+    /**
+     * 错误分类：传输失败、HTTP状态码或业务错误码及消息
+     */
+    private String classify(HttpResponse<String> response, Throwable failure) {
+        if (failure != null) {
+            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+            return "请求失败: " + cause.getClass().getSimpleName();
+        }
+        JsonNode body = readBody(response.body());
+        int code = body.path("code").asInt(-1);
+        if (response.statusCode() == 200 && code == 200) {
+            return null;
+        }
+        String message = body.path("message").asText("");
+        return response.statusCode() == 200
+            ? "code=" + code + " " + message
+            : "HTTP " + response.statusCode() + (message.isEmpty() ? "" : " " + message);
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws JsonProcessingException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(options.requestTimeout())
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            builder.header(SystemConstants.Security.HEADER_STRING, SystemConstants.Security.TOKEN_PREFIX + token);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode expectSuccess(String action, HttpResponse<String> response) {
+        JsonNode body = readBody(response.body());
+        if (response.statusCode() != 200 || body.path("code").asInt() != 200) {
+            throw new IllegalStateException(action + "失败: HTTP " + response.statusCode() + " " + response.body());
+        }
+        return body.path("data");
+    }
+
+    private JsonNode readBody(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            return objectMapper.missingNode();
+        }
+    }
+
+    private static User newUser(String username, String role, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(password);
+        user.setFullName("压测用户");
+        user.setRole(role);
+        return user;
+    }
+
+    private static CourseUser newMember(Course course, User user, String role, String joinMethod) {
+        CourseUser member = new CourseUser();
+        member.setCourseId(course.getId());
+        member.setUserId(user.getId());
+        member.setRole(role);
+        member.setJoinedAt(LocalDateTime.now());
+        member.setJoinMethod(joinMethod);
+        member.setActive(true);
+        return member;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private record Fixture(User teacher, Course course, List<User> students) {
+    }
+
+    /**
+     * 教师端签到二维码刷新，与前端一致每5秒请求一次二维码图片
+     */
+    private final class QrCodeRefresher implements AutoCloseable {
+
+        private final HttpRequest request;
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-qr-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private QrCodeRefresher(String checkinId, String teacherToken) {
+            this.request = HttpRequest.newBuilder(URI.create(baseUrl + "/courses/attendance/qrcode?checkinId=" + checkinId))
+                .timeout(options.requestTimeout())
+                .header(SystemConstants.Security.HEADER_STRING, SystemConstants.Security.TOKEN_PREFIX + teacherToken)
+                .GET()
+                .build();
+        }
+
+        private void start() {
+            scheduler.scheduleAtFixedRate(this::refresh, 0, QR_BLOCK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private void refresh() {
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                (response.statusCode() == 200 ? succeeded : failed).incrementAndGet();
+            } catch (IOException e) {
+                failed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void close() {
+            scheduler.shutdownNow();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("教师端二维码刷新: 成功=%d, 失败=%d", succeeded.get(), failed.get());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.attendance.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测参数
+ * 以 --名称=值 形式传入，未识别的参数原样传给应用（例如 --spring.datasource.url=...）
+ *
+ * @param students 课程学生数，每名学生签到一次
+ * @param curve 到达曲线
+ * @param rate constant/poisson 曲线的平均到达速率（请求/秒）
+ * @param duration ramp 曲线的爬坡时长
+ * @param loginMode 学生登录方式：api 逐个调用登录接口，token 直接签发令牌（学生数很大时节省准备时间）
+ * @param loginConcurrency 通过接口登录时的并发数
+ * @param scanDelay 学生扫码到提交的最大延迟，二维码内容按该延迟内的随机时间块生成
+ * @param requestTimeout 单个请求超时
+ * @param database 数据库：embedded 使用内嵌H2，external 使用 application.yml 或命令行中的数据源
+ * @param seed 随机种子，保证到达时间和扫码延迟可复现
+ * @param applicationArgs 传给应用的参数
+ */
+public record LoadTestOptions(int students, ArrivalCurve curve, double rate, Duration duration, String loginMode,
+                              int loginConcurrency, Duration scanDelay, Duration requestTimeout, String database,
+                              long seed, List<String> applicationArgs) {
+
+    static final String USAGE = """
+        用法: java -jar attendance-loadtest.jar [选项] [应用参数]
+          --students=500            课程学生数，每名学生签到一次
+          --curve=burst             到达曲线: burst（同时到达）| constant（匀速）| ramp（线性爬坡）| poisson（泊松到达）
+          --rate=100                constant/poisson 的平均到达速率（请求/秒）
+          --duration=10             ramp 的爬坡时长（秒）
+          --login=api               学生登录方式: api（调用登录接口）| token（直接签发令牌）
+          --login-concurrency=8     接口登录并发数
+          --scan-delay=5            扫码到提交的最大延迟（秒），须小于二维码有效期15秒
+          --timeout=30              单个请求超时（秒）
+          --database=embedded       embedded（内嵌H2）| external（使用 spring.datasource.* 配置的数据库）
+          --seed=42                 随机种子
+        其余参数原样传给应用，例如 --spring.datasource.url=jdbc:mysql://localhost:3306/attendance_loadtest
+        """;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.startsWith("--") && eq > 2 ? arg.substring(2, eq) : null;
+            if (name != null && isOption(name)) {
+                values.put(name, arg.substring(eq + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+            Integer.parseInt(values.getOrDefault("students", "500")),
+            ArrivalCurve.of(values.getOrDefault("curve", "burst")),
+            Double.parseDouble(values.getOrDefault("rate", "100")),
+            seconds(values.getOrDefault("duration", "10")),
+            values.getOrDefault("login", "api"),
+            Integer.parseInt(values.getOrDefault("login-concurrency", "8")),
+            seconds(values.getOrDefault("scan-delay", "5")),
+            seconds(values.getOrDefault("timeout", "30")),
+            values.getOrDefault("database", "embedded"),
+            Long.parseLong(values.getOrDefault("seed", "42")),
+            List.copyOf(applicationArgs));
+        options.validate();
+        return options;
+    }
+
+    private static boolean isOption(String name) {
+        return switch (name) {
+            case "students", "curve", "rate", "duration", "login", "login-concurrency", "scan-delay", "timeout",
+                 "database", "seed" -> true;
+            default -> false;
+        };
+    }
+
+    private static Duration seconds(String value) {
+        return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+    }
+
+    private void validate() {
+        if (students <= 0) {
+            throw new IllegalArgumentException("students 必须大于0");
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate 必须大于0");
+        }
+        if (!"api".equals(loginMode) && !"token".equals(loginMode)) {
+            throw new IllegalArgumentException("login 只能为 api 或 token: " + loginMode);
+        }
+        if (!"embedded".equals(database) && !"external".equals(database)) {
+            throw new IllegalArgumentException("database 只能为 embedded 或 external: " + database);
+        }
+        if (scanDelay.toMillis() >= 15_000) {
+            throw new IllegalArgumentException("scan-delay 须小于二维码有效期15秒");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("学生数=%d, 到达曲线=%s, 速率=%.0f/s, 爬坡=%ds, 登录=%s, 扫码延迟<=%ds, 数据库=%s, 种子=%d",
+            students, curve.name().toLowerCase(), rate, duration.toSeconds(), loginMode, scanDelay.toSeconds(),
+            database, seed);
+    }
+}
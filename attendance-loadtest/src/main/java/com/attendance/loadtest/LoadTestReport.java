@@ -0,0 +1,90 @@
+package com.attendance.loadtest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 签到压测结果：吞吐量、延迟分位数和错误分布
+ * 延迟从计划到达时间开始计算，包含客户端排队时间，避免协调遗漏（coordinated omission）低估尾延迟
+ */
+class LoadTestReport {
+
+    private final long[] latencies;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicLong lastCompletion = new AtomicLong();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private long startNanos;
+
+    LoadTestReport(int requests) {
+        this.latencies = new long[requests];
+    }
+
+    void start(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 记录一个请求的结果
+     *
+     * @param index 请求序号
+     * @param scheduledNanos 计划到达时间
+     * @param error 错误分类，成功时为null
+     */
+    void record(int index, long scheduledNanos, String error) {
+        long now = System.nanoTime();
+        latencies[index] = now - scheduledNanos;
+        lastCompletion.accumulateAndGet(now, Math::max);
+        completed.incrementAndGet();
+        if (error == null) {
+            succeeded.incrementAndGet();
+        } else {
+            errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+        }
+    }
+
+    int getSucceeded() {
+        return succeeded.get();
+    }
+
+    String format(LoadTestOptions options, List<String> poolLines, String extra) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        double elapsedSeconds = Math.max(1, lastCompletion.get() - startNanos) / 1e9;
+
+        StringBuilder report = new StringBuilder();
+        report.append("==== 签到压测结果 ====\n");
+        report.append(options).append('\n');
+        report.append(String.format("请求数=%d, 成功=%d, 失败=%d, 总耗时=%.0fms%n",
+            completed.get(), succeeded.get(), completed.get() - succeeded.get(), elapsedSeconds * 1000));
+        report.append(String.format("吞吐=%.1f req/s, 成功吞吐=%.1f req/s%n",
+            completed.get() / elapsedSeconds, succeeded.get() / elapsedSeconds));
+        report.append(String.format("延迟: p50=%.1fms, p99=%.1fms, p999=%.1fms, max=%.1fms%n",
+            percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+            sorted[sorted.length - 1] / 1e6));
+        report.append("错误分布:\n");
+        if (errors.isEmpty()) {
+            report.append("  无\n");
+        }
+        errors.entrySet().stream()
+            .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+            .forEach(entry -> report.append(String.format("  %6d  %s%n", entry.getValue().sum(), entry.getKey())));
+        report.append("连接池:\n");
+        poolLines.forEach(line -> report.append(line).append('\n'));
+        if (extra != null) {
+            report.append(extra).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,97 @@
+package com.attendance.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 压测期间按固定间隔采样各Hikari连接池的活跃连接数和等待线程数
+ * 有线程等待连接的采样占比即连接池饱和程度
+ */
+class PoolSaturationMonitor implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 10;
+
+    private final List<PoolStats> pools = new ArrayList<>();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-pool-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    PoolSaturationMonitor(Map<String, HikariDataSource> dataSources) {
+        dataSources.forEach((name, dataSource) -> pools.add(new PoolStats(name, dataSource)));
+    }
+
+    void start() {
+        sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void sample() {
+        for (PoolStats pool : pools) {
+            pool.sample();
+        }
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    synchronized List<String> report() {
+        List<String> lines = new ArrayList<>();
+        for (PoolStats pool : pools) {
+            lines.add(pool.toString());
+        }
+        return lines;
+    }
+
+    private static final class PoolStats {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private long samples;
+        private long saturatedSamples;
+        private long activeSum;
+        private int maxActive;
+        private int maxWaiting;
+
+        private PoolStats(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void sample() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                // 连接池尚未初始化
+                return;
+            }
+            int active = pool.getActiveConnections();
+            int waiting = pool.getThreadsAwaitingConnection();
+            samples++;
+            activeSum += active;
+            maxActive = Math.max(maxActive, active);
+            maxWaiting = Math.max(maxWaiting, waiting);
+            if (waiting > 0) {
+                saturatedSamples++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (samples == 0) {
+                return String.format("  %-20s 未使用", name);
+            }
+            return String.format("  %-20s 最大连接数=%d, 平均活跃=%.1f, 峰值活跃=%d, 峰值等待线程=%d, 饱和采样占比=%.1f%%",
+                name, dataSource.getMaximumPoolSize(), (double) activeSum / samples, maxActive, maxWaiting,
+                saturatedSamples * 100.0 / samples);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.attendance.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 访问日志中的一条请求记录，字段与 AccessLogFilter 的输出一致
+ *
+ * @param timestamp 请求开始时间（毫秒）
+ * @param method 请求方法
+ * @param path 请求路径（不含上下文路径）
+ * @param route 路由模板，未匹配到处理器时为路径本身
+ * @param params 查询和表单参数
+ * @param body JSON请求体，没有或未记录时为null
+ * @param bodyOmitted 请求体未记录的原因
+ * @param userId 录制时的用户ID，匿名请求为null
+ * @param role 录制时的用户角色
+ * @param status 录制时的状态码
+ * @param durationMs 录制时的服务端耗时
+ */
+record RecordedRequest(long timestamp, String method, String path, String route, JsonNode params, JsonNode body,
+                       String bodyOmitted, String userId, String role, int status, double durationMs) {
+
+    static final String MASK = "***";
+
+    static RecordedRequest of(JsonNode node) {
+        String path = node.path("path").asText();
+        return new RecordedRequest(
+            node.path("ts").asLong(),
+            node.path("method").asText(),
+            path,
+            node.path("route").asText(path),
+            node.get("params"),
+            node.get("body"),
+            node.path("bodyOmitted").asText(null),
+            node.path("userId").asText(null),
+            node.path("role").asText(null),
+            node.path("status").asInt(),
+            node.path("durationMs").asDouble());
+    }
+
+    /**
+     * 路由键：方法 + 路由模板，用于按接口汇总延迟
+     */
+    String routeKey() {
+        return method + " " + route;
+    }
+
+    /**
+     * 拼接查询字符串，表单参数也以查询参数发送
+     */
+    String pathWithQuery() {
+        if (params == null || params.isEmpty()) {
+            return path;
+        }
+        StringBuilder query = new StringBuilder(path).append('?');
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            for (JsonNode value : field.getValue()) {
+                if (query.charAt(query.length() - 1) != '?') {
+                    query.append('&');
+                }
+                query.append(URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(value.asText(), StandardCharsets.UTF_8));
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * 参数或请求体中含有脱敏值时无法还原原始请求
+     */
+    boolean hasMaskedValues() {
+        return containsMask(params) || containsMask(body);
+    }
+
+    private static boolean containsMask(JsonNode node) {
+        if (node == null) {
+            return false;
+        }
+        if (node.isTextual()) {
+            return MASK.equals(node.asText());
+        }
+        for (JsonNode child : node) {
+            if (containsMask(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.attendance.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 对比两次回放结果
+ * 按路由汇总请求数和 p50/p95/p99 延迟，同一序号的请求状态码不一致时计入差异；
+ * 请求数不少于 min-count 且 p95 增加超过阈值的路由视为回退
+ */
+class ReplayComparison {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 一次回放中某个路由的延迟
+     */
+    private static final class RouteResults {
+        private final List<Double> latencies = new ArrayList<>();
+        private double[] sorted;
+
+        void add(double latency) {
+            latencies.add(latency);
+        }
+
+        int count() {
+            return latencies.size();
+        }
+
+        double percentile(double p) {
+            if (sorted == null) {
+                sorted = latencies.stream().mapToDouble(Double::doubleValue).toArray();
+                Arrays.sort(sorted);
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+
+    private record Replay(Map<String, RouteResults> routes, Map<Integer, Integer> statusBySequence,
+                          Map<Integer, String> routeBySequence) {
+    }
+
+    static boolean run(List<String> args) throws IOException {
+        List<String> files = new ArrayList<>();
+        double threshold = 10.0;
+        int minCount = 20;
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else if (arg.startsWith("--min-count=")) {
+                minCount = Integer.parseInt(arg.substring("--min-count=".length()));
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() != 2) {
+            throw new IllegalArgumentException("compare 需要两个结果文件");
+        }
+
+        Replay baseline = load(Path.of(files.get(0)));
+        Replay current = load(Path.of(files.get(1)));
+
+        Set<String> routes = new LinkedHashSet<>();
+        baseline.routes().entrySet().stream()
+            .sorted((a, b) -> Integer.compare(b.getValue().count(), a.getValue().count()))
+            .forEach(entry -> routes.add(entry.getKey()));
+        routes.addAll(current.routes().keySet());
+
+        boolean regressed = false;
+        System.out.printf("%-60s %7s %22s %22s %22s%n", "Route", "Count",
+            "p50 (ms)", "p95 (ms)", "p99 (ms)");
+        for (String route : routes) {
+            RouteResults base = baseline.routes().get(route);
+            RouteResults now = current.routes().get(route);
+            if (base == null || now == null) {
+                System.out.printf("%-60s %7d %s%n", route, base == null ? now.count() : base.count(),
+                    base == null ? "仅出现在对比结果中" : "仅出现在基线结果中");
+                continue;
+            }
+            double p95Change = change(base.percentile(0.95), now.percentile(0.95));
+            boolean slower = now.count() >= minCount && p95Change > threshold;
+            regressed |= slower;
+            System.out.printf("%-60s %7d %s %s %s%s%n", route, now.count(),
+                cell(base.percentile(0.50), now.percentile(0.50)),
+                cell(base.percentile(0.95), now.percentile(0.95)),
+                cell(base.percentile(0.99), now.percentile(0.99)),
+                slower ? "  <-- 回退" : "");
+        }
+
+        printStatusMismatches(baseline, current);
+        return !regressed;
+    }
+
+    /**
+     * 同一份日志回放两次，序号一一对应；状态码不同通常说明行为变化或数据状态不一致
+     */
+    private static void printStatusMismatches(Replay baseline, Replay current) {
+        Map<String, Integer> mismatches = new TreeMap<>();
+        baseline.statusBySequence().forEach((sequence, status) -> {
+            Integer other = current.statusBySequence().get(sequence);
+            if (other != null && !other.equals(status)) {
+                mismatches.merge(baseline.routeBySequence().get(sequence) + " " + status + " -> " + other, 1,
+                    Integer::sum);
+            }
+        });
+        System.out.println();
+        System.out.println("状态码差异:");
+        if (mismatches.isEmpty()) {
+            System.out.println("  无");
+        }
+        mismatches.forEach((key, count) -> System.out.printf("  %6d  %s%n", count, key));
+    }
+
+    private static Replay load(Path file) throws IOException {
+        Replay replay = new Replay(new HashMap<>(), new HashMap<>(), new HashMap<>());
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode result = OBJECT_MAPPER.readTree(line);
+                String route = result.path("route").asText();
+                int sequence = result.path("seq").asInt();
+                replay.routes().computeIfAbsent(route, key -> new RouteResults())
+                    .add(result.path("latencyMs").asDouble());
+                replay.statusBySequence().put(sequence, result.path("status").asInt());
+                replay.routeBySequence().put(sequence, route);
+            }
+        }
+        return replay;
+    }
+
+    private static String cell(double base, double now) {
+        return String.format("%7.1f ->%7.1f %+5.0f%%", base, now, change(base, now));
+    }
+
+    private static double change(double base, double now) {
+        return base == 0 ? 0 : (now - base) / base * 100;
+    }
+}
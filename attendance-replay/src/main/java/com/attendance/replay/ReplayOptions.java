@@ -0,0 +1,101 @@
+package com.attendance.replay;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 回放参数
+ * 以 --名称=值 形式传入
+ *
+ * @param log 访问日志文件（http-request.log）
+ * @param target 目标实例地址，包含上下文路径
+ * @param speed 回放倍速，0表示不等待、按并发上限尽快发送
+ * @param concurrency 同时在途的最大请求数
+ * @param users 合成用户文件，每行 userId,username,role
+ * @param jwtSecret 目标实例的 jwt.secret，用于为合成用户签发令牌
+ * @param output 回放结果文件，每个请求一行JSON
+ * @param includeAuth 是否回放 /auth/** 请求（日志中的密码已脱敏，默认跳过）
+ * @param requestTimeout 单个请求超时
+ */
+public record ReplayOptions(Path log, String target, double speed, int concurrency, Path users, String jwtSecret,
+                            Path output, boolean includeAuth, Duration requestTimeout) {
+
+    static final String USAGE = """
+        用法:
+          java -jar attendance-replay.jar replay [选项]
+            --log=logs/http-request.log         访问日志文件
+            --target=http://localhost:8080/api  目标实例地址（含上下文路径）
+            --speed=1                           回放倍速: 1 | 10 | max（不等待，按并发上限尽快发送）
+            --concurrency=64                    同时在途的最大请求数
+            --users=users.csv                   合成用户文件，每行 userId,username,role；录制的用户按角色映射到合成用户
+            --jwt-secret=...                    目标实例的 jwt.secret（Base64，至少512位），用于为合成用户签发令牌
+            --output=replay-results.jsonl       回放结果文件
+            --include-auth=false                是否回放 /auth/** 请求（密码已脱敏，默认跳过）
+            --timeout=30                        单个请求超时（秒）
+          java -jar attendance-replay.jar compare <基线结果> <对比结果> [--threshold=10] [--min-count=20]
+            按路由对比两次回放的延迟分位数，p95增加超过阈值（百分比）的路由视为回退，存在回退时以状态码1退出
+        """;
+
+    public static ReplayOptions parse(List<String> args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq <= 2) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (!isOption(name)) {
+                throw new IllegalArgumentException("未知选项: " + name);
+            }
+            values.put(name, arg.substring(eq + 1));
+        }
+
+        String speed = values.getOrDefault("speed", "1");
+        ReplayOptions options = new ReplayOptions(
+            Path.of(values.getOrDefault("log", "logs/http-request.log")),
+            stripTrailingSlash(values.getOrDefault("target", "http://localhost:8080/api")),
+            "max".equalsIgnoreCase(speed) ? 0 : Double.parseDouble(speed),
+            Integer.parseInt(values.getOrDefault("concurrency", "64")),
+            values.containsKey("users") ? Path.of(values.get("users")) : null,
+            values.get("jwt-secret"),
+            Path.of(values.getOrDefault("output", "replay-results.jsonl")),
+            Boolean.parseBoolean(values.getOrDefault("include-auth", "false")),
+            Duration.ofMillis(Math.round(Double.parseDouble(values.getOrDefault("timeout", "30")) * 1000)));
+        options.validate();
+        return options;
+    }
+
+    private static boolean isOption(String name) {
+        return switch (name) {
+            case "log", "target", "speed", "concurrency", "users", "jwt-secret", "output", "include-auth",
+                 "timeout" -> true;
+            default -> false;
+        };
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private void validate() {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed 必须大于0或为 max");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency 必须大于0");
+        }
+        if ((users == null) != (jwtSecret == null)) {
+            throw new IllegalArgumentException("users 和 jwt-secret 需要同时指定");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("日志=%s, 目标=%s, 倍速=%s, 并发上限=%d, 合成用户=%s, 结果=%s",
+            log, target, speed == 0 ? "max" : speed + "x", concurrency, users == null ? "无（仅回放匿名请求）" : users,
+            output);
+    }
+}
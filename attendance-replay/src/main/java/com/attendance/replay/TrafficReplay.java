@@ -0,0 +1,267 @@
+package com.attendance.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 流量回放
+ * 读取 AccessLogFilter 输出的访问日志，按录制时的请求间隔（可加速）向目标实例重放，每个请求的结果写入结果文件；
+ * 用同一份日志分别回放两个版本，再用 compare 子命令按路由对比延迟分位数
+ */
+public class TrafficReplay {
+
+    /**
+     * 签到二维码每5秒刷新一次，与 CourseController.generateCheckinQRCode 一致
+     */
+    private static final long QR_BLOCK_MILLIS = 5000;
+
+    /**
+     * 二维码签到的验证数据: 签到ID:时间块
+     */
+    private static final Pattern QR_VERIFY_DATA = Pattern.compile("^([^:]+):(\\d+)$");
+
+    private final ReplayOptions options;
+    private final UserMapping userMapping;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Integer> skipped = new TreeMap<>();
+
+    TrafficReplay(ReplayOptions options) throws IOException {
+        this.options = options;
+        this.userMapping = options.users() == null ? null : new UserMapping(options.users(), options.jwtSecret());
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || Arrays.asList(args).contains("--help")) {
+            System.out.println(ReplayOptions.USAGE);
+            return;
+        }
+        List<String> rest = Arrays.asList(args).subList(1, args.length);
+        try {
+            switch (args[0]) {
+                case "replay" -> System.exit(new TrafficReplay(ReplayOptions.parse(rest)).run() ? 0 : 1);
+                case "compare" -> System.exit(ReplayComparison.run(rest) ? 0 : 1);
+                default -> throw new IllegalArgumentException("未知子命令: " + args[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ReplayOptions.USAGE);
+            System.exit(2);
+        }
+    }
+
+    boolean run() throws IOException, InterruptedException {
+        System.out.println("回放参数: " + options);
+        if (userMapping != null) {
+            System.out.printf("合成用户: %d个%n", userMapping.size());
+        }
+
+        List<RecordedRequest> requests = load();
+        if (requests.isEmpty()) {
+            System.err.println("没有可回放的请求");
+            return false;
+        }
+        long recordedSpan = requests.get(requests.size() - 1).timestamp() - requests.get(0).timestamp();
+        System.out.printf("可回放请求: %d个, 录制时长: %s%n", requests.size(), Duration.ofMillis(recordedSpan));
+        skipped.forEach((reason, count) -> System.out.printf("  跳过 %-20s %d%n", reason, count));
+
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(options.output(), StandardCharsets.UTF_8)) {
+            Semaphore inFlight = new Semaphore(options.concurrency());
+            long firstTimestamp = requests.get(0).timestamp();
+            List<CompletableFuture<Void>> futures = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                RecordedRequest recorded = requests.get(i);
+                long scheduled = start;
+                if (options.speed() > 0) {
+                    scheduled += (long) ((recorded.timestamp() - firstTimestamp) * 1_000_000 / options.speed());
+                    sleepUntil(scheduled);
+                }
+                inFlight.acquire();
+                // 按倍速回放时延迟从计划发送时间开始计算，目标实例变慢导致的客户端排队也计入延迟
+                long measuredFrom = options.speed() > 0 ? scheduled : System.nanoTime();
+                int sequence = i;
+                futures.add(client.sendAsync(toHttpRequest(recorded), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        long latency = System.nanoTime() - measuredFrom;
+                        inFlight.release();
+                        write(writer, result(sequence, recorded, response, error, latency));
+                        if (error != null || response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                        return null;
+                    }));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(options.requestTimeout().toMillis() + 10_000, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("等待回放请求完成失败: " + e);
+            return false;
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("回放完成: %d个请求, 耗时%.1fs, 吞吐%.1f req/s, 失败（5xx或连接错误）%d个%n",
+            requests.size(), elapsedSeconds, requests.size() / elapsedSeconds, errors.get());
+        System.out.println("结果文件: " + options.output().toAbsolutePath());
+        return true;
+    }
+
+    /**
+     * 读取访问日志，跳过无法还原的请求并按录制时间排序
+     */
+    private List<RecordedRequest> load() throws IOException {
+        List<RecordedRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(options.log(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("{")) {
+                    skip("非JSON行");
+                    continue;
+                }
+                RecordedRequest request;
+                try {
+                    request = RecordedRequest.of(objectMapper.readTree(line));
+                } catch (IOException e) {
+                    skip("无法解析");
+                    continue;
+                }
+                String reason = skipReason(request);
+                if (reason != null) {
+                    skip(reason);
+                } else {
+                    requests.add(request);
+                }
+            }
+        }
+        requests.sort(Comparator.comparingLong(RecordedRequest::timestamp));
+        return requests;
+    }
+
+    private String skipReason(RecordedRequest request) {
+        if (!options.includeAuth() && request.path().startsWith("/auth/")) {
+            return "认证接口";
+        }
+        if (request.bodyOmitted() != null) {
+            return "请求体未记录:" + request.bodyOmitted();
+        }
+        if (request.hasMaskedValues()) {
+            return "含脱敏值";
+        }
+        if (request.userId() != null) {
+            if (userMapping == null) {
+                return "无合成用户";
+            }
+            if (userMapping.tokenFor(request.userId(), request.role()) == null) {
+                return "无同角色合成用户:" + request.role();
+            }
+        }
+        return null;
+    }
+
+    private void skip(String reason) {
+        skipped.merge(reason, 1, Integer::sum);
+    }
+
+    private HttpRequest toHttpRequest(RecordedRequest recorded) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.target() + recorded.pathWithQuery()))
+            .timeout(options.requestTimeout());
+        if (recorded.userId() != null) {
+            builder.header("Authorization", "Bearer " + userMapping.tokenFor(recorded.userId(), recorded.role()));
+        }
+        if (recorded.body() != null) {
+            builder.header("Content-Type", "application/json")
+                .method(recorded.method(), HttpRequest.BodyPublishers.ofString(
+                    objectMapper.writeValueAsString(refreshQrCode(recorded.body()))));
+        } else {
+            builder.method(recorded.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 二维码签到的验证数据带有录制时的时间块，重放时换成当前时间块，否则全部因二维码过期被拒绝
+     */
+    private JsonNode refreshQrCode(JsonNode body) {
+        JsonNode verifyData = body.get("verifyData");
+        if (body instanceof ObjectNode object && verifyData != null && verifyData.isTextual()) {
+            Matcher matcher = QR_VERIFY_DATA.matcher(verifyData.asText());
+            if (matcher.matches()) {
+                ObjectNode copy = object.deepCopy();
+                copy.set("verifyData",
+                    TextNode.valueOf(matcher.group(1) + ":" + System.currentTimeMillis() / QR_BLOCK_MILLIS));
+                return copy;
+            }
+        }
+        return body;
+    }
+
+    private ObjectNode result(int sequence, RecordedRequest recorded, HttpResponse<Void> response, Throwable error,
+                              long latencyNanos) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("seq", sequence);
+        result.put("route", recorded.routeKey());
+        result.put("path", recorded.path());
+        result.put("recordedStatus", recorded.status());
+        result.put("recordedMs", recorded.durationMs());
+        if (error != null) {
+            result.put("status", 0);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            result.put("error", cause.getClass().getSimpleName());
+        } else {
+            result.put("status", response.statusCode());
+        }
+        result.put("latencyMs", Math.round(latencyNanos / 1e3) / 1e3);
+        return result;
+    }
+
+    private static void write(BufferedWriter writer, ObjectNode result) {
+        synchronized (writer) {
+            try {
+                writer.write(result.toString());
+                writer.newLine();
+            } catch (IOException e) {
+                throw new IllegalStateException("写入回放结果失败", e);
+            }
+        }
+    }
+
+    private static void sleepUntil(long nanos) {
+        long remaining;
+        while ((remaining = nanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.attendance.replay;
+
+import com.attendance.common.constants.SystemConstants;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 合成用户映射
+ * 录制的用户按角色依次映射到目标实例中的合成用户（同一录制用户始终映射到同一合成用户），
+ * 合成用户数少于录制用户数时循环复用；文件中存在相同ID的用户时直接使用该用户。
+ * 令牌按 JwtTokenProvider.generateToken 的格式用目标实例的密钥签发，回放时不需要调用登录接口
+ */
+class UserMapping {
+
+    /**
+     * 令牌有效期覆盖一整天的1倍速回放
+     */
+    private static final Duration TOKEN_VALIDITY = Duration.ofDays(2);
+
+    record SyntheticUser(String id, String username, String role) {
+    }
+
+    private final SecretKey key;
+    private final Map<String, SyntheticUser> usersById = new HashMap<>();
+    private final Map<String, List<SyntheticUser>> usersByRole = new HashMap<>();
+    private final Map<String, Integer> nextIndexByRole = new HashMap<>();
+    private final Map<String, String> tokens = new HashMap<>();
+
+    UserMapping(Path file, String jwtSecret) throws IOException {
+        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+        if (keyBytes.length * 8 < 512) {
+            // 目标实例遇到不足512位的密钥会改用随机密钥，外部签发的令牌无法通过校验
+            throw new IllegalArgumentException("jwt-secret 至少需要512位（Base64解码后64字节）");
+        }
+        this.key = Keys.hmacShaKeyFor(keyBytes);
+
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            if (columns.length != 3) {
+                throw new IllegalArgumentException("合成用户文件格式应为 userId,username,role: " + line);
+            }
+            SyntheticUser user = new SyntheticUser(columns[0].strip(), columns[1].strip(), columns[2].strip());
+            usersById.put(user.id(), user);
+            usersByRole.computeIfAbsent(user.role(), role -> new ArrayList<>()).add(user);
+        }
+        if (usersById.isEmpty()) {
+            throw new IllegalArgumentException("合成用户文件为空: " + file);
+        }
+    }
+
+    /**
+     * 获取录制用户对应的合成用户令牌
+     *
+     * @return 令牌；没有相同角色的合成用户时返回null
+     */
+    synchronized String tokenFor(String recordedUserId, String role) {
+        return tokens.computeIfAbsent(recordedUserId + "|" + role, key -> {
+            SyntheticUser user = map(recordedUserId, role);
+            return user == null ? null : sign(user);
+        });
+    }
+
+    int size() {
+        return usersById.size();
+    }
+
+    private SyntheticUser map(String recordedUserId, String role) {
+        SyntheticUser same = usersById.get(recordedUserId);
+        if (same != null && same.role().equals(role)) {
+            return same;
+        }
+        List<SyntheticUser> candidates = usersByRole.get(role);
+        if (candidates == null) {
+            return null;
+        }
+        int index = nextIndexByRole.merge(role, 1, Integer::sum) - 1;
+        return candidates.get(index % candidates.size());
+    }
+
+    private String sign(SyntheticUser user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(SystemConstants.Security.CLAIM_USER_ID, user.id());
+        claims.put(SystemConstants.Security.CLAIM_ROLE, user.role());
+        claims.put(SystemConstants.Security.CLAIM_ENABLED, true);
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+            .setClaims(claims)
+            .setSubject(user.username())
+            .setId(UUID.randomUUID().toString())
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + TOKEN_VALIDITY.toMillis()))
+            .signWith(key, SignatureAlgorithm.HS512)
+            .compact();
+    }
+}
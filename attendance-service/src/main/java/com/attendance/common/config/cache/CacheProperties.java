@@ -0,0 +1,43 @@
+package com.attendance.common.config.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 二级缓存区域配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    /**
+     * 各缓存区域的配置，键为区域名称
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * 是否开启Hibernate统计（缓存命中率接口依赖），统计会给每次会话操作增加计数开销，生产默认关闭
+     */
+    private boolean statisticsEnabled = false;
+
+    /**
+     * 单个缓存区域配置
+     */
+    @Data
+    public static class Region {
+
+        /**
+         * 写入后过期时间，为空表示不过期
+         */
+        private Duration ttl;
+
+        /**
+         * 最大条目数，为空表示不限制
+         */
+        private Long maxSize;
+    }
+}
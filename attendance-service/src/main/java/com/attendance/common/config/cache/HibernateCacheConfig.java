@@ -0,0 +1,79 @@
+package com.attendance.common.config.cache;
+
+import com.attendance.common.constants.SystemConstants;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate二级缓存配置（JCache + Caffeine）
+ * 所有缓存区域按 app.cache.regions 显式创建，并设置过期时间和容量上限；
+ * Hibernate配置为缺少区域时启动失败，避免出现未受控的缓存
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class HibernateCacheConfig {
+
+    /**
+     * 二级缓存管理器
+     * 使用独立URI，保证同一JVM中的多个应用上下文（如测试）互不共享缓存
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        URI uri = URI.create("attendance-hibernate-" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        for (Map.Entry<String, CacheProperties.Region> entry : resolveRegions(properties).entrySet()) {
+            CacheProperties.Region region = entry.getValue();
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setStatisticsEnabled(true);
+            configuration.setMaximumSize(region.getMaxSize() != null
+                ? OptionalLong.of(region.getMaxSize()) : OptionalLong.empty());
+            configuration.setExpireAfterWrite(region.getTtl() != null
+                ? OptionalLong.of(region.getTtl().toNanos()) : OptionalLong.empty());
+            cacheManager.createCache(entry.getKey(), configuration);
+
+            log.info("二级缓存区域: {}, 过期时间={}, 最大条目数={}", entry.getKey(), region.getTtl(), region.getMaxSize());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * 将缓存管理器交给Hibernate使用，并按配置开关Hibernate统计
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager,
+                                                                  CacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, properties.isStatisticsEnabled());
+        };
+    }
+
+    /**
+     * 缓存区域以配置文件 app.cache.regions 为准，另外补充不过期、不限容量的时间戳区域
+     */
+    private Map<String, CacheProperties.Region> resolveRegions(CacheProperties properties) {
+        Map<String, CacheProperties.Region> regions = new LinkedHashMap<>(properties.getRegions());
+        // 时间戳区域决定查询缓存是否失效，不能先于查询结果过期或被淘汰
+        regions.put(SystemConstants.CacheRegion.UPDATE_TIMESTAMPS, new CacheProperties.Region());
+        return regions;
+    }
+}
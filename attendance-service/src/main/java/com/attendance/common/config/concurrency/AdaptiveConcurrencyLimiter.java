@@ -0,0 +1,99 @@
+package com.attendance.common.config.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于延迟梯度的自适应并发限制器
+ * 以长期平均延迟与当前延迟之比作为梯度：延迟上升时按比例收缩限制，
+ * 延迟平稳时每个样本增加约 √limit 的余量向上探测；超出限制的请求立即拒绝而不是排队
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longWindowFactor;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    /**
+     * 当前生效的并发限制
+     */
+    private volatile int limit;
+
+    /**
+     * 以下字段仅在 {@link #onSample} 的同步块内读写
+     */
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Workload workload) {
+        this.minLimit = Math.max(1, workload.getMinLimit());
+        this.maxLimit = Math.max(minLimit, workload.getMaxLimit());
+        this.smoothing = workload.getSmoothing();
+        this.rttTolerance = workload.getRttTolerance();
+        this.longWindowFactor = 2.0 / (Math.max(1, workload.getLongWindow()) + 1);
+        this.estimatedLimit = Math.min(maxLimit, Math.max(minLimit, workload.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * 尝试占用一个并发名额
+     *
+     * @return 占用前的在途请求数；-1表示已达到限制
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * 释放名额并记录延迟样本
+     *
+     * @param inflightAtStart 请求开始时的在途请求数
+     * @param rttNanos 请求耗时（纳秒）
+     */
+    public void release(int inflightAtStart, long rttNanos) {
+        inflight.decrementAndGet();
+        onSample(inflightAtStart, Math.max(1, rttNanos));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void onSample(int inflightAtStart, long rttNanos) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * longWindowFactor;
+        }
+        // 负载回落后长期延迟明显偏高，加速衰减以免限制迟迟不回升
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // 在途请求不足限制的一半时，样本不能说明限制偏小，不做调整
+        if (inflightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,197 @@
+package com.attendance.common.config.concurrency;
+
+import com.attendance.common.model.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 自适应并发限制过滤器
+ * 在认证之后、进入业务层之前按工作负载占用并发名额，超出限制立即返回503，
+ * 避免大量请求在数据库连接池上排队等待；流式导出等异步请求在异步处理结束时释放名额。
+ * 同时为请求线程设置工作负载类型，数据库访问据此使用对应的连接池
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final Map<WorkloadType, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(WorkloadType.class);
+    private final Map<WorkloadType, Counter> rejectedCounters = new EnumMap<>(WorkloadType.class);
+
+    @PostConstruct
+    public void init() {
+        properties.getWorkloads().forEach((type, workload) -> {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(workload);
+            limiters.put(type, limiter);
+            String tag = type.name().toLowerCase();
+            Gauge.builder("attendance.concurrency_limit.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("当前并发限制")
+                .tag("workload", tag)
+                .register(meterRegistry);
+            Gauge.builder("attendance.concurrency_limit.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                .description("在途请求数")
+                .tag("workload", tag)
+                .register(meterRegistry);
+            rejectedCounters.put(type, Counter.builder("attendance.concurrency_limit.rejected")
+                .description("因超出并发限制被拒绝的请求数")
+                .tag("workload", tag)
+                .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return properties.getWorkloads().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        WorkloadType workload = resolveWorkload(request);
+        if (workload == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        WorkloadType previous = WorkloadContext.set(workload);
+        try {
+            if (properties.isEnabled()) {
+                doFilterWithLimit(request, response, filterChain, workload);
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            WorkloadContext.set(previous);
+        }
+    }
+
+    /**
+     * 占用并发名额后继续处理请求，超出限制时直接拒绝
+     */
+    private void doFilterWithLimit(HttpServletRequest request, HttpServletResponse response,
+                                   FilterChain filterChain, WorkloadType workload) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(workload);
+        int inflightAtStart = limiter.tryAcquire();
+        if (inflightAtStart < 0) {
+            rejectedCounters.get(workload).increment();
+            log.debug("请求超出并发限制: workload={}, limit={}", workload, limiter.getLimit());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Permit permit = new Permit(limiter, inflightAtStart, start);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * 根据请求路径确定工作负载类型，未匹配时返回null
+     */
+    private WorkloadType resolveWorkload(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (Map.Entry<WorkloadType, ConcurrencyLimitProperties.Workload> entry : properties.getWorkloads().entrySet()) {
+            for (String pattern : entry.getValue().getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(
+            ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), "服务繁忙，请稍后重试")));
+    }
+
+    /**
+     * 已占用的并发名额，同步请求在过滤器返回时释放，异步请求在异步处理结束时释放
+     */
+    private static final class Permit implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final int inflightAtStart;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, int inflightAtStart, long startNanos) {
+            this.limiter = limiter;
+            this.inflightAtStart = inflightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(inflightAtStart, System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 异步处理重新开始时继续持有名额
+        }
+    }
+}
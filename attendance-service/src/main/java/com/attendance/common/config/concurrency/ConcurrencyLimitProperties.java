@@ -0,0 +1,69 @@
+package com.attendance.common.config.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 自适应并发限制配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * 是否启用并发限制
+     */
+    private boolean enabled = true;
+
+    /**
+     * 各工作负载的限制配置
+     */
+    private Map<WorkloadType, Workload> workloads = new EnumMap<>(WorkloadType.class);
+
+    /**
+     * 工作负载限制配置
+     */
+    @Data
+    public static class Workload {
+
+        /**
+         * 归入该工作负载的请求路径（Ant风格）
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * 初始并发限制
+         */
+        private int initialLimit = 10;
+
+        /**
+         * 最小并发限制
+         */
+        private int minLimit = 1;
+
+        /**
+         * 最大并发限制
+         */
+        private int maxLimit = 20;
+
+        /**
+         * 平滑系数，取值 (0, 1]，越小调整越平缓
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * 延迟容忍倍数：当前延迟不超过长期延迟的该倍数时不收缩限制
+         */
+        private double rttTolerance = 1.5;
+
+        /**
+         * 长期延迟的平滑窗口（样本数）
+         */
+        private int longWindow = 600;
+    }
+}
@@ -0,0 +1,64 @@
+package com.attendance.common.config.concurrency;
+
+import com.attendance.common.config.datasource.SqlStatistics;
+import com.attendance.common.exception.ServiceOverloadedException;
+import com.attendance.common.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 报表线程池配置
+ * 统计、导出等报表请求在独立的有界线程池中执行，并在报表连接池上访问数据库，
+ * 不占用Tomcat工作线程和签到写入使用的连接
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReportingProperties.class)
+public class ReportingExecutorConfig {
+
+    /**
+     * 报表线程池名称，供 WebAsyncTask 引用
+     */
+    public static final String REPORTING_EXECUTOR = "reportingExecutor";
+
+    /**
+     * 报表线程池
+     * 虚拟线程模式下改用虚拟线程，线程数和队列长度仍按配置限制，保持舱壁隔离
+     */
+    @Bean(REPORTING_EXECUTOR)
+    public ThreadPoolTaskExecutor reportingExecutor(ReportingProperties properties,
+                                                    @Value("${app.virtual-threads.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("reporting-");
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            executor.setThreadFactory(VirtualThreads.threadFactory("reporting-vt-"));
+        }
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setTaskDecorator(task -> {
+            // 提交任务的请求线程上的SQL统计随任务传递，报表查询计入原请求
+            SqlStatistics statistics = SqlStatistics.current();
+            return () -> {
+                WorkloadType previous = WorkloadContext.set(WorkloadType.REPORTING);
+                SqlStatistics previousStatistics = SqlStatistics.bind(statistics);
+                try {
+                    task.run();
+                } finally {
+                    SqlStatistics.bind(previousStatistics);
+                    WorkloadContext.set(previous);
+                }
+            };
+        });
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            throw new ServiceOverloadedException("报表服务繁忙，请稍后重试", 5);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        log.info("报表线程池: 线程数={}, 队列长度={}", properties.getThreads(), properties.getQueueCapacity());
+        return executor;
+    }
+}
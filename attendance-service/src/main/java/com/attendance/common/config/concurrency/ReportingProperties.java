@@ -0,0 +1,39 @@
+package com.attendance.common.config.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 报表隔离配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reporting")
+public class ReportingProperties {
+
+    /**
+     * 报表线程数
+     */
+    private int threads = 4;
+
+    /**
+     * 等待队列长度，队列已满时立即返回503
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * 报表请求的异步处理超时时间
+     */
+    private Duration requestTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 统计查询的超时时间（秒），通过事务超时应用到每条查询
+     */
+    private int queryTimeoutSeconds = 30;
+
+    /**
+     * 导出查询的超时时间（秒）
+     */
+    private int exportQueryTimeoutSeconds = 300;
+}
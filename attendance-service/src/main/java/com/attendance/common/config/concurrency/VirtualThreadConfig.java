@@ -0,0 +1,125 @@
+package com.attendance.common.config.concurrency;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import com.attendance.common.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.StringUtils;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程执行模式配置（app.virtual-threads.enabled=true 时生效）
+ * Tomcat请求和定时任务在虚拟线程上执行，报表线程池改用虚拟线程（仍保持原有并发上限）。
+ * 针对载体线程被占住（pinning）的情况：按连接池大小提高载体线程数，
+ * 并检查同步写日志的appender；当前JVM不支持虚拟线程时保持平台线程并打印警告
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.virtual-threads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+
+    private static final String PARALLELISM_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+    private static final String TRACE_PINNED_PROPERTY = "jdk.tracePinnedThreads";
+
+    private final boolean supported;
+
+    public VirtualThreadConfig(VirtualThreadProperties properties, Environment environment) {
+        this.supported = VirtualThreads.isSupported();
+        if (!supported) {
+            log.warn("已配置虚拟线程执行模式，但当前JVM（{}）不支持虚拟线程，继续使用平台线程", Runtime.version());
+            return;
+        }
+        // 调度器参数在第一个虚拟线程创建时读取，必须在创建执行器之前设置
+        configureCarrierThreads(properties, environment);
+        if (StringUtils.hasText(properties.getTracePinnedThreads())) {
+            System.setProperty(TRACE_PINNED_PROPERTY, properties.getTracePinnedThreads());
+        }
+        checkLogAppenders();
+    }
+
+    /**
+     * Tomcat请求在虚拟线程上执行
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (supported) {
+                ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+                protocolHandler.setExecutor(executor);
+                log.info("Tomcat请求已切换到虚拟线程执行");
+            }
+        };
+    }
+
+    /**
+     * 定时任务在虚拟线程上执行
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.setThreadNamePrefix("scheduling-");
+        if (supported) {
+            scheduler.setThreadFactory(VirtualThreads.threadFactory("scheduling-vt-"));
+        }
+        return scheduler;
+    }
+
+    /**
+     * 设置载体线程数不少于 CPU核数 + 连接池连接数之和，
+     * 避免所有载体线程都被持有连接、在驱动synchronized块内等待I/O的虚拟线程占住
+     */
+    private static void configureCarrierThreads(VirtualThreadProperties properties, Environment environment) {
+        if (System.getProperty(PARALLELISM_PROPERTY) != null) {
+            log.info("虚拟线程载体线程数由JVM参数指定: {}", System.getProperty(PARALLELISM_PROPERTY));
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        int carriers = properties.getMinCarrierThreads();
+        if (carriers <= 0) {
+            int connections = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)
+                + environment.getProperty("app.datasource.bulkhead.checkin.hikari.maximum-pool-size", Integer.class, 10)
+                + environment.getProperty("app.datasource.bulkhead.reporting.hikari.maximum-pool-size", Integer.class, 10);
+            if (environment.getProperty("app.datasource.replica.enabled", Boolean.class, false)) {
+                connections += environment.getProperty("app.datasource.replica.hikari.maximum-pool-size", Integer.class, 10);
+            }
+            carriers = cores + connections;
+        }
+        carriers = Math.max(cores, carriers);
+        System.setProperty(PARALLELISM_PROPERTY, String.valueOf(carriers));
+        log.info("虚拟线程载体线程数: {}（CPU核数={}）", carriers, cores);
+    }
+
+    /**
+     * 检查日志appender：AppenderBase在synchronized方法内写出日志，虚拟线程写日志时会占住载体线程
+     */
+    private static void checkLogAppenders() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                Appender<?> appender = appenders.next();
+                if (appender instanceof AppenderBase<?>) {
+                    log.warn("日志appender [{}]（{}）同步写出日志，虚拟线程下会占住载体线程，建议改用AsyncAppender包装",
+                        appender.getName(), appender.getClass().getSimpleName());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.attendance.common.config.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 虚拟线程执行模式配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * 是否在虚拟线程上执行请求、报表任务和定时任务（需要Java 21及以上）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 载体线程数下限，0表示自动：CPU核数 + 各连接池最大连接数之和。
+     * JDBC驱动在synchronized块内执行网络I/O时会占住载体线程，载体线程需多于连接数
+     */
+    private int minCarrierThreads = 0;
+
+    /**
+     * 虚拟线程被占住时打印堆栈（short/full），为空时不打印，仅用于排查
+     */
+    private String tracePinnedThreads;
+}
@@ -0,0 +1,36 @@
+package com.attendance.common.config.concurrency;
+
+/**
+ * 当前线程的工作负载类型
+ * 由并发限制过滤器和报表线程池设置，路由数据源据此选择连接池
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * 获取当前线程的工作负载类型，未设置时返回null
+     */
+    public static WorkloadType get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 设置当前线程的工作负载类型
+     *
+     * @param workload 工作负载类型，为null时清除
+     * @return 之前的工作负载类型
+     */
+    public static WorkloadType set(WorkloadType workload) {
+        WorkloadType previous = CURRENT.get();
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+        return previous;
+    }
+}
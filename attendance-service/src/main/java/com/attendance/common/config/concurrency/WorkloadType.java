@@ -0,0 +1,18 @@
+package com.attendance.common.config.concurrency;
+
+/**
+ * 工作负载类型
+ * 不同类型的请求使用各自的并发限制，互不挤占
+ */
+public enum WorkloadType {
+
+    /**
+     * 签到写入：学生签到、加入课程等短事务
+     */
+    CHECKIN,
+
+    /**
+     * 报表读取：考勤导出、统计等长查询
+     */
+    REPORTING
+}
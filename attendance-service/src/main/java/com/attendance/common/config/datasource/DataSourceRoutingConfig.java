@@ -0,0 +1,151 @@
+package com.attendance.common.config.datasource;
+
+import com.attendance.common.config.concurrency.WorkloadType;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 数据源路由配置
+ * 主库使用 spring.datasource 配置；签到写入和报表查询各自使用独立的主库连接池（舱壁隔离），
+ * 连接池大小见 app.datasource.bulkhead。
+ * 开启 app.datasource.replica.enabled 后，副本使用 app.datasource.replica 配置，只读事务路由到副本。
+ * 开启 app.sql-statistics.enabled 时，最外层使用JDBC代理按请求统计语句数和耗时
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(SqlStatisticsProperties.class)
+public class DataSourceRoutingConfig {
+
+    /**
+     * 主库连接池
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 签到写入专用连接池
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.bulkhead.checkin.hikari")
+    public HikariDataSource checkinDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("checkin");
+        return dataSource;
+    }
+
+    /**
+     * 报表查询专用连接池
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.bulkhead.reporting.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("reporting");
+        return dataSource;
+    }
+
+    /**
+     * 副本连接池，未配置的用户名、密码和驱动沿用主库配置
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+        dataSource.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * 路由数据源
+     * 先按工作负载选择连接池；启用副本时，各连接池上的只读事务再路由到副本，写事务记录读己之写窗口。
+     * 外层使用延迟连接代理，使路由发生在事务属性设置之后
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("checkinDataSource") HikariDataSource checkinDataSource,
+                                 @Qualifier("reportingDataSource") HikariDataSource reportingDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                 @Value("${app.datasource.replica.stickiness-ms:5000}") long stickinessMillis,
+                                 SqlStatisticsProperties sqlStatisticsProperties) {
+        DataSource defaultTarget = primaryDataSource;
+        DataSource checkinTarget = checkinDataSource;
+        DataSource reportingTarget = reportingDataSource;
+
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            ReadYourWritesTracker tracker = new ReadYourWritesTracker(stickinessMillis);
+            defaultTarget = replicaRouting(primaryDataSource, replica, tracker);
+            // 签到写入同样需要经过读写分离路由，记录写入时间，保证该用户随后的只读查询读到自己的签到
+            checkinTarget = replicaRouting(checkinDataSource, replica, tracker);
+            reportingTarget = replicaRouting(reportingDataSource, replica, tracker);
+            log.info("已启用读写分离数据源: 副本={}, 写后粘滞窗口={}ms", replica.getJdbcUrl(), stickinessMillis);
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(WorkloadType.CHECKIN, checkinTarget);
+        targets.put(WorkloadType.REPORTING, reportingTarget);
+
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(defaultTarget);
+        routingDataSource.afterPropertiesSet();
+
+        log.info("已启用连接池舱壁隔离: 签到连接池={}, 报表连接池={}",
+            checkinDataSource.getMaximumPoolSize(), reportingDataSource.getMaximumPoolSize());
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        if (!sqlStatisticsProperties.isEnabled()) {
+            return dataSource;
+        }
+        log.info("已启用按请求SQL统计: 语句数阈值={}", sqlStatisticsProperties.getStatementThreshold());
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name("attendance")
+            .listener(new SqlStatisticsListener())
+            .build();
+    }
+
+    /**
+     * 构建读写分离路由：写事务使用指定的主库连接池，只读事务路由到副本
+     */
+    private static DataSource replicaRouting(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceType.PRIMARY, primary);
+        targets.put(DataSourceType.REPLICA, replica);
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(tracker);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+}
@@ -0,0 +1,17 @@
+package com.attendance.common.config.datasource;
+
+/**
+ * 数据源类型
+ */
+public enum DataSourceType {
+
+    /**
+     * 主库：所有写操作和需要强一致的读操作
+     */
+    PRIMARY,
+
+    /**
+     * 只读副本：只读事务中的统计、列表和导出查询
+     */
+    REPLICA
+}
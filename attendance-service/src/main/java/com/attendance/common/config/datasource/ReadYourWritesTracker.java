@@ -0,0 +1,61 @@
+package com.attendance.common.config.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读己之写跟踪器
+ * 记录每个用户最近一次写事务的时间，窗口期内该用户的只读事务仍然路由到主库，
+ * 避免因副本复制延迟读不到自己刚写入的数据
+ */
+public class ReadYourWritesTracker {
+
+    /**
+     * 触发过期清理的记录数阈值
+     */
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    /**
+     * 记录用户的一次写操作
+     *
+     * @param user 用户名
+     */
+    public void markWrite(String user) {
+        if (user == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        if (lastWrites.size() > CLEANUP_THRESHOLD) {
+            lastWrites.values().removeIf(time -> now - time > windowNanos);
+        }
+    }
+
+    /**
+     * 判断用户是否仍处于写后粘滞窗口内
+     *
+     * @param user 用户名
+     * @return 窗口期内返回true
+     */
+    public boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite > windowNanos) {
+            lastWrites.remove(user, lastWrite);
+            return false;
+        }
+        return true;
+    }
+}
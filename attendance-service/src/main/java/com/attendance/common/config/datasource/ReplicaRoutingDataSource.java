@@ -0,0 +1,49 @@
+package com.attendance.common.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写分离路由数据源
+ * 业务代码声明的只读事务（@Transactional(readOnly = true)）路由到副本，其余路由到主库。
+ * 需要配合 LazyConnectionDataSourceProxy 使用，保证在事务属性就绪后才选择物理连接。
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Spring Data 仓库默认的只读事务不参与路由，避免无事务的读-改-写流程读到副本的旧数据
+     */
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReplicaRoutingDataSource(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceType.PRIMARY;
+        }
+
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            tracker.markWrite(user);
+            return DataSourceType.PRIMARY;
+        }
+
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName != null && transactionName.startsWith(REPOSITORY_TRANSACTION_PREFIX)) {
+            return DataSourceType.PRIMARY;
+        }
+        return tracker.isSticky(user) ? DataSourceType.PRIMARY : DataSourceType.REPLICA;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,161 @@
+package com.attendance.common.config.datasource;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个请求的SQL执行统计
+ * 由过滤器绑定到请求线程（报表线程池执行时随任务传递），数据源代理在每次执行语句后累加。
+ * 语句数超过阈值后，为后续语句记录调用位置，用于定位循环中的逐条查询
+ */
+public final class SqlStatistics {
+
+    /**
+     * 请求属性名，请求结束后可从请求中取得该请求的统计
+     */
+    public static final String REQUEST_ATTRIBUTE = SqlStatistics.class.getName();
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 最多跟踪的不同调用位置数
+     */
+    private static final int MAX_TRACKED_CALL_SITES = 64;
+
+    private static final int MAX_SQL_LENGTH = 200;
+
+    private static final String DATASOURCE_PACKAGE = SqlStatistics.class.getPackageName();
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final int threshold;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong elapsedNanos = new AtomicLong();
+    private final Map<String, CallSite> callSites = new ConcurrentHashMap<>();
+
+    public SqlStatistics(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * 获取当前线程绑定的统计，未绑定时返回null
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 绑定统计到当前线程
+     *
+     * @param statistics 统计，为null时解除绑定
+     * @return 之前绑定的统计，用于恢复
+     */
+    public static SqlStatistics bind(SqlStatistics statistics) {
+        SqlStatistics previous = CURRENT.get();
+        if (statistics == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statistics);
+        }
+        return previous;
+    }
+
+    /**
+     * 记录一次语句执行
+     *
+     * @param nanos 执行耗时（纳秒）
+     * @param sql 执行的SQL
+     */
+    public void record(long nanos, String sql) {
+        int count = statements.incrementAndGet();
+        elapsedNanos.addAndGet(nanos);
+        if (count > threshold) {
+            String site = callSite();
+            if (callSites.size() < MAX_TRACKED_CALL_SITES || callSites.containsKey(site)) {
+                callSites.computeIfAbsent(site, key -> new CallSite(key, abbreviate(sql))).count.increment();
+            }
+        }
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos.get();
+    }
+
+    public boolean isThresholdExceeded() {
+        return statements.get() > threshold;
+    }
+
+    /**
+     * 超过阈值后执行语句最多的调用位置
+     *
+     * @param limit 最多返回的数量
+     */
+    public List<CallSite> topCallSites(int limit) {
+        return callSites.values().stream()
+            .sorted(Comparator.comparingLong(CallSite::getCount).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * 查找第一个业务代码栈帧，跳过数据源代理、Spring生成的代理类和框架代码
+     */
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith("com.attendance.")
+                && !frame.getClassName().startsWith(DATASOURCE_PACKAGE)
+                && !frame.getClassName().contains("$$"))
+            .findFirst()
+            .map(frame -> frame.getClassName() + "." + frame.getMethodName()
+                + "(" + frame.getFileName() + ":" + frame.getLineNumber() + ")")
+            .orElse("unknown"));
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    /**
+     * 调用位置及其执行的语句数
+     */
+    public static final class CallSite {
+
+        private final String location;
+        private final String sampleSql;
+        private final LongAdder count = new LongAdder();
+
+        private CallSite(String location, String sampleSql) {
+            this.location = location;
+            this.sampleSql = sampleSql;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getSampleSql() {
+            return sampleSql;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public String toString() {
+            return location + " x" + getCount() + " [" + sampleSql + "]";
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.attendance.common.config.datasource;
+
+import com.attendance.common.config.web.AsyncCompletionListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 按请求统计SQL过滤器
+ * 在安全过滤器之前绑定 {@link SqlStatistics}，请求结束时输出一行统计日志；
+ * 响应提交前写入 Server-Timing 头（db;dur=数据库耗时毫秒;desc="语句数"）。
+ * 语句数超过阈值时输出警告，列出超出阈值后执行语句最多的调用位置
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final SqlStatisticsProperties properties;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        SqlStatistics statistics = new SqlStatistics(properties.getStatementThreshold());
+        request.setAttribute(SqlStatistics.REQUEST_ATTRIBUTE, statistics);
+        HttpServletResponse target = properties.isServerTiming()
+            ? new ServerTimingResponse(response, statistics)
+            : response;
+
+        SqlStatistics previous = SqlStatistics.bind(statistics);
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatistics.bind(previous);
+            if (request.isAsyncStarted()) {
+                // 报表等异步请求的查询在线程池中执行，异步处理结束后再输出统计，
+                // 响应头由异步分派时提交的包装响应写入
+                request.getAsyncContext().addListener(
+                    new AsyncCompletionListener(() -> report(request, response, statistics, start)));
+            } else {
+                if (properties.isServerTiming() && !response.isCommitted()) {
+                    response.setHeader(SERVER_TIMING, serverTiming(statistics));
+                }
+                report(request, response, statistics, start);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response,
+                        SqlStatistics statistics, long startNanos) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (properties.isLogRequests() && log.isInfoEnabled()) {
+            log.info("sql_stats method={} path={} status={} statements={} db_ms={} total_ms={}",
+                request.getMethod(), path, response.getStatus(), statistics.getStatements(),
+                millis(statistics.getElapsedNanos()), millis(System.nanoTime() - startNanos));
+        }
+        if (statistics.isThresholdExceeded()) {
+            StringBuilder sites = new StringBuilder();
+            for (SqlStatistics.CallSite site : statistics.topCallSites(properties.getMaxCallSites())) {
+                sites.append("\n    at ").append(site);
+            }
+            log.warn("sql_stats_threshold_exceeded method={} path={} statements={} threshold={} db_ms={} call_sites:{}",
+                request.getMethod(), path, statistics.getStatements(), properties.getStatementThreshold(),
+                millis(statistics.getElapsedNanos()), sites);
+        }
+    }
+
+    private static String serverTiming(SqlStatistics statistics) {
+        return "db;dur=" + millis(statistics.getElapsedNanos()) + ";desc=\"" + statistics.getStatements() + " statements\"";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    /**
+     * 响应提交前写入 Server-Timing 头，此时同步请求的数据库访问已经结束
+     */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatistics statistics;
+
+        private ServerTimingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(SERVER_TIMING, serverTiming(statistics));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.attendance.common.config.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * 数据源代理监听器：每次执行语句后累加到当前请求的 {@link SqlStatistics}
+ * 批量执行按一次往返计数
+ */
+public class SqlStatisticsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatisticsListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatistics.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (statistics == null || start == null) {
+            return;
+        }
+        String sql = queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery();
+        statistics.record(System.nanoTime() - start, sql);
+    }
+}
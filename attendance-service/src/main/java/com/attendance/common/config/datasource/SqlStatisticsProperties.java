@@ -0,0 +1,37 @@
+package com.attendance.common.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 按请求统计SQL配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sql-statistics")
+public class SqlStatisticsProperties {
+
+    /**
+     * 是否启用（关闭后不再代理数据源）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否在响应中输出 Server-Timing 头（会向客户端暴露数据库耗时，默认关闭）
+     */
+    private boolean serverTiming = false;
+
+    /**
+     * 是否为每个请求输出一行统计日志（默认关闭，超过语句数阈值的警告不受影响）
+     */
+    private boolean logRequests = false;
+
+    /**
+     * 单个请求的语句数阈值，超过后记录调用位置并输出警告（疑似N+1查询）
+     */
+    private int statementThreshold = 50;
+
+    /**
+     * 警告日志中最多列出的调用位置数
+     */
+    private int maxCallSites = 5;
+}
@@ -0,0 +1,17 @@
+package com.attendance.common.config.datasource;
+
+import com.attendance.common.config.concurrency.WorkloadContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 按工作负载路由的数据源（舱壁隔离）
+ * 签到写入和报表查询各自使用独立的连接池，其余请求使用默认连接池，
+ * 报表查询耗尽自己的连接时不会影响签到
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.get();
+    }
+}
@@ -0,0 +1,166 @@
+package com.attendance.common.config.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import com.attendance.service.auth.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JWT认证过滤器
+ * 拦截请求，验证JWT令牌，设置认证信息
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    
+    // 不需要验证的路径
+    private final List<String> PUBLIC_PATHS = Arrays.asList(
+        "/auth/**",
+        "/public/**",
+        "/test/public",
+        "/test/login",
+        "/v3/api-docs/**", 
+        "/swagger-ui/**", 
+        "/swagger-ui.html"
+    );
+    
+    /**
+     * 撤销敏感路径：这些请求会查询数据库确认用户仍然可用且角色未变
+     */
+    @Value("${jwt.revocation-sensitive-paths:/admin/**}")
+    private List<String> revocationSensitivePaths;
+    
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    
+    /**
+     * 是否应该过滤器处理该请求
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        // 如果是公开路径，则跳过JWT验证
+        boolean shouldSkip = PUBLIC_PATHS.stream()
+                .anyMatch(pattern -> pathMatcher.match(pattern, path));
+        
+        log.debug("请求路径: {}, 是否跳过验证: {}", path, shouldSkip);
+        return shouldSkip;
+    }
+    
+    /**
+     * 过滤请求
+     * 令牌自带用户ID和角色，验签并检查内存撤销列表后直接构建认证信息；
+     * 仅对撤销敏感路径和旧版令牌查询数据库
+     */
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request, 
+            @NonNull HttpServletResponse response, 
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        
+        String path = request.getServletPath();
+        log.debug("过滤请求: {}, 方法: {}", path, request.getMethod());
+        
+        try {
+            // 从请求头中获取JWT令牌
+            String jwt = getJwtFromRequest(request);
+            
+            // 如果令牌存在且有效，设置认证信息
+            if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                JwtTokenProvider.VerifiedToken verified = jwtTokenProvider.verifyToken(jwt);
+                UserDetails userDetails = verified.userDetails();
+                
+                if (tokenRevocationService.isRevoked(verified.tokenId())) {
+                    // 已登出或被撤销的令牌，不设置认证信息
+                    log.debug("JWT令牌已撤销: {}", path);
+                    userDetails = null;
+                } else if (userDetails == null) {
+                    // 旧版令牌不含用户信息声明，回退到数据库查询
+                    userDetails = userDetailsService.loadUserByUsername(jwtTokenProvider.getUsernameFromToken(jwt));
+                } else if (isRevocationSensitive(path)) {
+                    // 撤销敏感路径以数据库中的最新状态为准（账户禁用、角色变更）
+                    userDetails = reloadUser((SecurityUserDetails) userDetails);
+                }
+                
+                if (userDetails != null && userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                    
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(SecurityUserDetails.REQUEST_ATTRIBUTE, userDetails);
+                    
+                    log.debug("认证成功: {}, 角色: {}", userDetails.getUsername(), userDetails.getAuthorities());
+                } else {
+                    log.warn("JWT令牌对应的用户不可用: {}", path);
+                }
+            }
+        } catch (Exception ex) {
+            log.error("无法设置用户认证: {}", ex.getMessage());
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * 判断请求路径是否需要以数据库中的用户状态为准
+     */
+    private boolean isRevocationSensitive(String path) {
+        return revocationSensitivePaths.stream()
+                .anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+    
+    /**
+     * 从数据库重新加载用户，用户已被删除或ID不一致时返回null
+     */
+    private UserDetails reloadUser(SecurityUserDetails tokenUser) {
+        try {
+            UserDetails current = userDetailsService.loadUserByUsername(tokenUser.getUsername());
+            if (current instanceof SecurityUserDetails securityUser
+                    && !securityUser.getId().equals(tokenUser.getId())) {
+                return null;
+            }
+            return current;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * 从请求头中获取JWT令牌
+     * 
+     * @param request HTTP请求
+     * @return JWT令牌
+     */
+    private String getJwtFromRequest(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
\ No newline at end of file
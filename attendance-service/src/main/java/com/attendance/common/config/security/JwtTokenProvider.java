@@ -0,0 +1,252 @@
+package com.attendance.common.config.security;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.util.DateTimeUtil;
+import com.attendance.common.util.TokenUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * JWT令牌提供器
+ * 负责生成和解析JWT令牌
+ * 令牌携带用户ID、角色和启用状态，验证后即可直接构建认证信息，无需查询数据库
+ */
+@Component
+@Slf4j
+public class JwtTokenProvider {
+
+    @Value("${jwt.secret}")
+    private String jwtSecretString;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+    
+    /**
+     * 已验证令牌缓存的最大条目数
+     */
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+    
+    private SecretKey secretKey;
+    
+    /**
+     * 可复用的令牌解析器（线程安全）
+     */
+    private JwtParser jwtParser;
+    
+    /**
+     * 最近验证通过的令牌，键为令牌的SHA-256摘要
+     */
+    private Cache<String, VerifiedToken> verifiedTokens;
+    
+    /**
+     * 已验证的令牌
+     * 
+     * @param userDetails 用户详情，旧版令牌（不含用户ID和角色声明）为null
+     * @param tokenId 令牌ID（jti），旧版令牌可能为null
+     * @param expiresAt 过期时间（毫秒时间戳）
+     */
+    public record VerifiedToken(SecurityUserDetails userDetails, String tokenId, long expiresAt) {
+    }
+    
+    /**
+     * 初始化签名密钥、解析器和已验证令牌缓存
+     */
+    @PostConstruct
+    public void init() {
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofMillis(jwtExpiration))
+                .build();
+    }
+    
+    /**
+     * 从令牌中提取用户名
+     */
+    public String getUsernameFromToken(String token) {
+        return getClaimFromToken(token, Claims::getSubject);
+    }
+    
+    /**
+     * 从令牌中获取过期时间
+     */
+    public Date getExpirationDateFromToken(String token) {
+        return getClaimFromToken(token, Claims::getExpiration);
+    }
+    
+    /**
+     * 从令牌中获取声明
+     */
+    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
+        final Claims claims = getAllClaimsFromToken(token);
+        return claimsResolver.apply(claims);
+    }
+    
+    /**
+     * 从令牌中获取所有声明
+     * 一次解析完成签名和过期时间校验，令牌无效时抛出 JwtException
+     */
+    private Claims getAllClaimsFromToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+    
+    /**
+     * 根据令牌构建用户详情
+     * 
+     * @param token JWT令牌
+     * @return 用户详情；旧版令牌（不含用户ID和角色声明）返回null
+     * @throws io.jsonwebtoken.JwtException 令牌无效或已过期
+     */
+    public SecurityUserDetails getUserDetailsFromToken(String token) {
+        return verifyToken(token).userDetails();
+    }
+    
+    /**
+     * 验证令牌并提取用户详情和令牌ID
+     * 最近验证过的令牌直接从缓存返回，不再重复验签
+     * 
+     * @param token JWT令牌
+     * @return 已验证的令牌
+     * @throws io.jsonwebtoken.JwtException 令牌无效或已过期
+     */
+    public VerifiedToken verifyToken(String token) {
+        String digest = TokenUtil.sha256Hex(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null) {
+            if (verified.expiresAt() > System.currentTimeMillis()) {
+                return verified;
+            }
+            verifiedTokens.invalidate(digest);
+        }
+        
+        Claims claims = getAllClaimsFromToken(token);
+        String userId = claims.get(SystemConstants.Security.CLAIM_USER_ID, String.class);
+        String role = claims.get(SystemConstants.Security.CLAIM_ROLE, String.class);
+        SecurityUserDetails userDetails = null;
+        if (userId != null && role != null) {
+            Boolean enabled = claims.get(SystemConstants.Security.CLAIM_ENABLED, Boolean.class);
+            userDetails = new SecurityUserDetails(userId, claims.getSubject(), role, enabled == null || enabled);
+        }
+        
+        verified = new VerifiedToken(userDetails, claims.getId(), claims.getExpiration().getTime());
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
+    
+    /**
+     * 生成令牌
+     */
+    public String generateToken(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof SecurityUserDetails userDetails) {
+            return generateToken(userDetails);
+        }
+        return doGenerateToken(new HashMap<>(), authentication.getName());
+    }
+    
+    /**
+     * 为用户生成令牌
+     * 写入用户ID、角色和启用状态，后续请求据此完成认证
+     */
+    public String generateToken(SecurityUserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(SystemConstants.Security.CLAIM_USER_ID, userDetails.getId());
+        claims.put(SystemConstants.Security.CLAIM_ROLE, userDetails.getRole());
+        claims.put(SystemConstants.Security.CLAIM_ENABLED, userDetails.isEnabled());
+        return doGenerateToken(claims, userDetails.getUsername());
+    }
+    
+    /**
+     * 访问令牌有效期（毫秒）
+     */
+    public long getExpiration() {
+        return jwtExpiration;
+    }
+    
+    /**
+     * 生成令牌
+     */
+    public String generateToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        return doGenerateToken(claims, username);
+    }
+    
+    /**
+     * 生成令牌的核心方法
+     */
+    private String doGenerateToken(Map<String, Object> claims, String subject) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiryDate = now.plus(Duration.ofMillis(jwtExpiration));
+        
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(DateTimeUtil.toDate(now))
+                .setExpiration(DateTimeUtil.toDate(expiryDate))
+                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .compact();
+    }
+    
+    /**
+     * 获取签名密钥
+     * 如果配置的密钥不够安全，则动态生成安全密钥
+     */
+    private Key getSigningKey() {
+        if (secretKey == null) {
+            try {
+                // 尝试使用配置的密钥
+                byte[] keyBytes = Decoders.BASE64.decode(jwtSecretString);
+                
+                // 检查密钥长度
+                if (keyBytes.length * 8 >= 512) {
+                    secretKey = Keys.hmacShaKeyFor(keyBytes);
+                    log.info("使用配置的JWT密钥");
+                } else {
+                    // 密钥长度不足，生成新的安全密钥
+                    secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+                    log.warn("配置的JWT密钥长度不足（需要至少512位），已自动生成安全密钥");
+                }
+            } catch (Exception e) {
+                // 如果解码失败或其他错误，生成新的安全密钥
+                secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+                log.error("JWT密钥处理错误，已自动生成安全密钥", e);
+            }
+        }
+        
+        return secretKey;
+    }
+    
+    /**
+     * 验证令牌
+     * 签名和过期时间已在解析时校验
+     */
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        final String username = getUsernameFromToken(token);
+        return username.equals(userDetails.getUsername());
+    }
+}
@@ -0,0 +1,86 @@
+package com.attendance.common.config.security;
+
+import com.attendance.common.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希线程池
+ * 固定线程数并限制等待队列长度，避免登录高峰占满所有CPU核心；
+ * 队列已满或等待超时时抛出 {@link ServiceOverloadedException}
+ */
+@Slf4j
+public class PasswordHashingExecutor implements AutoCloseable {
+
+    private static final String OVERLOADED_MESSAGE = "登录请求过多，请稍后重试";
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMillis = properties.getMaxWait().toMillis();
+        log.info("密码哈希线程池: 线程数={}, 队列长度={}", properties.getThreads(), properties.getQueueCapacity());
+    }
+
+    /**
+     * 在哈希线程池中执行任务并等待结果
+     *
+     * @param task 哈希任务
+     * @return 任务结果
+     * @throws ServiceOverloadedException 队列已满或等待超时
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            log.warn("密码哈希队列已满，拒绝请求: 活跃线程={}, 排队={}", executor.getActiveCount(), executor.getQueue().size());
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE, 1);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("密码哈希等待超时: {}ms", maxWaitMillis);
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE, 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE, 1);
+        } catch (CancellationException e) {
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE, 1);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("密码哈希失败", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,44 @@
+package com.attendance.common.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 密码哈希配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * 哈希线程数，默认为CPU核数的一半
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * 等待队列长度，队列已满时立即返回503
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * 请求等待哈希结果的最长时间
+     */
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    /**
+     * 单次哈希的目标耗时，启动时据此校准BCrypt强度
+     */
+    private Duration targetLatency = Duration.ofMillis(100);
+
+    /**
+     * BCrypt最小强度
+     */
+    private int minStrength = 10;
+
+    /**
+     * BCrypt最大强度
+     */
+    private int maxStrength = 14;
+}
@@ -0,0 +1,161 @@
+package com.attendance.common.config.security;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.model.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口限流过滤器
+ * 位于JWT认证过滤器之前，按配置的规则以用户ID或客户端IP为键进行令牌桶限流，
+ * 超出限制时直接返回429，不再进入认证和业务处理。
+ * 客户端IP取 getRemoteAddr()，反向代理之后由 server.forward-headers-strategy 还原为真实地址（信任边界见 application.yml）
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    /**
+     * 每条规则的放行和限流计数器（与规则同序）
+     */
+    private Counter[] allowedCounters;
+    private Counter[] throttledCounters;
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new TokenBucketRateLimiter(
+            properties.getStripes(), properties.getIdleTimeout(), properties.getMaxBuckets());
+
+        List<RateLimitProperties.Rule> rules = properties.getRules();
+        allowedCounters = new Counter[rules.size()];
+        throttledCounters = new Counter[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            String name = rules.get(i).getName();
+            allowedCounters[i] = Counter.builder("attendance.rate_limit.requests")
+                .description("限流规则匹配的请求数")
+                .tag("rule", name)
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+            throttledCounters[i] = Counter.builder("attendance.rate_limit.requests")
+                .description("限流规则匹配的请求数")
+                .tag("rule", name)
+                .tag("outcome", "throttled")
+                .register(meterRegistry);
+        }
+        Gauge.builder("attendance.rate_limit.buckets", rateLimiter, TokenBucketRateLimiter::size)
+            .description("当前令牌桶数量")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || properties.getRules().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        int ruleIndex = matchRule(request);
+        if (ruleIndex < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitProperties.Rule rule = properties.getRules().get(ruleIndex);
+        String key = rule.getName() + ':' + resolveKey(request, rule.getKey());
+        long waitNanos = rateLimiter.tryAcquire(key, rule.getCapacity(), rule.getPeriod());
+        if (waitNanos == 0) {
+            allowedCounters[ruleIndex].increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        throttledCounters[ruleIndex].increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("请求被限流: rule={}, key={}, retryAfter={}s", rule.getName(), key, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(ApiResponse.error(
+            HttpStatus.TOO_MANY_REQUESTS.value(), "请求过于频繁，请" + retryAfterSeconds + "秒后重试")));
+    }
+
+    /**
+     * 查找第一条匹配的规则
+     *
+     * @return 规则序号，未匹配时返回-1
+     */
+    private int matchRule(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        List<RateLimitProperties.Rule> rules = properties.getRules();
+        for (int i = 0; i < rules.size(); i++) {
+            RateLimitProperties.Rule rule = rules.get(i);
+            if ((rule.getMethod() == null || rule.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(rule.getPattern(), path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 解析限流键
+     * 按用户限流时从令牌声明中读取用户ID（命中已验证令牌缓存，不查询数据库），
+     * 无有效令牌时回退为客户端IP
+     */
+    private String resolveKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            String bearerToken = request.getHeader(SystemConstants.Security.HEADER_STRING);
+            if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(SystemConstants.Security.TOKEN_PREFIX)) {
+                try {
+                    SecurityUserDetails userDetails = jwtTokenProvider.getUserDetailsFromToken(
+                        bearerToken.substring(SystemConstants.Security.TOKEN_PREFIX.length()));
+                    if (userDetails != null) {
+                        return "user:" + userDetails.getId();
+                    }
+                } catch (Exception e) {
+                    // 令牌无效时按IP限流，认证失败由后续过滤器处理
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
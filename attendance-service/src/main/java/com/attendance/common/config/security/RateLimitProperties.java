@@ -0,0 +1,92 @@
+package com.attendance.common.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 接口限流配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 锁分段数（向上取整为2的幂）
+     */
+    private int stripes = 64;
+
+    /**
+     * 令牌桶空闲多久后回收
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 令牌桶最大数量
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * 限流规则，按顺序匹配第一条
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * 限流键类型
+     */
+    public enum KeyType {
+        /**
+         * 按用户ID（无有效令牌时回退为客户端IP）
+         */
+        USER,
+        /**
+         * 按客户端IP
+         */
+        IP
+    }
+
+    /**
+     * 限流规则
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * 规则名称，用于指标标签
+         */
+        private String name;
+
+        /**
+         * 请求路径（Ant风格）
+         */
+        private String pattern;
+
+        /**
+         * HTTP方法，为空时匹配所有方法
+         */
+        private String method;
+
+        /**
+         * 限流键类型
+         */
+        private KeyType key = KeyType.USER;
+
+        /**
+         * 桶容量（允许的突发请求数）
+         */
+        private int capacity = 10;
+
+        /**
+         * 补满整个桶所需的时间
+         */
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
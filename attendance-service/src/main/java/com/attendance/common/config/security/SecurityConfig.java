@@ -0,0 +1,146 @@
+package com.attendance.common.config.security;
+
+import jakarta.servlet.DispatcherType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spring Security 配置类
+ */
+@Slf4j
+@Configuration
+@EnableWebSecurity
+@EnableMethodSecurity
+@EnableConfigurationProperties({PasswordHashingProperties.class, RateLimitProperties.class})
+public class SecurityConfig {
+
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final String ARGON2_ID = "argon2id";
+
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    
+    @Autowired
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+                          UserDetailsServiceImpl userDetailsService) {
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    /**
+     * 配置安全过滤器链
+     */
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(authorize -> authorize
+                // 异步分派（报表、流式导出）的原始请求已完成鉴权，无状态会话下分派时不再携带认证信息
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // 公开端点
+                .requestMatchers("/auth/**").permitAll()
+                .requestMatchers("/public/**").permitAll()
+                .requestMatchers("/test/public").permitAll() // 测试公开接口
+                .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll() // Swagger
+                .requestMatchers("/actuator/health").permitAll() // 健康检查
+                // 受保护端点
+                .requestMatchers("/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .requestMatchers("/teacher/**").hasAnyRole("TEACHER", "ADMIN")
+                .anyRequest().authenticated()
+            )
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            // 添加自定义访问拒绝处理器
+            .exceptionHandling(exceptions -> exceptions
+                .accessDeniedHandler(new CustomAccessDeniedHandler())
+                .authenticationEntryPoint(new CustomAuthenticationEntryPoint())
+            )
+            // 添加JWT过滤器
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // 限流过滤器位于JWT过滤器之前，被限流的请求不再验签和查库
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    /**
+     * 密码哈希线程池
+     */
+    @Bean(destroyMethod = "close")
+    public PasswordHashingExecutor passwordHashingExecutor(PasswordHashingProperties properties) {
+        return new PasswordHashingExecutor(properties);
+    }
+
+    /**
+     * 配置密码编码器
+     * 新密码使用按目标耗时校准强度的BCrypt（带{bcrypt}前缀）；
+     * 无前缀的旧BCrypt哈希和{argon2id}哈希仍可校验，登录成功后自动升级为当前编码
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties,
+                                           PasswordHashingExecutor passwordHashingExecutor) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(calibrateBCryptStrength(properties));
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, bcrypt);
+        encoders.put(ARGON2_ID, new Argon2PasswordEncoder());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegating, passwordHashingExecutor);
+    }
+
+    /**
+     * 根据目标耗时校准BCrypt强度
+     * 强度每增加1，耗时翻倍；以最小强度的实测耗时推算，并限制在配置范围内
+     */
+    private static int calibrateBCryptStrength(PasswordHashingProperties properties) {
+        int minStrength = properties.getMinStrength();
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-" + i);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        long target = properties.getTargetLatency().toNanos();
+        int strength = minStrength;
+        long estimated = best;
+        while (strength < properties.getMaxStrength() && estimated * 2 <= target) {
+            estimated *= 2;
+            strength++;
+        }
+        log.info("BCrypt强度校准: 强度={}, 预计耗时={}ms, 目标耗时={}ms",
+            strength, estimated / 1_000_000, properties.getTargetLatency().toMillis());
+        return strength;
+    }
+
+    /**
+     * 配置认证管理器
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration)
+            throws Exception {
+        return authenticationConfiguration.getAuthenticationManager();
+    }
+}
\ No newline at end of file
@@ -16,9 +16,15 @@ import java.util.Collections;
 @Getter
 public class SecurityUserDetails implements UserDetails {
 
+    /**
+     * 请求属性名，认证成功后保存当前用户，供安全上下文清理后的访问日志使用
+     */
+    public static final String REQUEST_ATTRIBUTE = SecurityUserDetails.class.getName();
+
     private final String id;
     private final String username;
     private final String password;
+    private final String role;
     private final boolean enabled;
     private final Collection<? extends GrantedAuthority> authorities;
     
@@ -31,6 +37,7 @@ public class SecurityUserDetails implements UserDetails {
         this.id = user.getId();
         this.username = user.getUsername();
         this.password = user.getPassword();
+        this.role = user.getRole();
         this.enabled = user.getEnabled();
         
         // 将用户角色转换为授权信息
@@ -39,6 +46,25 @@ public class SecurityUserDetails implements UserDetails {
         );
     }
     
+    /**
+     * 构造函数（根据JWT声明构建，不含密码）
+     * 
+     * @param id 用户ID
+     * @param username 用户名
+     * @param role 用户角色
+     * @param enabled 是否启用
+     */
+    public SecurityUserDetails(String id, String username, String role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.role = role;
+        this.enabled = enabled;
+        this.authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + role)
+        );
+    }
+    
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -0,0 +1,79 @@
+package com.attendance.common.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * 内存令牌桶限流器
+ * 令牌桶按键存放在有界缓存中，空闲超时后自动回收；
+ * 桶状态的更新按键哈希分段加锁，不同分段的请求互不阻塞
+ */
+public class TokenBucketRateLimiter {
+
+    private final Object[] locks;
+    private final int stripeMask;
+    private final Cache<String, Bucket> buckets;
+
+    /**
+     * 令牌桶，字段仅在所属分段锁内读写
+     */
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+
+    public TokenBucketRateLimiter(int stripes, Duration idleTimeout, long maxBuckets) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new Object[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new Object();
+        }
+        this.stripeMask = size - 1;
+        this.buckets = Caffeine.newBuilder()
+            .expireAfterAccess(idleTimeout)
+            .maximumSize(maxBuckets)
+            .build();
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param key 限流键
+     * @param capacity 桶容量
+     * @param period 补满整个桶所需的时间
+     * @return 0表示获取成功；否则为距离下一个令牌可用的纳秒数
+     */
+    public long tryAcquire(String key, int capacity, Duration period) {
+        double refillPerNano = (double) capacity / period.toNanos();
+        long now = System.nanoTime();
+        synchronized (locks[stripe(key)]) {
+            Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefillNanos) * refillPerNano);
+            bucket.lastRefillNanos = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / refillPerNano);
+        }
+    }
+
+    /**
+     * 当前令牌桶数量（近似值）
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+}
@@ -2,18 +2,22 @@ package com.attendance.common.config.security;
 
 import com.attendance.repository.user.UserRepository;
 import com.attendance.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 用户详情服务实现
- * 用于Spring Security用户认证
+ * 用于Spring Security用户认证，并在登录成功后升级过时的密码哈希
  */
+@Slf4j
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     
@@ -39,4 +43,23 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         
         return new SecurityUserDetails(user);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 更新用户密码哈希（登录成功且存储的哈希需要升级时由Spring Security调用）
+     * 
+     * @param userDetails 用户详情
+     * @param newPassword 使用当前编码重新生成的密码哈希
+     * @return 更新后的用户详情
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        
+        log.info("已升级用户密码哈希: {}", user.getUsername());
+        return new SecurityUserDetails(user);
+    }
+}
@@ -0,0 +1,207 @@
+package com.attendance.common.config.web;
+
+import com.attendance.common.config.datasource.SqlStatistics;
+import com.attendance.common.config.security.SecurityUserDetails;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 访问日志过滤器
+ * 每个请求结束时向 http-request.log 输出一行JSON：时间、方法、路径、路由模板、脱敏后的请求参数和JSON请求体、
+ * 用户ID和角色、状态码、耗时以及数据库语句数和耗时。日志可直接用于流量回放（attendance-replay）
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /**
+     * 访问日志使用独立的日志名，在logback配置中单独输出到 http-request.log
+     */
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("http.access");
+
+    private static final String MASK = "***";
+
+    private final AccessLogProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!properties.isEnabled() || !ACCESS_LOG.isInfoEnabled()) {
+            return true;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        return properties.getExcludePaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        HttpServletRequest target = shouldCaptureBody(request)
+            ? new ContentCachingRequestWrapper(request, properties.getMaxBodyLength())
+            : request;
+
+        try {
+            filterChain.doFilter(target, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // 异步请求在处理结束后输出，耗时包含线程池中的执行时间
+                request.getAsyncContext().addListener(
+                    new AsyncCompletionListener(() -> log(target, response, startMillis, start)));
+            } else {
+                log(target, response, startMillis, start);
+            }
+        }
+    }
+
+    private boolean shouldCaptureBody(HttpServletRequest request) {
+        if (!properties.isCaptureBody() || request.getContentType() == null) {
+            return false;
+        }
+        long length = request.getContentLengthLong();
+        return length > 0 && length <= properties.getMaxBodyLength() && isJson(request.getContentType());
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long startMillis, long startNanos) {
+        try {
+            ACCESS_LOG.info(objectMapper.writeValueAsString(entry(request, response, startMillis, startNanos)));
+        } catch (Exception e) {
+            ACCESS_LOG.warn("访问日志生成失败: {} {}", request.getMethod(), request.getRequestURI(), e);
+        }
+    }
+
+    private ObjectNode entry(HttpServletRequest request, HttpServletResponse response,
+                             long startMillis, long startNanos) {
+        ObjectNode entry = objectMapper.createObjectNode();
+        entry.put("ts", startMillis);
+        entry.put("time", Instant.ofEpochMilli(startMillis).toString());
+        entry.put("method", request.getMethod());
+        entry.put("path", urlPathHelper.getPathWithinApplication(request));
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            entry.put("route", route.toString());
+        }
+
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (!parameters.isEmpty()) {
+            ObjectNode query = entry.putObject("params");
+            parameters.forEach((name, values) -> {
+                ArrayNode array = query.putArray(name);
+                for (String value : values) {
+                    array.add(isSensitive(name) ? MASK : value);
+                }
+            });
+        }
+        if (request.getContentType() != null) {
+            entry.put("contentType", request.getContentType());
+        }
+        body(request, entry);
+
+        Object user = request.getAttribute(SecurityUserDetails.REQUEST_ATTRIBUTE);
+        if (user instanceof SecurityUserDetails userDetails) {
+            entry.put("userId", userDetails.getId());
+            entry.put("role", userDetails.getRole());
+        }
+
+        entry.put("status", response.getStatus());
+        entry.put("durationMs", round((System.nanoTime() - startNanos) / 1e6));
+        Object statistics = request.getAttribute(SqlStatistics.REQUEST_ATTRIBUTE);
+        if (statistics instanceof SqlStatistics sqlStatistics) {
+            entry.put("dbStatements", sqlStatistics.getStatements());
+            entry.put("dbMs", round(sqlStatistics.getElapsedNanos() / 1e6));
+        }
+        return entry;
+    }
+
+    /**
+     * 记录脱敏后的JSON请求体；未记录时写明原因
+     */
+    private void body(HttpServletRequest request, ObjectNode entry) {
+        long length = request.getContentLengthLong();
+        if (length <= 0) {
+            return;
+        }
+        if (!(request instanceof ContentCachingRequestWrapper wrapper)) {
+            entry.put("bodyOmitted", !isJson(request.getContentType()) ? "non_json"
+                : length > properties.getMaxBodyLength() ? "too_large" : "disabled");
+            return;
+        }
+        byte[] content = wrapper.getContentAsByteArray();
+        if (content.length == 0) {
+            entry.put("bodyOmitted", "unread");
+            return;
+        }
+        try {
+            entry.set("body", mask(objectMapper.readTree(content)));
+        } catch (IOException e) {
+            entry.put("bodyOmitted", "invalid_json");
+        }
+    }
+
+    private JsonNode mask(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (isSensitive(field.getKey())) {
+                    field.setValue(object.textNode(MASK));
+                } else {
+                    mask(field.getValue());
+                }
+            }
+        } else if (node instanceof ArrayNode array) {
+            array.forEach(this::mask);
+        }
+        return node;
+    }
+
+    private boolean isSensitive(String name) {
+        return name.toLowerCase(Locale.ROOT).contains("password")
+            || properties.getSensitiveParameters().stream().anyMatch(name::equalsIgnoreCase);
+    }
+
+    private static boolean isJson(String contentType) {
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.attendance.common.config.web;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 访问日志配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.access-log")
+public class AccessLogProperties {
+
+    /**
+     * 是否输出访问日志（http-request.log，每个请求一行JSON）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否记录JSON请求体（敏感字段脱敏），回放POST接口需要请求体。
+     * 请求体包含个人信息，默认关闭，仅在需要采集回放流量时开启
+     */
+    private boolean captureBody = false;
+
+    /**
+     * 记录请求体的最大字节数，超过时只记录省略原因
+     */
+    private int maxBodyLength = 4096;
+
+    /**
+     * 需要脱敏的参数名和JSON字段名（不区分大小写），名称中包含password的字段始终脱敏。
+     * 默认包含凭据以及位置、邮箱、姓名和手机号等个人信息
+     */
+    private List<String> sensitiveParameters = new ArrayList<>(List.of(
+        "token", "accessToken", "refreshToken", "secret", "authorization",
+        "location", "email", "fullName", "phone"));
+
+    /**
+     * 不记录的路径（Ant风格，相对于上下文路径）
+     */
+    private List<String> excludePaths = new ArrayList<>(List.of("/actuator/**"));
+}
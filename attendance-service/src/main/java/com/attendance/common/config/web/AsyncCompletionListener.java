@@ -0,0 +1,37 @@
+package com.attendance.common.config.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+
+/**
+ * 异步请求完成监听器
+ * 异步处理结束（包括超时和出错）后执行一次回调，用于在过滤器中输出访问日志和SQL统计
+ */
+public final class AsyncCompletionListener implements AsyncListener {
+
+    private final Runnable onComplete;
+
+    public AsyncCompletionListener(Runnable onComplete) {
+        this.onComplete = onComplete;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        onComplete.run();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        // 超时后仍会触发onComplete
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        // 出错后仍会触发onComplete
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        // 异步处理重新开始时继续等待完成
+    }
+}
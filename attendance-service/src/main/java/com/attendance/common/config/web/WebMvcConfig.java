@@ -1,8 +1,14 @@
 package com.attendance.common.config.web;
 
+import com.attendance.common.config.concurrency.ConcurrencyLimitProperties;
+import com.attendance.common.config.concurrency.ReportingExecutorConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -12,8 +18,23 @@ import java.time.format.DateTimeFormatter;
  * Web MVC配置类
  */
 @Configuration
+@EnableConfigurationProperties({ConcurrencyLimitProperties.class, AccessLogProperties.class})
 public class WebMvcConfig implements WebMvcConfigurer {
     
+    private final ThreadPoolTaskExecutor reportingExecutor;
+    
+    public WebMvcConfig(@Qualifier(ReportingExecutorConfig.REPORTING_EXECUTOR) ThreadPoolTaskExecutor reportingExecutor) {
+        this.reportingExecutor = reportingExecutor;
+    }
+    
+    /**
+     * 异步请求（流式导出、报表查询）在报表线程池中执行
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(reportingExecutor);
+    }
+    
     /**
      * 配置跨域资源共享
      */
@@ -185,6 +185,21 @@ public final class SystemConstants {
          */
         public static final String HEADER_STRING = "Authorization";
         
+        /**
+         * JWT声明：用户ID
+         */
+        public static final String CLAIM_USER_ID = "uid";
+        
+        /**
+         * JWT声明：用户角色
+         */
+        public static final String CLAIM_ROLE = "role";
+        
+        /**
+         * JWT声明：账户是否启用
+         */
+        public static final String CLAIM_ENABLED = "enabled";
+        
         /**
          * 私有构造函数，防止实例化
          */
@@ -356,6 +371,38 @@ public final class SystemConstants {
         }
     }
     
+    /**
+     * Hibernate二级缓存区域
+     */
+    public static final class CacheRegion {
+        /**
+         * 用户实体
+         */
+        public static final String USERS = "users";
+        
+        /**
+         * 课程/签到任务实体
+         */
+        public static final String COURSES = "courses";
+        
+        /**
+         * 课程成员关系实体
+         */
+        public static final String COURSE_USERS = "course-users";
+        
+        /**
+         * 查询缓存结果
+         */
+        public static final String QUERY_RESULTS = "default-query-results-region";
+        
+        /**
+         * 查询缓存的表更新时间戳（不能过期）
+         */
+        public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+        
+        private CacheRegion() {}
+    }
+    
     /**
      * 防止实例化
      */
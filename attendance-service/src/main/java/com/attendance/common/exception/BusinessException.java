@@ -38,4 +38,17 @@ public class BusinessException extends RuntimeException {
     public BusinessException(String message) {
         this(400, message);
     }
+
+    /**
+     * 创建业务异常，可选择不记录调用栈
+     *
+     * @param code    错误码
+     * @param message 错误消息
+     * @param writableStackTrace 是否记录调用栈
+     */
+    protected BusinessException(Integer code, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.code = code;
+        this.message = message;
+    }
 } 
\ No newline at end of file
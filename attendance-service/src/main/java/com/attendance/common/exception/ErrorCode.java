@@ -0,0 +1,72 @@
+package com.attendance.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 预期内的业务拒绝错误码
+ * 签到高峰期的失败大多属于此类（重复签到、已截止、二维码过期、非课程成员），
+ * 响应码和提示与原 BusinessException 保持一致，客户端无需改动。
+ * 使用默认提示时抛出缓存的无调用栈异常，响应体在启动时预先序列化，见 {@link RejectionResponses}
+ */
+@Getter
+public enum ErrorCode {
+
+    CHECKIN_TASK_NOT_FOUND(400, "签到任务不存在：请检查签到任务ID是否正确"),
+    CHECKIN_NOT_A_TASK(400, "无效的签到操作：提供的ID不是签到任务，请确认您使用了正确的签到ID"),
+    CHECKIN_NOT_ACTIVATED(400, "签到尚未开始：该签到任务已创建但尚未激活，请等待教师开始签到"),
+    CHECKIN_CLOSED(400, "签到已结束：该签到任务已经关闭，无法继续签到"),
+    CHECKIN_CANCELED(400, "签到已取消：该签到任务已被教师取消"),
+    CHECKIN_NOT_STARTED(400, "签到未开始"),
+    CHECKIN_DEADLINE_PASSED(400, "签到已截止"),
+    CHECKIN_NOT_MEMBER(400, "签到失败：您不是该课程的成员，只有课程成员才能进行签到"),
+    CHECKIN_DUPLICATE(400, "重复签到：您已经完成了本次签到，无需重复操作"),
+    QR_CODE_INVALID(400, "二维码验证失败：扫描的二维码数据无效，请确认您扫描了正确的签到二维码"),
+    QR_CODE_EXPIRED(400, "二维码已过期：请使用最新的二维码进行签到"),
+    QR_CODE_MALFORMED(400, "二维码格式错误：无效的时间戳"),
+    LOCATION_MISSING(400, "位置签到失败：位置信息缺失，请允许应用获取您的位置信息后重试"),
+    LOCATION_NOT_CONFIGURED(400, "位置签到失败：教师未设置位置签到参数"),
+    LOCATION_PARAMS_INVALID(400, "位置签到失败：位置签到参数配置不正确"),
+    LOCATION_INVALID(400, "位置签到失败：无效的位置坐标，应为'纬度,经度'格式"),
+    LOCATION_OUT_OF_RANGE(400, "位置签到失败：您当前位置距离签到地点太远"),
+    WIFI_MISSING(400, "WIFI签到失败：未提供WIFI信息，请确保连接到指定WIFI并允许应用获取网络信息");
+
+    /**
+     * 响应中的错误码
+     */
+    private final int code;
+
+    /**
+     * 默认提示
+     */
+    private final String message;
+
+    /**
+     * 默认提示对应的异常，无调用栈且不可变，可在线程间共享
+     */
+    private final RejectionException rejection;
+
+    ErrorCode(int code, String message) {
+        this.code = code;
+        this.message = message;
+        this.rejection = new RejectionException(this, message);
+    }
+
+    /**
+     * 获取使用默认提示的拒绝异常（缓存实例）
+     *
+     * @return 拒绝异常
+     */
+    public RejectionException rejection() {
+        return rejection;
+    }
+
+    /**
+     * 创建带具体提示的拒绝异常，提示中含时间、距离等动态内容时使用
+     *
+     * @param message 提示
+     * @return 拒绝异常
+     */
+    public RejectionException rejection(String message) {
+        return new RejectionException(this, message);
+    }
+}
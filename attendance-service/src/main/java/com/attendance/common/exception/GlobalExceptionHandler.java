@@ -2,18 +2,28 @@ package com.attendance.common.exception;
 
 import com.attendance.common.model.ApiResponse;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,8 +32,24 @@ import java.util.Map;
  * 全局异常处理
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final RejectionResponses rejectionResponses;
+
+    /**
+     * 处理预期内的业务拒绝，使用默认提示时直接写出预先序列化的响应体
+     */
+    @ExceptionHandler(RejectionException.class)
+    public ResponseEntity<Object> handleRejectionException(RejectionException e) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .contentType(MediaType.APPLICATION_JSON);
+        if (e.hasDefaultMessage()) {
+            return response.body(rejectionResponses.get(e.getErrorCode()));
+        }
+        return response.body(ApiResponse.error(e.getCode(), e.getMessage()));
+    }
+
     /**
      * 处理业务异常
      */
@@ -33,6 +59,16 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(e.getCode(), e.getMessage());
     }
 
+    /**
+     * 处理服务过载异常
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<Void> handleServiceOverloadedException(ServiceOverloadedException e, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        return ApiResponse.error(e.getCode(), e.getMessage());
+    }
+
     /**
      * 处理实体不存在异常
      */
@@ -117,6 +153,27 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(409, "数据操作冲突：可能存在重复数据或违反了数据关联规则，请检查您的输入");
     }
 
+    /**
+     * 处理报表请求和查询超时异常
+     */
+    @ExceptionHandler({AsyncRequestTimeoutException.class, QueryTimeoutException.class, TransactionTimedOutException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<Void> handleTimeoutException(Exception e, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+        return ApiResponse.error(503, "查询超时：数据量较大或系统繁忙，请稍后重试");
+    }
+
+    /**
+     * 处理获取数据库连接失败（连接池等待超时）
+     * 并发限制之外的突发流量会在连接池上排队，超时后按过载处理，提示客户端稍后重试
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<Void> handleConnectionUnavailableException(Exception e, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return ApiResponse.error(503, "系统繁忙：请稍后重试");
+    }
+
     /**
      * 默认异常处理
      */
@@ -0,0 +1,28 @@
+package com.attendance.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 预期内的业务拒绝
+ * 属于正常业务结果而非程序错误，不记录调用栈；通过 {@link ErrorCode#rejection()} 获取
+ */
+@Getter
+public class RejectionException extends BusinessException {
+
+    /**
+     * 错误码类型
+     */
+    private final ErrorCode errorCode;
+
+    RejectionException(ErrorCode errorCode, String message) {
+        super(errorCode.getCode(), message, false);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * 是否使用默认提示，此时可直接使用预先序列化的响应体
+     */
+    public boolean hasDefaultMessage() {
+        return errorCode.getMessage().equals(getMessage());
+    }
+}
@@ -0,0 +1,37 @@
+package com.attendance.common.exception;
+
+import com.attendance.common.model.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 预先序列化的拒绝响应体
+ * 启动时用应用的 ObjectMapper 将每个错误码的默认响应序列化一次，与消息转换器的输出逐字节一致，
+ * 处理拒绝时直接写出字节，不再经过 ApiResponse 构建和JSON序列化
+ */
+@Component
+public class RejectionResponses {
+
+    private final Map<ErrorCode, byte[]> bodies = new EnumMap<>(ErrorCode.class);
+
+    public RejectionResponses(ObjectMapper objectMapper) throws JsonProcessingException {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            bodies.put(errorCode, objectMapper.writeValueAsBytes(
+                ApiResponse.error(errorCode.getCode(), errorCode.getMessage())));
+        }
+    }
+
+    /**
+     * 获取错误码默认响应的JSON字节，调用方不得修改返回的数组
+     *
+     * @param errorCode 错误码
+     * @return JSON字节
+     */
+    public byte[] get(ErrorCode errorCode) {
+        return bodies.get(errorCode);
+    }
+}
@@ -0,0 +1,27 @@
+package com.attendance.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 服务过载异常
+ * 受限资源（如密码哈希线程池）已满时抛出，响应503并提示客户端稍后重试
+ */
+@Getter
+public class ServiceOverloadedException extends BusinessException {
+
+    /**
+     * 建议客户端重试的等待秒数
+     */
+    private final int retryAfterSeconds;
+
+    /**
+     * 创建服务过载异常
+     *
+     * @param message 错误消息
+     * @param retryAfterSeconds 建议重试等待秒数
+     */
+    public ServiceOverloadedException(String message, int retryAfterSeconds) {
+        super(503, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.attendance.common.jfr;
+
+import jdk.jfr.Event;
+
+/**
+ * 应用JFR事件基类
+ * 没有开启包含这些事件的录制时，isEnabled() 为false，调用方据此跳过字段赋值
+ */
+public abstract class AttendanceEvent extends Event {
+
+    /**
+     * 结束计时并在满足录制阈值时提交
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
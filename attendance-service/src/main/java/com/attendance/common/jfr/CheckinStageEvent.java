@@ -0,0 +1,56 @@
+package com.attendance.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * 签到流程阶段事件
+ * 阶段耗时由 CheckinMetrics 按 System.nanoTime 计算后写入，事件在阶段结束时提交；
+ * 签到是热点路径，未录制时不创建事件对象
+ */
+@Name("com.attendance.CheckinStage")
+@Label("Check-in Stage")
+@Category({"Attendance", "Check-in"})
+@Description("签到流程单个阶段的耗时")
+public class CheckinStageEvent extends AttendanceEvent {
+
+    private static final EventType TYPE = EventType.getEventType(CheckinStageEvent.class);
+
+    @Label("Check-in Task ID")
+    public String checkinId;
+
+    @Label("Course ID")
+    public String courseId;
+
+    @Label("Verify Method")
+    public String verifyMethod;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Stage Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long stageDuration;
+
+    /**
+     * 提交一个已完成阶段的事件，未开启录制时直接返回
+     */
+    public static void emit(String checkinId, String courseId, String verifyMethod, String stage, long stageDuration) {
+        if (!TYPE.isEnabled()) {
+            return;
+        }
+        CheckinStageEvent event = new CheckinStageEvent();
+        if (event.shouldCommit()) {
+            event.checkinId = checkinId;
+            event.courseId = courseId;
+            event.verifyMethod = verifyMethod;
+            event.stage = stage;
+            event.stageDuration = stageDuration;
+            event.commit();
+        }
+    }
+}
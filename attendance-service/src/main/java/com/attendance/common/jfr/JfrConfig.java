@@ -0,0 +1,13 @@
+package com.attendance.common.jfr;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JFR配置
+ * 应用事件（签到阶段、定时任务、统计计算、二维码生成）默认不录制，由管理员按需开启录制
+ */
+@Configuration
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrConfig {
+}
@@ -0,0 +1,42 @@
+package com.attendance.common.jfr;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 按需JFR录制配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.jfr")
+public class JfrProperties {
+
+    /**
+     * 未指定时长时的默认录制时长，到期自动停止
+     */
+    private Duration defaultDuration = Duration.ofMinutes(2);
+
+    /**
+     * 单次录制允许的最长时长
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * 录制数据的磁盘上限，超出后丢弃最早的数据
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    /**
+     * 默认的JDK内置配置：default（开销约1%）或 profile（开销约2%，包含方法采样和分配采样）
+     */
+    private String settings = "profile";
+
+    /**
+     * 录制文件目录，只保留最近一次录制
+     */
+    private Path directory = Paths.get("./jfr");
+}
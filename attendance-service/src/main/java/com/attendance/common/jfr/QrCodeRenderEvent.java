@@ -0,0 +1,44 @@
+package com.attendance.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 二维码生成事件，事件持续时间包含编码和PNG输出
+ */
+@Name("com.attendance.QrCodeRender")
+@Label("QR Code Render")
+@Category({"Attendance", "QR Code"})
+@Description("课程邀请和签到二维码图片生成")
+public class QrCodeRenderEvent extends AttendanceEvent {
+
+    /** 课程邀请二维码 */
+    public static final String COURSE_INVITE = "COURSE_INVITE";
+
+    /** 签到二维码 */
+    public static final String CHECKIN = "CHECKIN";
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Course ID")
+    @Description("课程ID或签到任务ID")
+    public String courseId;
+
+    @Label("Image Size")
+    @DataAmount
+    public long imageBytes;
+
+    public static QrCodeRenderEvent start(String kind, String courseId) {
+        QrCodeRenderEvent event = new QrCodeRenderEvent();
+        if (event.isEnabled()) {
+            event.kind = kind;
+            event.courseId = courseId;
+            event.begin();
+        }
+        return event;
+    }
+}
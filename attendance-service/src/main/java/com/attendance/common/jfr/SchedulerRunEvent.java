@@ -0,0 +1,52 @@
+package com.attendance.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.List;
+
+/**
+ * 定时任务执行事件，事件持续时间即本次执行耗时
+ */
+@Name("com.attendance.SchedulerRun")
+@Label("Scheduler Run")
+@Category({"Attendance", "Scheduler"})
+@Description("定时任务单次执行")
+public class SchedulerRunEvent extends AttendanceEvent {
+
+    /**
+     * 记录的任务ID上限，避免一次处理大量任务时事件过大
+     */
+    public static final int MAX_TASK_IDS = 20;
+
+    @Label("Job")
+    public String job;
+
+    @Label("Processed")
+    @Description("本次处理的记录数")
+    public int processed;
+
+    @Label("Task IDs")
+    @Description("本次处理的签到任务ID（逗号分隔，最多20个）")
+    public String taskIds;
+
+    /**
+     * 设置处理的签到任务ID，超过上限的部分截断
+     */
+    public void setTaskIds(List<String> ids) {
+        if (isEnabled() && !ids.isEmpty()) {
+            taskIds = String.join(",", ids.size() > MAX_TASK_IDS ? ids.subList(0, MAX_TASK_IDS) : ids);
+        }
+    }
+
+    public static SchedulerRunEvent start(String job) {
+        SchedulerRunEvent event = new SchedulerRunEvent();
+        if (event.isEnabled()) {
+            event.job = job;
+            event.begin();
+        }
+        return event;
+    }
+}
@@ -0,0 +1,39 @@
+package com.attendance.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 统计计算事件，事件持续时间即统计耗时
+ */
+@Name("com.attendance.Statistics")
+@Label("Statistics Computation")
+@Category({"Attendance", "Reporting"})
+@Description("考勤统计和报表计算")
+public class StatisticsEvent extends AttendanceEvent {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Course ID")
+    public String courseId;
+
+    @Label("Check-in Task ID")
+    public String checkinId;
+
+    @Label("Success")
+    public boolean success;
+
+    public static StatisticsEvent start(String operation, String courseId, String checkinId) {
+        StatisticsEvent event = new StatisticsEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.courseId = courseId;
+            event.checkinId = checkinId;
+            event.begin();
+        }
+        return event;
+    }
+}
@@ -0,0 +1,80 @@
+package com.attendance.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 日志管道指标
+ * 在日志配置（logback-file-only.xml / logback-spring.xml）加载完成后，绑定其中的异步追加器和采样过滤器：
+ * attendance.logging.async.queue（队列中待写出的事件数）、
+ * attendance.logging.async.discarded（丢弃事件数，reason=threshold|overflow）、
+ * attendance.logging.sampled_out（被采样丢弃的事件数）
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        for (MeteredAsyncAppender appender : findAsyncAppenders(context).values()) {
+            Gauge.builder("attendance.logging.async.queue", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                .description("异步日志队列中待写出的事件数")
+                .tag("appender", appender.getName())
+                .register(registry);
+            FunctionCounter.builder("attendance.logging.async.discarded", appender,
+                    MeteredAsyncAppender::getDiscardedBelowThreshold)
+                .description("异步日志队列丢弃的事件数")
+                .tag("appender", appender.getName())
+                .tag("reason", "threshold")
+                .register(registry);
+            FunctionCounter.builder("attendance.logging.async.discarded", appender,
+                    MeteredAsyncAppender::getDiscardedOverflow)
+                .description("异步日志队列丢弃的事件数")
+                .tag("appender", appender.getName())
+                .tag("reason", "overflow")
+                .register(registry);
+        }
+
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof RateSamplingTurboFilter sampling && sampling.isStarted()) {
+                FunctionCounter.builder("attendance.logging.sampled_out", sampling,
+                        RateSamplingTurboFilter::getSuppressed)
+                    .description("按日志器限速采样丢弃的事件数")
+                    .tag("logger", sampling.getLoggerName())
+                    .register(registry);
+            }
+        }
+    }
+
+    /**
+     * 收集各日志器上挂载的异步追加器，同一追加器可能被多个日志器引用
+     */
+    private Map<String, MeteredAsyncAppender> findAsyncAppenders(LoggerContext context) {
+        Map<String, MeteredAsyncAppender> appenders = new LinkedHashMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof MeteredAsyncAppender appender) {
+                    appenders.putIfAbsent(appender.getName(), appender);
+                }
+            }
+        }
+        return appenders;
+    }
+}
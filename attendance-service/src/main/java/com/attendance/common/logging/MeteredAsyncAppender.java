@@ -0,0 +1,53 @@
+package com.attendance.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计丢弃事件数的异步日志追加器
+ * 队列有界：剩余容量低于 discardingThreshold 时丢弃INFO及以下级别的事件（reason=threshold），
+ * neverBlock=true 时队列满直接丢弃，WARN/ERROR也不例外（reason=overflow）；业务线程不会因写日志阻塞。
+ * 队列满的判断与入队之间没有加锁，overflow计数在并发下是近似值。
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discardedBelowThreshold = new LongAdder();
+    private final LongAdder discardedOverflow = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // 队列已满时，未被丢弃阈值规则丢弃的事件都会被 offer 丢弃：
+        // 阈值为0时阈值规则不生效，所有级别都计入overflow；否则只有不可按级别丢弃的事件计入
+        if (isNeverBlock() && getRemainingCapacity() == 0
+                && (getDiscardingThreshold() == 0 || !super.isDiscardable(event))) {
+            discardedOverflow.increment();
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // 仅在队列剩余容量低于阈值时调用
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discardedBelowThreshold.increment();
+        }
+        return discardable;
+    }
+
+    /**
+     * 队列剩余容量低于阈值时丢弃的低级别事件数
+     */
+    public long getDiscardedBelowThreshold() {
+        return discardedBelowThreshold.sum();
+    }
+
+    /**
+     * 队列已满时丢弃的事件数
+     */
+    public long getDiscardedOverflow() {
+        return discardedOverflow.sum();
+    }
+}
@@ -0,0 +1,109 @@
+package com.attendance.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按日志器限速采样
+ * 对 loggerName 及其子日志器中不高于 maxLevel 的事件，每秒最多放行 ratePerSecond 条，超出部分在创建日志事件前丢弃；
+ * 高于 maxLevel 的事件（默认WARN、ERROR）始终保留。低频日志不受影响，只有突发流量下的请求日志会被削减。
+ * 每个采样规则配置一个过滤器实例：
+ * <pre>
+ * &lt;turboFilter class="com.attendance.common.logging.RateSamplingTurboFilter"&gt;
+ *     &lt;loggerName&gt;com.attendance.common.config.security.JwtAuthenticationFilter&lt;/loggerName&gt;
+ *     &lt;ratePerSecond&gt;10&lt;/ratePerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class RateSamplingTurboFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private String loggerName;
+    private int ratePerSecond = 100;
+    private Level maxLevel = Level.INFO;
+
+    private String childPrefix;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger passedInWindow = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    @Override
+    public void start() {
+        if (loggerName == null || loggerName.isEmpty()) {
+            addError("未配置 loggerName，采样过滤器 " + getName() + " 未启动");
+            return;
+        }
+        if (ratePerSecond < 0) {
+            addError("ratePerSecond 不能为负数: " + ratePerSecond);
+            return;
+        }
+        childPrefix = loggerName + ".";
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format为null时是 isXxxEnabled() 检查，不占用配额
+        if (!isStarted() || format == null || level.levelInt > maxLevel.levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        if (!name.equals(loggerName) && !name.startsWith(childPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        // 级别未开启的事件稍后会被日志器本身过滤，不占用配额
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            passedInWindow.set(0);
+        }
+        if (passedInWindow.incrementAndGet() <= ratePerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * 被采样丢弃的事件数
+     */
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(int ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public String getMaxLevel() {
+        return maxLevel.toString();
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+}
@@ -17,6 +17,16 @@ import java.io.Serializable;
 public class ApiResponse<T> implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 成功状态码
+     */
+    public static final int SUCCESS_CODE = 200;
+
+    /**
+     * 成功默认消息
+     */
+    public static final String SUCCESS_MESSAGE = "操作成功";
+
     /**
      * 状态码
      */
@@ -37,8 +47,8 @@ public class ApiResponse<T> implements Serializable {
      */
     public static <T> ApiResponse<T> success() {
         return ApiResponse.<T>builder()
-                .code(200)
-                .message("操作成功")
+                .code(SUCCESS_CODE)
+                .message(SUCCESS_MESSAGE)
                 .build();
     }
 
@@ -47,8 +57,8 @@ public class ApiResponse<T> implements Serializable {
      */
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
-                .code(200)
-                .message("操作成功")
+                .code(SUCCESS_CODE)
+                .message(SUCCESS_MESSAGE)
                 .data(data)
                 .build();
     }
@@ -58,7 +68,7 @@ public class ApiResponse<T> implements Serializable {
      */
     public static <T> ApiResponse<T> success(String message, T data) {
         return ApiResponse.<T>builder()
-                .code(200)
+                .code(SUCCESS_CODE)
                 .message(message)
                 .data(data)
                 .build();
@@ -0,0 +1,293 @@
+package com.attendance.common.util;
+
+import com.attendance.common.constants.SystemConstants;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 考勤矩阵（学生 × 签到任务）
+ * 每个单元格使用2位状态码存储，用户ID和签到任务ID采用字典编码，
+ * 可序列化为紧凑的二进制快照（可选Deflate压缩）
+ */
+public final class AttendanceMatrix {
+
+    /**
+     * 无签到记录
+     */
+    public static final int NONE = 0;
+
+    /**
+     * 正常签到
+     */
+    public static final int NORMAL = 1;
+
+    /**
+     * 迟到
+     */
+    public static final int LATE = 2;
+
+    /**
+     * 其他已记录状态（请假、缺席等）
+     */
+    public static final int OTHER = 3;
+
+    /**
+     * 二进制格式版本
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x414D; // "AM"
+    private static final int FLAG_DEFLATED = 1;
+
+    private final String[] userIds;
+    private final String[] taskIds;
+    private final Map<String, Integer> userIndex;
+    private final Map<String, Integer> taskIndex;
+    private final byte[] cells;
+    private final int memberCount;
+
+    private AttendanceMatrix(String[] userIds, String[] taskIds, byte[] cells, int memberCount) {
+        this.userIds = userIds;
+        this.taskIds = taskIds;
+        this.cells = cells;
+        this.memberCount = memberCount;
+        this.userIndex = indexOf(userIds);
+        this.taskIndex = indexOf(taskIds);
+    }
+
+    /**
+     * 创建空矩阵
+     *
+     * @param userIds 用户ID字典（行）
+     * @param taskIds 签到任务ID字典（列）
+     * @param memberCount 课程活跃成员数
+     * @return 所有单元格为NONE的矩阵
+     */
+    public static AttendanceMatrix create(Collection<String> userIds, Collection<String> taskIds, int memberCount) {
+        String[] users = userIds.toArray(new String[0]);
+        String[] tasks = taskIds.toArray(new String[0]);
+        return new AttendanceMatrix(users, tasks, new byte[packedLength(users.length, tasks.length)], memberCount);
+    }
+
+    /**
+     * 将签到记录状态转换为2位状态码
+     *
+     * @param status 签到记录状态
+     * @return 状态码
+     */
+    public static int toCode(String status) {
+        if (SystemConstants.RecordStatus.NORMAL.equals(status)) {
+            return NORMAL;
+        }
+        if (SystemConstants.RecordStatus.LATE.equals(status)) {
+            return LATE;
+        }
+        return status == null ? NONE : OTHER;
+    }
+
+    public int getUserCount() {
+        return userIds.length;
+    }
+
+    public int getTaskCount() {
+        return taskIds.length;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public String getUserId(int row) {
+        return userIds[row];
+    }
+
+    public String getTaskId(int column) {
+        return taskIds[column];
+    }
+
+    /**
+     * 获取用户所在行，不存在时返回-1
+     */
+    public int rowOf(String userId) {
+        Integer row = userIndex.get(userId);
+        return row == null ? -1 : row;
+    }
+
+    /**
+     * 获取签到任务所在列，不存在时返回-1
+     */
+    public int columnOf(String taskId) {
+        Integer column = taskIndex.get(taskId);
+        return column == null ? -1 : column;
+    }
+
+    /**
+     * 读取单元格状态码
+     */
+    public int get(int row, int column) {
+        int cell = row * taskIds.length + column;
+        return (cells[cell >>> 2] >>> ((cell & 3) << 1)) & 3;
+    }
+
+    /**
+     * 写入单元格状态码
+     */
+    public void set(int row, int column, int code) {
+        int cell = row * taskIds.length + column;
+        int shift = (cell & 3) << 1;
+        cells[cell >>> 2] = (byte) ((cells[cell >>> 2] & ~(3 << shift)) | ((code & 3) << shift));
+    }
+
+    /**
+     * 按用户ID和任务ID写入状态，未知的ID将被忽略
+     *
+     * @return 是否写入成功
+     */
+    public boolean set(String userId, String taskId, int code) {
+        int row = rowOf(userId);
+        int column = columnOf(taskId);
+        if (row < 0 || column < 0) {
+            return false;
+        }
+        set(row, column, code);
+        return true;
+    }
+
+    /**
+     * 统计某一列（签到任务）中指定状态码的数量
+     */
+    public int countInColumn(int column, int code) {
+        int count = 0;
+        for (int row = 0; row < userIds.length; row++) {
+            if (get(row, column) == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 统计某一行（用户）中指定状态码的数量
+     */
+    public int countInRow(int row, int code) {
+        int count = 0;
+        for (int column = 0; column < taskIds.length; column++) {
+            if (get(row, column) == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 序列化为二进制快照
+     *
+     * @param compress 是否使用Deflate压缩
+     * @return 二进制数据
+     */
+    public byte[] encode(boolean compress) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(cells.length + 64 * (userIds.length + taskIds.length));
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_COMPRESSION) : null;
+        try {
+            DataOutputStream header = new DataOutputStream(buffer);
+            header.writeShort(MAGIC);
+            header.writeByte(VERSION);
+            header.writeByte(compress ? FLAG_DEFLATED : 0);
+            header.flush();
+
+            OutputStream target = compress ? new DeflaterOutputStream(buffer, deflater) : buffer;
+            DataOutputStream out = new DataOutputStream(target);
+            out.writeInt(memberCount);
+            writeDictionary(out, userIds);
+            writeDictionary(out, taskIds);
+            out.write(cells);
+            out.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("考勤矩阵序列化失败", e);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 从二进制快照还原矩阵
+     *
+     * @param data 二进制数据
+     * @return 考勤矩阵
+     */
+    public static AttendanceMatrix decode(byte[] data) {
+        try {
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(data));
+            if (header.readUnsignedShort() != MAGIC) {
+                throw new IllegalArgumentException("无效的考勤快照数据");
+            }
+            int version = header.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("不支持的考勤快照版本: " + version);
+            }
+            boolean deflated = (header.readUnsignedByte() & FLAG_DEFLATED) != 0;
+
+            InputStream source = deflated ? new InflaterInputStream(header) : header;
+            try (DataInputStream in = new DataInputStream(source)) {
+                int memberCount = in.readInt();
+                String[] users = readDictionary(in);
+                String[] tasks = readDictionary(in);
+                byte[] cells = new byte[packedLength(users.length, tasks.length)];
+                in.readFully(cells);
+                return new AttendanceMatrix(users, tasks, cells, memberCount);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("考勤矩阵反序列化失败", e);
+        }
+    }
+
+    /**
+     * 获取签到任务ID字典（按列顺序）
+     */
+    public List<String> getTaskIds() {
+        return List.of(taskIds);
+    }
+
+    private static int packedLength(int users, int tasks) {
+        return (int) (((long) users * tasks + 3) / 4);
+    }
+
+    private static Map<String, Integer> indexOf(String[] ids) {
+        Map<String, Integer> index = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            index.put(ids[i], i);
+        }
+        return index;
+    }
+
+    private static void writeDictionary(DataOutputStream out, String[] ids) throws IOException {
+        out.writeInt(ids.length);
+        for (String id : ids) {
+            out.writeUTF(id);
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        String[] ids = new String[in.readInt()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = in.readUTF();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package com.attendance.common.util;
+
+import com.attendance.common.config.security.SecurityUserDetails;
+import com.attendance.common.exception.BusinessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * 安全上下文工具类
+ * 从当前请求的认证信息中读取用户ID、用户名和角色，这些信息已由JWT过滤器建立，无需再查询数据库
+ */
+public class SecurityUtil {
+
+    private SecurityUtil() {
+    }
+
+    /**
+     * 获取当前登录用户
+     *
+     * @return 当前用户详情
+     * @throws BusinessException 未登录或认证信息无效
+     */
+    public static SecurityUserDetails getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof SecurityUserDetails userDetails)) {
+            throw new BusinessException(401, "用户验证失败：无法获取当前用户信息，请重新登录");
+        }
+        return userDetails;
+    }
+
+    /**
+     * 获取当前登录用户ID
+     *
+     * @return 用户ID
+     */
+    public static String getCurrentUserId() {
+        return getCurrentUser().getId();
+    }
+
+    /**
+     * 获取当前登录用户名
+     *
+     * @return 用户名
+     */
+    public static String getCurrentUsername() {
+        return getCurrentUser().getUsername();
+    }
+
+    /**
+     * 判断当前用户是否具有指定的系统角色
+     *
+     * @param role 角色名称（不含ROLE_前缀）
+     * @return 是否具有该角色
+     */
+    public static boolean hasRole(String role) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        String authority = "ROLE_" + role;
+        return authentication.getAuthorities().stream()
+            .anyMatch(a -> authority.equals(a.getAuthority()));
+    }
+}
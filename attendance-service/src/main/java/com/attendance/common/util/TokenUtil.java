@@ -0,0 +1,46 @@
+package com.attendance.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * 令牌工具类
+ */
+public class TokenUtil {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private TokenUtil() {
+    }
+
+    /**
+     * 生成URL安全的随机令牌
+     *
+     * @param byteLength 随机字节数
+     * @return Base64URL编码（无填充）的令牌
+     */
+    public static String randomToken(int byteLength) {
+        byte[] bytes = new byte[byteLength];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 计算SHA-256摘要，用于存储或缓存令牌而不保留原文
+     *
+     * @param token 令牌原文
+     * @return 十六进制摘要（64个字符）
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.attendance.controller.admin;
+
+import com.attendance.common.model.ApiResponse;
+import com.attendance.model.dto.admin.CacheRegionStatsDTO;
+import com.attendance.service.admin.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 缓存管理控制器（仅管理员）
+ */
+@RestController
+@RequestMapping("/admin/cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheAdminController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * 获取各二级缓存区域的命中统计
+     *
+     * @return 区域统计列表
+     */
+    @GetMapping("/stats")
+    public ApiResponse<List<CacheRegionStatsDTO>> getStats() {
+        return ApiResponse.success(cacheStatisticsService.getRegionStatistics());
+    }
+}
@@ -0,0 +1,81 @@
+package com.attendance.controller.admin;
+
+import com.attendance.common.model.ApiResponse;
+import com.attendance.model.dto.admin.JfrRecordingDTO;
+import com.attendance.service.admin.JfrRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+
+/**
+ * JFR录制控制器（仅管理员）
+ * 在生产节点上按需录制一段时间，下载后用 JDK Mission Control 或 jfr 命令分析
+ */
+@RestController
+@RequestMapping("/admin/jfr")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class JfrAdminController {
+
+    private final JfrRecordingService jfrRecordingService;
+
+    /**
+     * 获取最近一次录制的状态
+     *
+     * @return 录制状态，从未录制时data为null
+     */
+    @GetMapping
+    public ApiResponse<JfrRecordingDTO> getStatus() {
+        return ApiResponse.success(jfrRecordingService.getStatus());
+    }
+
+    /**
+     * 开始录制，到期自动停止
+     *
+     * @param duration 录制时长（秒），默认见 app.jfr.default-duration
+     * @param settings JDK内置配置：default 或 profile
+     * @return 录制状态
+     */
+    @PostMapping("/start")
+    public ApiResponse<JfrRecordingDTO> start(@RequestParam(required = false) Long duration,
+                                              @RequestParam(required = false) String settings) {
+        return ApiResponse.success("录制已开始", jfrRecordingService.start(duration, settings));
+    }
+
+    /**
+     * 提前停止当前录制
+     *
+     * @return 录制状态
+     */
+    @PostMapping("/stop")
+    public ApiResponse<JfrRecordingDTO> stop() {
+        return ApiResponse.success("录制已停止", jfrRecordingService.stop());
+    }
+
+    /**
+     * 下载已停止的录制文件
+     *
+     * @return JFR录制文件
+     */
+    @GetMapping("/download")
+    public ResponseEntity<Resource> download() {
+        Path file = jfrRecordingService.getRecordingFile();
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .body(new FileSystemResource(file));
+    }
+}
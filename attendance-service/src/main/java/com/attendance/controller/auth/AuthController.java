@@ -1,8 +1,10 @@
 package com.attendance.controller.auth;
 
+import com.attendance.common.constants.SystemConstants;
 import com.attendance.common.model.ApiResponse;
 import com.attendance.model.dto.auth.LoginRequest;
 import com.attendance.model.dto.auth.LoginResponse;
+import com.attendance.model.dto.auth.RefreshTokenRequest;
 import com.attendance.model.dto.auth.RegisterRequest;
 import com.attendance.model.dto.user.UserDTO;
 import com.attendance.service.auth.AuthService;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -38,6 +41,37 @@ public class AuthController {
         return ApiResponse.success(response);
     }
     
+    /**
+     * 刷新访问令牌
+     * 
+     * @param request 刷新令牌请求
+     * @return 新的访问令牌和刷新令牌
+     */
+    @PostMapping("/refresh")
+    public ApiResponse<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        LoginResponse response = authService.refresh(request.getRefreshToken());
+        return ApiResponse.success(response);
+    }
+    
+    /**
+     * 用户登出
+     * 撤销请求头中的访问令牌，以及请求体中的刷新令牌（可选）
+     * 
+     * @param authorization 认证请求头
+     * @param request 刷新令牌请求（可选）
+     * @return 操作结果
+     */
+    @PostMapping("/logout")
+    public ApiResponse<Void> logout(
+            @RequestHeader(value = SystemConstants.Security.HEADER_STRING, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith(SystemConstants.Security.TOKEN_PREFIX)
+                ? authorization.substring(SystemConstants.Security.TOKEN_PREFIX.length())
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ApiResponse.success();
+    }
+    
     /**
      * 用户注册
      * 
@@ -1,36 +1,57 @@
 package com.attendance.controller.course;
 
+import com.attendance.common.config.concurrency.ReportingExecutorConfig;
+import com.attendance.common.config.concurrency.ReportingProperties;
+import com.attendance.common.config.security.SecurityUserDetails;
 import com.attendance.common.constants.SystemConstants;
 import com.attendance.common.exception.BusinessException;
+import com.attendance.common.jfr.QrCodeRenderEvent;
 import com.attendance.common.model.ApiResponse;
 import com.attendance.common.model.PageRequestDTO;
+import com.attendance.common.util.DateTimeUtil;
+import com.attendance.common.util.SecurityUtil;
+import com.attendance.model.dto.course.AttendanceMatrixDTO;
 import com.attendance.model.dto.course.CourseDTO;
 import com.attendance.model.dto.course.CourseUserDTO;
 import com.attendance.model.dto.course.CreateCourseRequest;
 import com.attendance.model.dto.course.CreateAttendanceRequest;
 import com.attendance.model.dto.course.CourseRecordDTO;
+import com.attendance.service.course.AttendanceExportService;
 import com.attendance.service.course.CourseService;
 import com.attendance.service.user.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 课程控制器
@@ -43,6 +64,9 @@ public class CourseController {
 
     private final CourseService courseService;
     private final UserService userService;
+    private final AttendanceExportService attendanceExportService;
+    private final ObjectMapper objectMapper;
+    private final ReportingProperties reportingProperties;
     
     /**
      * 创建课程
@@ -138,11 +162,191 @@ public class CourseController {
      * @return 课程签到统计信息
      */
     @GetMapping("/attendance/detail")
-    public ApiResponse<Map<String, Object>> getCourseAttendanceDetail(
+    public WebAsyncTask<ApiResponse<Map<String, Object>>> getCourseAttendanceDetail(
             @RequestParam String courseId) {
         log.info("获取课程签到统计: courseId={}", courseId);
-        Map<String, Object> response = courseService.getCourseAttendanceDetail(courseId);
-        return ApiResponse.success(response);
+        return reportingTask(() -> ApiResponse.success(courseService.getCourseAttendanceDetail(courseId)));
+    }
+    
+    /**
+     * 获取课程考勤矩阵（所有学生 × 所有签到任务），包含每个学生和每次签到的出勤率
+     * 结果使用流式JSON写出，避免为大矩阵构建中间对象
+     * 
+     * @param courseId 课程ID
+     * @param response HTTP响应
+     * @throws IOException 写出响应失败
+     */
+    @GetMapping(value = "/attendance/matrix", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("@courseSecurityService.isCourseCreator(#courseId) or hasRole('ADMIN')")
+    public void getAttendanceMatrix(@RequestParam String courseId, HttpServletResponse response) throws IOException {
+        log.info("获取课程考勤矩阵: courseId={}", courseId);
+        AttendanceMatrixDTO matrix = courseService.getAttendanceMatrix(courseId);
+        
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeNumberField("code", ApiResponse.SUCCESS_CODE);
+            generator.writeStringField("message", ApiResponse.SUCCESS_MESSAGE);
+            generator.writeFieldName("data");
+            writeAttendanceMatrix(generator, matrix);
+            generator.writeEndObject();
+        }
+    }
+    
+    /**
+     * 写出考勤矩阵JSON
+     * 出勤率 = (正常 + 迟到) / 总数 × 100，保留两位小数
+     */
+    private void writeAttendanceMatrix(JsonGenerator generator, AttendanceMatrixDTO matrix) throws IOException {
+        int studentCount = matrix.getStudentCount();
+        int checkinCount = matrix.getCheckinCount();
+        
+        generator.writeStartObject();
+        generator.writeStringField("courseId", matrix.getCourseId());
+        generator.writeStringField("courseName", matrix.getCourseName());
+        generator.writeNumberField("totalStudents", studentCount);
+        generator.writeNumberField("totalCheckins", checkinCount);
+        
+        generator.writeObjectFieldStart("statusCodes");
+        generator.writeStringField("0", SystemConstants.RecordStatus.ABSENT);
+        generator.writeStringField("1", SystemConstants.RecordStatus.NORMAL);
+        generator.writeStringField("2", SystemConstants.RecordStatus.LATE);
+        generator.writeStringField("3", "OTHER");
+        generator.writeEndObject();
+        
+        generator.writeArrayFieldStart("checkins");
+        for (int column = 0; column < checkinCount; column++) {
+            int normalCount = matrix.getCheckinNormalCounts()[column];
+            int lateCount = matrix.getCheckinLateCounts()[column];
+            generator.writeStartObject();
+            generator.writeStringField("checkinId", matrix.getCheckinIds()[column]);
+            generator.writeStringField("title", matrix.getCheckinNames()[column]);
+            generator.writeStringField("startTime", DateTimeUtil.formatDateTime(matrix.getCheckinStartTimes()[column]));
+            generator.writeNumberField("normalCount", normalCount);
+            generator.writeNumberField("lateCount", lateCount);
+            generator.writeNumberField("absentCount", Math.max(0, studentCount - normalCount - lateCount));
+            generator.writeNumberField("attendanceRate", rate(normalCount + lateCount, studentCount));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        
+        generator.writeArrayFieldStart("students");
+        for (int row = 0; row < studentCount; row++) {
+            int normalCount = matrix.getStudentNormalCounts()[row];
+            int lateCount = matrix.getStudentLateCounts()[row];
+            generator.writeStartObject();
+            generator.writeStringField("userId", matrix.getUserIds()[row]);
+            generator.writeStringField("username", matrix.getUsernames()[row]);
+            generator.writeStringField("fullName", matrix.getFullNames()[row]);
+            generator.writeNumberField("normalCount", normalCount);
+            generator.writeNumberField("lateCount", lateCount);
+            generator.writeNumberField("absentCount", Math.max(0, checkinCount - normalCount - lateCount));
+            generator.writeNumberField("attendanceRate", rate(normalCount + lateCount, checkinCount));
+            generator.writeArrayFieldStart("statuses");
+            for (int column = 0; column < checkinCount; column++) {
+                generator.writeNumber(matrix.getStatus(row, column));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        
+        generator.writeEndObject();
+    }
+    
+    private static double rate(int attended, int total) {
+        return total > 0 ? Math.round((double) attended / total * 10000) / 100.0 : 0.0;
+    }
+    
+    /**
+     * 导出签到任务的考勤数据（CSV，逐行流式写出）
+     * 
+     * @param checkinId 签到任务ID
+     * @param gzip 是否gzip压缩
+     * @return CSV文件
+     */
+    @GetMapping("/attendance/export")
+    @PreAuthorize("@courseSecurityService.isCheckinCreator(#checkinId) or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCheckinAttendance(
+            @RequestParam String checkinId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("导出签到任务考勤数据: checkinId={}, gzip={}", checkinId, gzip);
+        CourseDTO checkinTask = courseService.getCourse(checkinId);
+        if (!SystemConstants.CourseType.CHECKIN.equals(checkinTask.getType())) {
+            throw new BusinessException("签到任务不存在");
+        }
+        return exportResponse("attendance-checkin-" + checkinId, gzip,
+            out -> attendanceExportService.exportCheckin(checkinId, out));
+    }
+    
+    /**
+     * 导出课程所有签到任务的考勤数据（CSV，逐行流式写出）
+     * 
+     * @param courseId 课程ID
+     * @param gzip 是否gzip压缩
+     * @return CSV文件
+     */
+    @GetMapping("/export")
+    @PreAuthorize("@courseSecurityService.isCourseCreator(#courseId) or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCourseAttendance(
+            @RequestParam String courseId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("导出课程考勤数据: courseId={}, gzip={}", courseId, gzip);
+        CourseDTO course = courseService.getCourse(courseId);
+        if (!SystemConstants.CourseType.COURSE.equals(course.getType())) {
+            throw new BusinessException("课程不存在");
+        }
+        return exportResponse("attendance-course-" + courseId, gzip,
+            out -> attendanceExportService.exportCourse(courseId, out));
+    }
+    
+    /**
+     * 导出教师所有课程的考勤数据（CSV，逐行流式写出）
+     * 教师只能导出自己的课程，管理员可以导出任意教师的课程
+     * 
+     * @param teacherId 教师ID（不传则为当前用户）
+     * @param gzip 是否gzip压缩
+     * @return CSV文件
+     */
+    @GetMapping("/export/teacher")
+    @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTeacherAttendance(
+            @RequestParam(required = false) String teacherId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
+        String targetTeacherId = teacherId == null || teacherId.isBlank() ? currentUser.getId() : teacherId;
+        if (!targetTeacherId.equals(currentUser.getId())
+                && !SystemConstants.UserRole.ADMIN.equals(currentUser.getRole())) {
+            throw new BusinessException("您无权导出其他教师的课程考勤数据");
+        }
+        
+        log.info("导出教师课程考勤数据: teacherId={}, gzip={}", targetTeacherId, gzip);
+        return exportResponse("attendance-teacher-" + targetTeacherId, gzip,
+            out -> attendanceExportService.exportTeacherCourses(targetTeacherId, out));
+    }
+    
+    /**
+     * 构建流式导出响应，按需在写出时进行gzip压缩
+     */
+    private ResponseEntity<StreamingResponseBody> exportResponse(String fileName, boolean gzip, StreamingResponseBody body) {
+        StreamingResponseBody stream = body;
+        MediaType contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        fileName = fileName + ".csv";
+        if (gzip) {
+            stream = out -> {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 16 * 1024);
+                body.writeTo(gzipOut);
+                gzipOut.finish();
+            };
+            contentType = new MediaType("application", "gzip");
+            fileName = fileName + ".gz";
+        }
+        
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .contentType(contentType)
+            .body(stream);
     }
     
     /**
@@ -233,6 +437,7 @@ public class CourseController {
     @GetMapping(value = "/qrcode", produces = "image/png")
     @PreAuthorize("@courseSecurityService.isCourseCreator(#courseId) or hasRole('ADMIN')")
     public byte[] generateCourseQRCode(@RequestParam String courseId) {
+        QrCodeRenderEvent event = QrCodeRenderEvent.start(QrCodeRenderEvent.COURSE_INVITE, courseId);
         try {
             CourseDTO course = courseService.getCourse(courseId);
             if (course == null || !SystemConstants.CourseType.COURSE.equals(course.getType())) {
@@ -252,11 +457,14 @@ public class CourseController {
             BitMatrix bitMatrix = qrCodeWriter.encode(inviteCode, BarcodeFormat.QR_CODE, 300, 300, hints);
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
+            event.imageBytes = outputStream.size();
             
             return outputStream.toByteArray();
         } catch (Exception e) {
             log.error("生成课程邀请二维码失败", e);
             throw new BusinessException("生成二维码失败: " + e.getMessage());
+        } finally {
+            event.finish();
         }
     }
     
@@ -270,6 +478,7 @@ public class CourseController {
     @PreAuthorize("@courseSecurityService.isCheckinCreator(#checkinId) or hasRole('ADMIN')")
     public byte[] generateCheckinQRCode(@RequestParam String checkinId) {
         log.info("生成签到二维码: 任务ID={}", checkinId);
+        QrCodeRenderEvent event = QrCodeRenderEvent.start(QrCodeRenderEvent.CHECKIN, checkinId);
         
         try {
             // 验证签到任务是否存在
@@ -295,11 +504,14 @@ public class CourseController {
             BitMatrix bitMatrix = qrCodeWriter.encode(checkinContent, BarcodeFormat.QR_CODE, 300, 300, hints);
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
+            event.imageBytes = outputStream.size();
             
             return outputStream.toByteArray();
         } catch (Exception e) {
             log.error("生成签到二维码失败", e);
             throw new BusinessException("生成签到二维码失败: " + e.getMessage());
+        } finally {
+            event.finish();
         }
     }
     
@@ -351,12 +563,19 @@ public class CourseController {
      */
     @PostMapping("/attendance/record/statistics")
     @PreAuthorize("@courseSecurityService.isCheckinCreator(#checkinId) or hasRole('ADMIN')")
-    public ApiResponse<Map<String, Object>> getAttendanceRecordStatistics(
+    public WebAsyncTask<ApiResponse<Map<String, Object>>> getAttendanceRecordStatistics(
             @RequestParam String checkinId,
             @Valid @RequestBody PageRequestDTO requestDTO) {
         log.info("获取签到统计信息: checkinId={}", checkinId);
-        Map<String, Object> response = courseService.getCheckinStatistics(checkinId);
-        return ApiResponse.success(response);
+        return reportingTask(() -> ApiResponse.success(courseService.getCheckinStatistics(checkinId)));
+    }
+    
+    /**
+     * 在报表线程池中执行报表查询，超时后返回503
+     */
+    private <T> WebAsyncTask<ApiResponse<T>> reportingTask(Callable<ApiResponse<T>> task) {
+        return new WebAsyncTask<>(reportingProperties.getRequestTimeout().toMillis(),
+                ReportingExecutorConfig.REPORTING_EXECUTOR, task);
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.attendance.controller.user;
 
+import com.attendance.common.constants.SystemConstants;
 import com.attendance.common.model.ApiResponse;
 import com.attendance.model.dto.user.UserDTO;
 import com.attendance.model.dto.user.UpdateUserRequest;
@@ -49,14 +50,21 @@ public class UserController {
     
     /**
      * 更新用户信息(只能更新自己的信息)
+     * 修改密码后该用户的刷新令牌和本次使用的访问令牌全部失效，需要重新登录
      * 
+     * @param authorization 认证请求头
      * @param request 更新请求
      * @return 更新后的用户信息
      */
     @PutMapping("/me")
-    public ApiResponse<UserDTO> updateCurrentUser(@Valid @RequestBody UpdateUserRequest request) {
+    public ApiResponse<UserDTO> updateCurrentUser(
+            @RequestHeader(value = SystemConstants.Security.HEADER_STRING, required = false) String authorization,
+            @Valid @RequestBody UpdateUserRequest request) {
         log.info("更新当前用户信息: {}", request);
-        UserDTO updatedUser = userService.updateCurrentUser(request);
+        String accessToken = authorization != null && authorization.startsWith(SystemConstants.Security.TOKEN_PREFIX)
+                ? authorization.substring(SystemConstants.Security.TOKEN_PREFIX.length())
+                : null;
+        UserDTO updatedUser = userService.updateCurrentUser(request, accessToken);
         return ApiResponse.success("用户信息更新成功", updatedUser);
     }
     
@@ -0,0 +1,46 @@
+package com.attendance.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 二级缓存区域统计DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    /**
+     * 区域名称
+     */
+    private String region;
+
+    /**
+     * 命中次数
+     */
+    private long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private long missCount;
+
+    /**
+     * 写入次数
+     */
+    private long putCount;
+
+    /**
+     * 命中率（0~1），无访问时为0
+     */
+    private double hitRatio;
+
+    /**
+     * 当前缓存条目数，无法获取时为-1
+     */
+    private long elementCount;
+}
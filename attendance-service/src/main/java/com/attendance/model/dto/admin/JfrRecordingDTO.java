@@ -0,0 +1,66 @@
+package com.attendance.model.dto.admin;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JFR录制状态DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JfrRecordingDTO {
+
+    /**
+     * 录制ID
+     */
+    private long id;
+
+    /**
+     * 录制状态：RUNNING、STOPPED、CLOSED
+     */
+    private String state;
+
+    /**
+     * 使用的JDK内置配置
+     */
+    private String settings;
+
+    /**
+     * 开始时间
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startTime;
+
+    /**
+     * 停止时间，录制中为null
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime stopTime;
+
+    /**
+     * 录制时长上限（秒），到期自动停止
+     */
+    private long durationSeconds;
+
+    /**
+     * 磁盘占用上限（字节）
+     */
+    private long maxSizeBytes;
+
+    /**
+     * 已停止录制的文件大小（字节），录制中为0
+     */
+    private long fileSizeBytes;
+
+    /**
+     * 录制文件名
+     */
+    private String fileName;
+}
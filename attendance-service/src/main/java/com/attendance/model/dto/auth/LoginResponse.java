@@ -19,6 +19,16 @@ public class LoginResponse {
      */
     private String accessToken;
     
+    /**
+     * 刷新令牌（用于 /auth/refresh 换取新的访问令牌，每次使用后轮换）
+     */
+    private String refreshToken;
+    
+    /**
+     * 访问令牌有效期（秒）
+     */
+    private Long expiresIn;
+    
     /**
      * 令牌类型
      */
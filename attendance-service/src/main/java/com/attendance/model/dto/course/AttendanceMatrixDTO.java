@@ -0,0 +1,106 @@
+package com.attendance.model.dto.course;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 课程考勤矩阵DTO（学生 × 签到任务）
+ * 使用按稠密序号索引的原始数组存储，由控制器流式写出JSON
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceMatrixDTO {
+
+    /**
+     * 课程ID
+     */
+    private String courseId;
+
+    /**
+     * 课程名称
+     */
+    private String courseName;
+
+    /**
+     * 签到任务ID（按列序号）
+     */
+    private String[] checkinIds;
+
+    /**
+     * 签到任务名称（按列序号）
+     */
+    private String[] checkinNames;
+
+    /**
+     * 签到开始时间（按列序号）
+     */
+    private LocalDateTime[] checkinStartTimes;
+
+    /**
+     * 每个签到任务的正常签到人数
+     */
+    private int[] checkinNormalCounts;
+
+    /**
+     * 每个签到任务的迟到人数
+     */
+    private int[] checkinLateCounts;
+
+    /**
+     * 学生用户ID（按行序号）
+     */
+    private String[] userIds;
+
+    /**
+     * 学生用户名（按行序号）
+     */
+    private String[] usernames;
+
+    /**
+     * 学生姓名（按行序号）
+     */
+    private String[] fullNames;
+
+    /**
+     * 每个学生的正常签到次数
+     */
+    private int[] studentNormalCounts;
+
+    /**
+     * 每个学生的迟到次数
+     */
+    private int[] studentLateCounts;
+
+    /**
+     * 签到状态码，按行优先存储（行 × 签到任务数 + 列）
+     * 0-未签到 1-正常 2-迟到 3-其他（请假等）
+     */
+    private byte[] statuses;
+
+    /**
+     * 学生数量
+     */
+    public int getStudentCount() {
+        return userIds.length;
+    }
+
+    /**
+     * 签到任务数量
+     */
+    public int getCheckinCount() {
+        return checkinIds.length;
+    }
+
+    /**
+     * 获取指定学生在指定签到任务中的状态码
+     */
+    public int getStatus(int student, int checkin) {
+        return statuses[student * checkinIds.length + checkin];
+    }
+}
@@ -0,0 +1,56 @@
+package com.attendance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 课程考勤快照实体
+ * 课程归档后，将学生 × 签到任务的考勤矩阵冻结为二进制快照保存
+ */
+@Entity
+@Table(name = "course_attendance_snapshot")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class CourseAttendanceSnapshot extends BaseEntity {
+
+    /**
+     * 课程ID
+     */
+    @Id
+    @Column(name = "course_id", length = 36)
+    private String courseId;
+
+    /**
+     * 快照格式版本
+     */
+    @Column(nullable = false)
+    private Integer version;
+
+    /**
+     * 矩阵行数（用户数）
+     */
+    @Column(name = "user_count", nullable = false)
+    private Integer userCount;
+
+    /**
+     * 矩阵列数（签到任务数）
+     */
+    @Column(name = "task_count", nullable = false)
+    private Integer taskCount;
+
+    /**
+     * 考勤矩阵二进制数据
+     */
+    @Lob
+    @ToString.Exclude
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+}
@@ -0,0 +1,76 @@
+package com.attendance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌实体
+ * 只保存令牌的SHA-256摘要；每次刷新都会轮换为新令牌，同一登录产生的令牌属于同一族，
+ * 已轮换的令牌再次使用即视为泄露，整族令牌失效
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+    @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+    @Index(name = "idx_refresh_token_family", columnList = "family_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class RefreshToken extends BaseEntity {
+
+    /**
+     * 主键ID
+     */
+    @Id
+    @GeneratedValue(generator = "uuid2")
+    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @Column(length = 36)
+    private String id;
+
+    /**
+     * 令牌SHA-256摘要（十六进制）
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * 用户ID
+     */
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    /**
+     * 令牌族ID（同一次登录轮换产生的令牌共享）
+     */
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    /**
+     * 过期时间
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 轮换时间，为空表示尚未使用
+     */
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    /**
+     * 是否已撤销
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean revoked = false;
+}
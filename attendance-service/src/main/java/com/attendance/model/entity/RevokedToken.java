@@ -0,0 +1,46 @@
+package com.attendance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已撤销的访问令牌实体
+ * 按令牌ID（jti）记录，令牌自然过期后记录即可删除
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_token_created", columnList = "created_at"),
+    @Index(name = "idx_revoked_token_expires", columnList = "expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class RevokedToken extends BaseEntity {
+
+    /**
+     * 令牌ID（JWT jti）
+     */
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    /**
+     * 用户ID
+     */
+    @Column(name = "user_id", length = 36)
+    private String userId;
+
+    /**
+     * 令牌原过期时间
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,67 @@
+package com.attendance.repository.auth;
+
+import com.attendance.model.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新令牌数据访问接口
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * 根据令牌摘要查找刷新令牌
+     *
+     * @param tokenHash 令牌SHA-256摘要
+     * @return 刷新令牌（可选）
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * 标记令牌已使用（仅当令牌未使用且未撤销时成功，保证并发刷新只有一个成功）
+     *
+     * @param id 令牌ID
+     * @param usedAt 使用时间
+     * @return 更新行数
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt WHERE t.id = :id AND t.usedAt IS NULL AND t.revoked = false")
+    int markUsed(@Param("id") String id, @Param("usedAt") LocalDateTime usedAt);
+
+    /**
+     * 撤销整个令牌族
+     *
+     * @param familyId 令牌族ID
+     * @return 更新行数
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId AND t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * 撤销用户的所有刷新令牌
+     *
+     * @param userId 用户ID
+     * @return 更新行数
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId AND t.revoked = false")
+    int revokeAllByUserId(@Param("userId") String userId);
+
+    /**
+     * 删除过期的刷新令牌
+     *
+     * @param time 截止时间
+     * @return 删除行数
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :time")
+    int deleteExpiredBefore(@Param("time") LocalDateTime time);
+}
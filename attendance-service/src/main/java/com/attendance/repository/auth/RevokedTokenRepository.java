@@ -0,0 +1,45 @@
+package com.attendance.repository.auth;
+
+import com.attendance.model.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 已撤销令牌数据访问接口
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * 查找所有尚未过期的撤销记录（启动时全量加载）
+     *
+     * @param now 当前时间
+     * @return 撤销记录列表
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * 查找指定时间之后新增且尚未过期的撤销记录（增量同步）
+     *
+     * @param since 起始时间
+     * @param now 当前时间
+     * @return 撤销记录列表
+     */
+    List<RevokedToken> findByCreatedAtGreaterThanEqualAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    /**
+     * 删除已过期的撤销记录
+     *
+     * @param time 截止时间
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :time")
+    int deleteExpiredBefore(@Param("time") LocalDateTime time);
+}
@@ -0,0 +1,27 @@
+package com.attendance.repository.course;
+
+import com.attendance.model.entity.CourseAttendanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 课程考勤快照数据访问接口
+ */
+@Repository
+public interface CourseAttendanceSnapshotRepository extends JpaRepository<CourseAttendanceSnapshot, String> {
+
+    /**
+     * 删除指定课程的考勤快照
+     *
+     * @param courseId 课程ID
+     * @return 删除的行数
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CourseAttendanceSnapshot s WHERE s.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") String courseId);
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +18,7 @@ import java.util.Optional;
  * 课程签到记录数据访问接口
  */
 @Repository
-public interface CourseRecordRepository extends JpaRepository<CourseRecord, String> {
+public interface CourseRecordRepository extends JpaRepository<CourseRecord, String>, CourseRecordStreamingRepository {
     
     /**
      * 根据用户ID查找签到记录
@@ -44,6 +45,15 @@ public interface CourseRecordRepository extends JpaRepository<CourseRecord, Stri
      */
     Optional<CourseRecord> findByUserIdAndCourseId(String userId, String courseId);
     
+    /**
+     * 根据用户ID和多个签到任务ID批量查找签到记录
+     *
+     * @param userId 用户ID
+     * @param courseIds 签到任务ID集合
+     * @return 签到记录列表
+     */
+    List<CourseRecord> findByUserIdAndCourseIdIn(String userId, Collection<String> courseIds);
+
     /**
      * 通过签到任务ID查找所有签到记录（分页）
      * 
@@ -87,7 +97,7 @@ public interface CourseRecordRepository extends JpaRepository<CourseRecord, Stri
      * @return 签到记录列表
      */
     List<CourseRecord> findByParentCourseId(String parentCourseId);
-    
+
     /**
      * 通过所属课程ID查找所有签到记录（分页）
      * 
@@ -0,0 +1,60 @@
+package com.attendance.repository.course;
+
+import java.util.stream.Stream;
+
+/**
+ * 签到记录流式查询
+ * 需在事务中使用，并在使用完毕后关闭流；流打开期间不要在同一事务中执行其他查询（MySQL逐行读取时连接被结果集占用）
+ */
+public interface CourseRecordStreamingRepository {
+
+    /**
+     * 考勤导出查询：课程学生 × 签到任务，左连接签到记录（无记录即未签到）
+     * 返回 [课程ID, 课程名称, 任务ID, 任务名称, 签到开始时间, 用户名, 姓名, 签到状态, 签到时间, 验证方式]
+     */
+    String EXPORT_QUERY = "SELECT c.id, c.name, t.id, t.name, t.checkinStartTime, u.username, u.fullName, "
+        + "r.status, r.checkInTime, r.verifyMethod "
+        + "FROM CourseUser cu "
+        + "JOIN Course c ON c.id = cu.courseId "
+        + "JOIN Course t ON t.parentCourseId = c.id "
+        + "JOIN User u ON u.id = cu.userId "
+        + "LEFT JOIN CourseRecord r ON r.courseId = t.id AND r.userId = cu.userId "
+        + "WHERE cu.role = 'STUDENT' AND cu.active = true AND t.type = 'CHECKIN' AND t.active = true ";
+
+    /**
+     * 考勤导出排序：课程、签到开始时间、用户名
+     */
+    String EXPORT_ORDER = " ORDER BY c.name, c.id, t.checkinStartTime, t.id, u.username";
+
+    /**
+     * 流式查询特定课程下所有签到记录的用户ID、签到任务ID和状态
+     *
+     * @param parentCourseId 所属课程ID
+     * @return [userId, courseId, status] 流
+     */
+    Stream<Object[]> streamStatusByParentCourseId(String parentCourseId);
+
+    /**
+     * 流式导出签到任务的考勤数据
+     *
+     * @param checkinId 签到任务ID
+     * @return 导出行流，见 {@link #EXPORT_QUERY}
+     */
+    Stream<Object[]> streamExportByCheckinId(String checkinId);
+
+    /**
+     * 流式导出课程的考勤数据
+     *
+     * @param courseId 课程ID
+     * @return 导出行流，见 {@link #EXPORT_QUERY}
+     */
+    Stream<Object[]> streamExportByCourseId(String courseId);
+
+    /**
+     * 流式导出教师所有课程的考勤数据
+     *
+     * @param creatorId 教师（课程创建者）ID
+     * @return 导出行流，见 {@link #EXPORT_QUERY}
+     */
+    Stream<Object[]> streamExportByCreatorId(String creatorId);
+}
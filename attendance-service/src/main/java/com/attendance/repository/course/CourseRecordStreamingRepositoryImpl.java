@@ -0,0 +1,72 @@
+package com.attendance.repository.course;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * 签到记录流式查询实现
+ * 抓取大小只作用于这几条语句：MySQL 上使用 Integer.MIN_VALUE，Connector/J 逐行读取结果集，
+ * 无需在连接URL上开启 useCursorFetch（会使全部查询改用服务端预处理语句）；其他数据库按1000行分批抓取
+ */
+class CourseRecordStreamingRepositoryImpl implements CourseRecordStreamingRepository {
+
+    private static final int BATCH_FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Integer fetchSize;
+
+    @Override
+    public Stream<Object[]> streamStatusByParentCourseId(String parentCourseId) {
+        return entityManager.createQuery(
+                "SELECT r.userId, r.courseId, r.status FROM CourseRecord r WHERE r.parentCourseId = :parentCourseId",
+                Object[].class)
+            .setParameter("parentCourseId", parentCourseId)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    @Override
+    public Stream<Object[]> streamExportByCheckinId(String checkinId) {
+        return streamExport(EXPORT_QUERY + "AND t.id = :id" + EXPORT_ORDER, checkinId);
+    }
+
+    @Override
+    public Stream<Object[]> streamExportByCourseId(String courseId) {
+        return streamExport(EXPORT_QUERY + "AND c.id = :id" + EXPORT_ORDER, courseId);
+    }
+
+    @Override
+    public Stream<Object[]> streamExportByCreatorId(String creatorId) {
+        return streamExport(EXPORT_QUERY + "AND c.creatorId = :id AND c.active = true" + EXPORT_ORDER, creatorId);
+    }
+
+    private Stream<Object[]> streamExport(String query, String id) {
+        return entityManager.createQuery(query, Object[].class)
+            .setParameter("id", id)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    /**
+     * 按数据库方言确定抓取大小，首次调用时解析
+     */
+    private int fetchSize() {
+        Integer size = fetchSize;
+        if (size == null) {
+            boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+            size = mysql ? Integer.MIN_VALUE : BATCH_FETCH_SIZE;
+            fetchSize = size;
+        }
+        return size;
+    }
+}
@@ -4,6 +4,8 @@ import com.attendance.model.entity.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -51,6 +53,30 @@ public interface CourseRepository extends JpaRepository<Course, String> {
      */
     Optional<Course> findByCode(String code);
     
+    /**
+     * 查询课程/任务的当前状态
+     * 投影查询不经过实体二级缓存，用于签到写入前确认其他节点上的状态变更
+     * 
+     * @param id 课程/任务ID
+     * @return 状态
+     */
+    @Query("SELECT c.status FROM Course c WHERE c.id = :id")
+    Optional<String> findStatusById(@Param("id") String id);
+    
+    /**
+     * 判断签到任务是否处于指定状态且用户是其所属课程的活跃成员
+     * 不经过二级缓存和权限缓存，用于签到写入前确认其他节点上的任务状态和成员变更
+     * 
+     * @param checkinId 签到任务ID
+     * @param userId 用户ID
+     * @param status 任务状态
+     * @return 是否可以签到
+     */
+    @Query("SELECT COUNT(c) > 0 FROM Course c, CourseUser cu WHERE c.id = :checkinId AND c.status = :status "
+        + "AND cu.courseId = c.parentCourseId AND cu.userId = :userId AND cu.active = true")
+    boolean isCheckinOpenForMember(@Param("checkinId") String checkinId, @Param("userId") String userId,
+                                   @Param("status") String status);
+    
     /**
      * 查找所有普通课程
      * 
@@ -1,9 +1,12 @@
 package com.attendance.repository.course;
 
 import com.attendance.model.entity.CourseUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -144,6 +147,7 @@ public interface CourseUserRepository extends JpaRepository<CourseUser, String>
      * @param username 用户名
      * @return 是否是活跃成员
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(cu) > 0 FROM CourseUser cu JOIN User u ON cu.userId = u.id WHERE cu.courseId = :courseId AND u.username = :username AND cu.active = true")
     boolean existsByCourseIdAndUsernameAndActiveTrue(@Param("courseId") String courseId, @Param("username") String username);
     
@@ -154,6 +158,7 @@ public interface CourseUserRepository extends JpaRepository<CourseUser, String>
      * @param userId 用户ID
      * @return 是否为活跃成员
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByCourseIdAndUserIdAndActiveTrue(String courseId, String userId);
     
     /**
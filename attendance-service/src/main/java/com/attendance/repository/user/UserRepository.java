@@ -1,7 +1,10 @@
 package com.attendance.repository.user;
 
 import com.attendance.model.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,11 +16,12 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, String> {
     
     /**
-     * 通过用户名查找用户
+     * 通过用户名查找用户（结果进入查询缓存，users表变更时自动失效）
      * 
      * @param username 用户名
      * @return 用户对象（可选）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     
     /**
@@ -0,0 +1,18 @@
+package com.attendance.service.admin;
+
+import com.attendance.model.dto.admin.CacheRegionStatsDTO;
+
+import java.util.List;
+
+/**
+ * 二级缓存统计服务接口
+ */
+public interface CacheStatisticsService {
+
+    /**
+     * 获取所有二级缓存区域（含查询缓存）的命中统计
+     *
+     * @return 区域统计列表
+     */
+    List<CacheRegionStatsDTO> getRegionStatistics();
+}
@@ -0,0 +1,42 @@
+package com.attendance.service.admin;
+
+import com.attendance.model.dto.admin.JfrRecordingDTO;
+
+import java.nio.file.Path;
+
+/**
+ * 按需JFR录制服务接口
+ * 每个节点同时只有一个录制，只保留最近一次录制的文件
+ */
+public interface JfrRecordingService {
+
+    /**
+     * 开始录制，到期自动停止
+     *
+     * @param durationSeconds 录制时长（秒），为null时使用默认时长
+     * @param settings JDK内置配置名（default 或 profile），为null时使用配置的默认值
+     * @return 录制状态
+     */
+    JfrRecordingDTO start(Long durationSeconds, String settings);
+
+    /**
+     * 停止当前录制并写入文件
+     *
+     * @return 录制状态
+     */
+    JfrRecordingDTO stop();
+
+    /**
+     * 获取最近一次录制的状态
+     *
+     * @return 录制状态，从未录制时返回null
+     */
+    JfrRecordingDTO getStatus();
+
+    /**
+     * 获取已停止录制的文件
+     *
+     * @return 录制文件路径
+     */
+    Path getRecordingFile();
+}
@@ -0,0 +1,173 @@
+package com.attendance.service.admin;
+
+import com.attendance.common.exception.BusinessException;
+import com.attendance.common.jfr.CheckinStageEvent;
+import com.attendance.common.jfr.JfrProperties;
+import com.attendance.common.jfr.QrCodeRenderEvent;
+import com.attendance.common.jfr.SchedulerRunEvent;
+import com.attendance.common.jfr.StatisticsEvent;
+import com.attendance.model.dto.admin.JfrRecordingDTO;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * 按需JFR录制服务实现类
+ * 录制数据先写入JFR仓库，停止（手动或到期）时转储到录制文件；开始新录制时删除上一次的文件
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JfrRecordingServiceImpl implements JfrRecordingService {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JfrProperties jfrProperties;
+
+    private Recording recording;
+    private Path recordingFile;
+
+    @Override
+    public synchronized JfrRecordingDTO start(Long durationSeconds, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BusinessException("已有录制正在进行，请先停止");
+        }
+        Duration duration = durationSeconds == null ? jfrProperties.getDefaultDuration() : Duration.ofSeconds(durationSeconds);
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(jfrProperties.getMaxDuration()) > 0) {
+            throw new BusinessException("录制时长必须在1秒到" + jfrProperties.getMaxDuration().toSeconds() + "秒之间");
+        }
+        String settingsName = StringUtils.hasText(settings) ? settings : jfrProperties.getSettings();
+        if (!SETTINGS.contains(settingsName)) {
+            throw new BusinessException("不支持的录制配置: " + settingsName + "，可选 default 或 profile");
+        }
+
+        discardPrevious();
+        try {
+            Files.createDirectories(jfrProperties.getDirectory());
+            Path file = jfrProperties.getDirectory()
+                .resolve("attendance-" + LocalDateTime.now().format(FILE_TIME_FORMAT) + ".jfr");
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(settingsName));
+            newRecording.setName("attendance-" + settingsName);
+            newRecording.setToDisk(true);
+            newRecording.setMaxSize(jfrProperties.getMaxSize().toBytes());
+            newRecording.setDuration(duration);
+            newRecording.setDestination(file);
+            newRecording.enable(CheckinStageEvent.class);
+            newRecording.enable(SchedulerRunEvent.class);
+            newRecording.enable(StatisticsEvent.class);
+            newRecording.enable(QrCodeRenderEvent.class);
+            newRecording.start();
+
+            recording = newRecording;
+            recordingFile = file;
+        } catch (IOException | ParseException e) {
+            log.error("开始JFR录制失败", e);
+            throw new BusinessException(500, "开始JFR录制失败: " + e.getMessage());
+        }
+        log.info("开始JFR录制: id={}, settings={}, duration={}s, file={}",
+            recording.getId(), settingsName, duration.toSeconds(), recordingFile);
+        return toDTO();
+    }
+
+    @Override
+    public synchronized JfrRecordingDTO stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new BusinessException("当前没有正在进行的录制");
+        }
+        recording.stop();
+        log.info("停止JFR录制: id={}, file={}", recording.getId(), recordingFile);
+        return toDTO();
+    }
+
+    @Override
+    public synchronized JfrRecordingDTO getStatus() {
+        return recording == null ? null : toDTO();
+    }
+
+    @Override
+    public synchronized Path getRecordingFile() {
+        if (recording == null) {
+            throw new BusinessException(404, "尚未进行过录制");
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            throw new BusinessException("录制尚未结束，请先停止或等待到期");
+        }
+        if (!Files.isRegularFile(recordingFile)) {
+            throw new BusinessException(404, "录制文件不存在");
+        }
+        return recordingFile;
+    }
+
+    /**
+     * 应用关闭时释放录制占用的仓库空间，已写出的录制文件保留
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * 关闭上一次录制并删除其文件，只保留最近一次录制
+     */
+    private void discardPrevious() {
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        try {
+            Files.deleteIfExists(recordingFile);
+        } catch (IOException e) {
+            log.warn("删除上一次JFR录制文件失败: {}", recordingFile, e);
+        }
+        recording = null;
+        recordingFile = null;
+    }
+
+    private JfrRecordingDTO toDTO() {
+        RecordingState state = recording.getState();
+        boolean stopped = state == RecordingState.STOPPED || state == RecordingState.CLOSED;
+        long fileSize = 0;
+        if (stopped) {
+            try {
+                fileSize = Files.isRegularFile(recordingFile) ? Files.size(recordingFile) : 0;
+            } catch (IOException e) {
+                log.warn("读取JFR录制文件大小失败: {}", recordingFile, e);
+            }
+        }
+        return JfrRecordingDTO.builder()
+            .id(recording.getId())
+            .state(state.name())
+            .settings(recording.getName().substring("attendance-".length()))
+            .startTime(toLocalDateTime(recording.getStartTime()))
+            .stopTime(stopped ? toLocalDateTime(recording.getStopTime()) : null)
+            .durationSeconds(recording.getDuration() == null ? 0 : recording.getDuration().toSeconds())
+            .maxSizeBytes(recording.getMaxSize())
+            .fileSizeBytes(fileSize)
+            .fileName(recordingFile.getFileName().toString())
+            .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
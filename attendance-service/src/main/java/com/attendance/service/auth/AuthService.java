@@ -18,6 +18,22 @@ public interface AuthService {
      */
     LoginResponse login(LoginRequest loginRequest);
     
+    /**
+     * 使用刷新令牌换取新的访问令牌（刷新令牌同时轮换）
+     * 
+     * @param refreshToken 刷新令牌
+     * @return 登录响应（含新的访问令牌和刷新令牌）
+     */
+    LoginResponse refresh(String refreshToken);
+    
+    /**
+     * 用户登出，撤销访问令牌和刷新令牌
+     * 
+     * @param accessToken 访问令牌，可为空
+     * @param refreshToken 刷新令牌，可为空
+     */
+    void logout(String accessToken, String refreshToken);
+    
     /**
      * 用户注册
      * 
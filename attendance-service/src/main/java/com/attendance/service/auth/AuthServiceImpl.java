@@ -1,14 +1,17 @@
 package com.attendance.service.auth;
 
 import com.attendance.common.config.security.JwtTokenProvider;
+import com.attendance.common.config.security.SecurityUserDetails;
 import com.attendance.common.constants.SystemConstants;
 import com.attendance.common.exception.BusinessException;
 import com.attendance.model.dto.auth.LoginRequest;
 import com.attendance.model.dto.auth.LoginResponse;
 import com.attendance.model.dto.auth.RegisterRequest;
 import com.attendance.model.dto.user.UserDTO;
+import com.attendance.model.entity.RefreshToken;
 import com.attendance.model.entity.User;
 import com.attendance.repository.user.UserRepository;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +21,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 
 /**
@@ -32,6 +36,8 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     
     /**
      * 用户登录
@@ -55,13 +61,75 @@ public class AuthServiceImpl implements AuthService {
         // 生成JWT令牌
         String jwt = jwtTokenProvider.generateToken(authentication);
         
-        // 获取用户信息
-        User user = userRepository.findByUsername(loginRequest.getUsername())
+        // 获取用户信息（认证时已加载的用户ID，按主键读取可命中二级缓存）
+        SecurityUserDetails principal = (SecurityUserDetails) authentication.getPrincipal();
+        User user = userRepository.findById(principal.getId())
                 .orElseThrow(() -> new BusinessException("用户不存在"));
         
-        // 构建并返回响应
+        // 签发新的刷新令牌族
+        String refreshToken = refreshTokenService.createToken(user.getId(), null);
+        
+        return buildLoginResponse(user, jwt, refreshToken);
+    }
+    
+    /**
+     * 刷新访问令牌
+     * 仅做HMAC签名和一次按主键的用户读取，不经过密码哈希
+     * 
+     * @param refreshToken 刷新令牌
+     * @return 登录响应
+     */
+    @Override
+    @Transactional(noRollbackFor = BusinessException.class)
+    public LoginResponse refresh(String refreshToken) {
+        RefreshToken consumed = refreshTokenService.consume(refreshToken);
+        
+        User user = userRepository.findById(consumed.getUserId())
+                .orElseThrow(() -> new BusinessException(401, "用户不存在，请重新登录"));
+        if (!Boolean.TRUE.equals(user.getEnabled())) {
+            refreshTokenService.revokeFamily(consumed.getFamilyId());
+            throw new BusinessException(401, "账户已被禁用");
+        }
+        
+        String jwt = jwtTokenProvider.generateToken(new SecurityUserDetails(user));
+        String rotated = refreshTokenService.createToken(user.getId(), consumed.getFamilyId());
+        
+        return buildLoginResponse(user, jwt, rotated);
+    }
+    
+    /**
+     * 用户登出
+     * 访问令牌按jti加入撤销列表直至其原过期时间，刷新令牌整族撤销
+     * 
+     * @param accessToken 访问令牌
+     * @param refreshToken 刷新令牌
+     */
+    @Override
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (StringUtils.hasText(accessToken)) {
+            try {
+                JwtTokenProvider.VerifiedToken verified = jwtTokenProvider.verifyToken(accessToken);
+                String userId = verified.userDetails() != null ? verified.userDetails().getId() : null;
+                tokenRevocationService.revoke(verified.tokenId(), userId, verified.expiresAt());
+            } catch (JwtException | IllegalArgumentException e) {
+                // 令牌已过期或无效，无需撤销
+                log.debug("登出时访问令牌已失效: {}", e.getMessage());
+            }
+        }
+        if (StringUtils.hasText(refreshToken)) {
+            refreshTokenService.revokeToken(refreshToken);
+        }
+    }
+    
+    /**
+     * 构建登录响应
+     */
+    private LoginResponse buildLoginResponse(User user, String accessToken, String refreshToken) {
         return LoginResponse.builder()
-                .accessToken(jwt)
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .expiresIn(jwtTokenProvider.getExpiration() / 1000)
                 .tokenType(SystemConstants.Security.TOKEN_PREFIX.trim())
                 .userId(user.getId())
                 .username(user.getUsername())
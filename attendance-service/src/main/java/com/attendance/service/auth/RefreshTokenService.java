@@ -0,0 +1,55 @@
+package com.attendance.service.auth;
+
+import com.attendance.model.entity.RefreshToken;
+
+/**
+ * 刷新令牌服务接口
+ */
+public interface RefreshTokenService {
+
+    /**
+     * 签发刷新令牌
+     *
+     * @param userId 用户ID
+     * @param familyId 令牌族ID，为空时开启新的令牌族（新登录）
+     * @return 刷新令牌原文（仅此一次返回，数据库只保存摘要）
+     */
+    String createToken(String userId, String familyId);
+
+    /**
+     * 使用刷新令牌：校验并标记为已使用
+     * 已使用或已撤销的令牌再次出现时，撤销整个令牌族
+     *
+     * @param rawToken 刷新令牌原文
+     * @return 被使用的令牌记录
+     */
+    RefreshToken consume(String rawToken);
+
+    /**
+     * 撤销令牌族
+     *
+     * @param familyId 令牌族ID
+     */
+    void revokeFamily(String familyId);
+
+    /**
+     * 撤销刷新令牌所在的令牌族（登出时调用），令牌不存在时忽略
+     *
+     * @param rawToken 刷新令牌原文
+     */
+    void revokeToken(String rawToken);
+
+    /**
+     * 撤销用户的所有刷新令牌
+     *
+     * @param userId 用户ID
+     */
+    void revokeAll(String userId);
+
+    /**
+     * 清理过期的刷新令牌
+     *
+     * @return 删除数量
+     */
+    int purgeExpired();
+}
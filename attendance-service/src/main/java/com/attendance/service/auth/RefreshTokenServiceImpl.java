@@ -0,0 +1,91 @@
+package com.attendance.service.auth;
+
+import com.attendance.common.exception.BusinessException;
+import com.attendance.common.util.TokenUtil;
+import com.attendance.model.entity.RefreshToken;
+import com.attendance.repository.auth.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 刷新令牌服务实现类
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    @Override
+    @Transactional
+    public String createToken(String userId, String familyId) {
+        String rawToken = TokenUtil.randomToken(TOKEN_BYTES);
+        RefreshToken refreshToken = RefreshToken.builder()
+            .tokenHash(TokenUtil.sha256Hex(rawToken))
+            .userId(userId)
+            .familyId(familyId != null ? familyId : UUID.randomUUID().toString())
+            .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration)))
+            .build();
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BusinessException.class)
+    public RefreshToken consume(String rawToken) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenUtil.sha256Hex(rawToken))
+            .orElseThrow(() -> new BusinessException(401, "刷新令牌无效，请重新登录"));
+
+        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BusinessException(401, "刷新令牌已过期，请重新登录");
+        }
+
+        // 条件更新保证同一令牌只能成功使用一次；失败说明令牌已被使用或撤销，视为重放
+        if (refreshTokenRepository.markUsed(refreshToken.getId(), LocalDateTime.now()) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            log.warn("检测到刷新令牌重复使用，已撤销令牌族: userId={}, familyId={}, 撤销数量={}",
+                refreshToken.getUserId(), refreshToken.getFamilyId(), revoked);
+            throw new BusinessException(401, "刷新令牌已失效，请重新登录");
+        }
+        return refreshToken;
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+    }
+
+    @Override
+    @Transactional
+    public void revokeToken(String rawToken) {
+        refreshTokenRepository.findByTokenHash(TokenUtil.sha256Hex(rawToken))
+            .ifPresent(refreshToken -> refreshTokenRepository.revokeFamily(refreshToken.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(String userId) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(userId);
+        log.info("已撤销用户的刷新令牌: userId={}, 数量={}", userId, revoked);
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        return refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+    }
+}
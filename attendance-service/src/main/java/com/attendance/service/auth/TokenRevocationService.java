@@ -0,0 +1,38 @@
+package com.attendance.service.auth;
+
+/**
+ * 访问令牌撤销服务接口
+ * 撤销记录持久化到数据库，并在各节点内存中以布隆过滤器 + 精确集合维护，
+ * 认证过滤器的撤销检查不访问数据库
+ */
+public interface TokenRevocationService {
+
+    /**
+     * 撤销访问令牌
+     *
+     * @param tokenId 令牌ID（jti）
+     * @param userId 用户ID，可为空
+     * @param expiresAt 令牌原过期时间（毫秒时间戳），到期后撤销记录自动失效
+     */
+    void revoke(String tokenId, String userId, long expiresAt);
+
+    /**
+     * 令牌是否已撤销（仅查询内存）
+     *
+     * @param tokenId 令牌ID（jti），为空时返回false
+     * @return 是否已撤销
+     */
+    boolean isRevoked(String tokenId);
+
+    /**
+     * 从数据库同步其他节点新增的撤销记录，并清理内存中已过期的记录
+     */
+    void sync();
+
+    /**
+     * 删除数据库中已过期的撤销记录
+     *
+     * @return 删除数量
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,157 @@
+package com.attendance.service.auth;
+
+import com.attendance.common.util.BloomFilter;
+import com.attendance.common.util.DateTimeUtil;
+import com.attendance.model.entity.RevokedToken;
+import com.attendance.repository.auth.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 访问令牌撤销服务实现类
+ * 读路径无锁：布隆过滤器先排除绝大多数未撤销的令牌，命中时再查精确集合确认；
+ * 写路径（撤销、同步、重建）串行执行，使用显式锁且不在锁内访问数据库（虚拟线程下不会占住载体线程）
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * 布隆过滤器的预期容量，实际记录数超过后按两倍重建
+     */
+    @Value("${jwt.revocation.expected-entries:10000}")
+    private int expectedEntries;
+
+    /**
+     * 布隆过滤器误报率
+     */
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    /**
+     * 增量同步的回看时长（毫秒），容忍节点间时钟偏差和事务提交延迟
+     */
+    @Value("${jwt.revocation.sync-overlap:60000}")
+    private long syncOverlap;
+
+    /**
+     * 已撤销令牌ID → 令牌原过期时间（毫秒时间戳）
+     */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    private int bloomCapacity;
+
+    /**
+     * 上次同步时间，为空表示需要全量加载
+     */
+    private volatile LocalDateTime lastSyncTime;
+
+    /**
+     * 内存集合写锁
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        bloomCapacity = expectedEntries;
+        bloomFilter = BloomFilter.create(bloomCapacity, falsePositiveRate);
+        try {
+            sync();
+        } catch (Exception e) {
+            log.warn("加载令牌撤销记录失败，将在下次同步时重试: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String tokenId, String userId, long expiresAt) {
+        if (tokenId == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+            .jti(tokenId)
+            .userId(userId)
+            .expiresAt(DateTimeUtil.toLocalDateTime(new Date(expiresAt)))
+            .build());
+        addLocal(tokenId, expiresAt);
+        log.info("访问令牌已撤销: userId={}, jti={}", userId, tokenId);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    @Override
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSyncTime;
+        List<RevokedToken> records = since == null
+            ? revokedTokenRepository.findByExpiresAtAfter(now)
+            : revokedTokenRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfter(
+                since.minusNanos(syncOverlap * 1_000_000L), now);
+
+        writeLock.lock();
+        try {
+            for (RevokedToken record : records) {
+                addLocal(record.getJti(), DateTimeUtil.toDate(record.getExpiresAt()).getTime());
+            }
+            lastSyncTime = now;
+
+            // 令牌自然过期后撤销记录不再需要；布隆过滤器不支持删除，有记录移除或容量不足时重建
+            long currentMillis = System.currentTimeMillis();
+            boolean removed = revokedTokens.values().removeIf(expiresAt -> expiresAt <= currentMillis);
+            if (removed || revokedTokens.size() > bloomCapacity) {
+                rebuildBloomFilter();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        return revokedTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+    }
+
+    /**
+     * 加入内存集合；先写精确集合再写布隆过滤器，读路径看到布隆命中时精确集合已就绪
+     */
+    private void addLocal(String tokenId, long expiresAt) {
+        writeLock.lock();
+        try {
+            revokedTokens.merge(tokenId, expiresAt, Math::max);
+            bloomFilter.put(tokenId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 按当前精确集合重建布隆过滤器，调用方需持有写锁
+     */
+    private void rebuildBloomFilter() {
+        bloomCapacity = Math.max(expectedEntries, revokedTokens.size() * 2);
+        BloomFilter rebuilt = BloomFilter.create(bloomCapacity, falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        log.debug("已重建令牌撤销布隆过滤器: 记录数={}, 容量={}", revokedTokens.size(), bloomCapacity);
+    }
+}
@@ -0,0 +1,38 @@
+package com.attendance.service.course;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 考勤导出服务接口
+ * 导出数据通过流式查询逐行写出，内存占用与结果规模无关
+ */
+public interface AttendanceExportService {
+
+    /**
+     * 导出签到任务的考勤数据（CSV）
+     *
+     * @param checkinId 签到任务ID
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    void exportCheckin(String checkinId, OutputStream out) throws IOException;
+
+    /**
+     * 导出课程所有签到任务的考勤数据（CSV）
+     *
+     * @param courseId 课程ID
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    void exportCourse(String courseId, OutputStream out) throws IOException;
+
+    /**
+     * 导出教师所有课程的考勤数据（CSV）
+     *
+     * @param teacherId 教师ID
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    void exportTeacherCourses(String teacherId, OutputStream out) throws IOException;
+}
@@ -0,0 +1,134 @@
+package com.attendance.service.course;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.util.DateTimeUtil;
+import com.attendance.repository.course.CourseRecordRepository;
+import com.attendance.repository.course.CourseRecordStreamingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 考勤导出服务实现类
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceExportServiceImpl implements AttendanceExportService {
+
+    /**
+     * CSV表头，与 {@link CourseRecordStreamingRepository#EXPORT_QUERY} 的列一一对应
+     */
+    private static final String[] HEADER = {
+        "课程ID", "课程名称", "签到任务ID", "签到任务名称", "签到开始时间",
+        "用户名", "姓名", "签到状态", "签到时间", "验证方式"
+    };
+
+    private final CourseRecordRepository courseRecordRepository;
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${app.reporting.export-query-timeout-seconds:300}")
+    public void exportCheckin(String checkinId, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = courseRecordRepository.streamExportByCheckinId(checkinId)) {
+            long count = writeCsv(rows, out);
+            log.info("导出签到任务考勤数据: checkinId={}, 行数={}", checkinId, count);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${app.reporting.export-query-timeout-seconds:300}")
+    public void exportCourse(String courseId, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = courseRecordRepository.streamExportByCourseId(courseId)) {
+            long count = writeCsv(rows, out);
+            log.info("导出课程考勤数据: courseId={}, 行数={}", courseId, count);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${app.reporting.export-query-timeout-seconds:300}")
+    public void exportTeacherCourses(String teacherId, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = courseRecordRepository.streamExportByCreatorId(teacherId)) {
+            long count = writeCsv(rows, out);
+            log.info("导出教师课程考勤数据: teacherId={}, 行数={}", teacherId, count);
+        }
+    }
+
+    /**
+     * 逐行写出CSV（UTF-8带BOM，便于Excel直接打开）
+     *
+     * @return 写出的数据行数
+     */
+    private long writeCsv(Stream<Object[]> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write('\uFEFF');
+        writeLine(writer, HEADER);
+
+        long count = 0;
+        Object[] values = new Object[HEADER.length];
+        Iterator<Object[]> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Object[] row = iterator.next();
+            System.arraycopy(row, 0, values, 0, values.length);
+            if (values[7] == null) {
+                values[7] = SystemConstants.RecordStatus.ABSENT;
+            }
+            writeLine(writer, values);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof LocalDateTime
+            ? DateTimeUtil.formatDateTime((LocalDateTime) value)
+            : value.toString();
+        // 防止以公式字符开头的内容在Excel中被当作公式执行
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
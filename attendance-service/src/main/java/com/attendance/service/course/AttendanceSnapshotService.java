@@ -0,0 +1,41 @@
+package com.attendance.service.course;
+
+import com.attendance.common.util.AttendanceMatrix;
+
+/**
+ * 课程考勤快照服务接口
+ * 归档课程的考勤矩阵冻结为二进制快照，统计和查询直接从快照读取
+ */
+public interface AttendanceSnapshotService {
+
+    /**
+     * 根据当前签到数据构建课程的考勤矩阵
+     *
+     * @param courseId 课程ID
+     * @return 考勤矩阵
+     */
+    AttendanceMatrix buildMatrix(String courseId);
+
+    /**
+     * 创建（或重建）课程的考勤快照，在独立的读写事务中执行
+     *
+     * @param courseId 课程ID
+     * @return 快照对应的考勤矩阵
+     */
+    AttendanceMatrix createSnapshot(String courseId);
+
+    /**
+     * 获取课程的考勤快照，不存在时自动创建
+     *
+     * @param courseId 课程ID
+     * @return 快照对应的考勤矩阵
+     */
+    AttendanceMatrix getSnapshot(String courseId);
+
+    /**
+     * 删除课程的考勤快照（课程数据变化或取消归档时调用）
+     *
+     * @param courseId 课程ID
+     */
+    void evictSnapshot(String courseId);
+}
@@ -0,0 +1,198 @@
+package com.attendance.service.course;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.util.AttendanceMatrix;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.CourseAttendanceSnapshot;
+import com.attendance.model.entity.CourseUser;
+import com.attendance.repository.course.CourseAttendanceSnapshotRepository;
+import com.attendance.repository.course.CourseRecordRepository;
+import com.attendance.repository.course.CourseRepository;
+import com.attendance.repository.course.CourseUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 课程考勤快照服务实现类
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceSnapshotServiceImpl implements AttendanceSnapshotService {
+
+    private final CourseRepository courseRepository;
+    private final CourseUserRepository courseUserRepository;
+    private final CourseRecordRepository courseRecordRepository;
+    private final CourseAttendanceSnapshotRepository snapshotRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${attendance.snapshot.compress:true}")
+    private boolean compress;
+
+    @Value("${attendance.snapshot.cache-size:64}")
+    private int cacheSize;
+
+    @Value("${attendance.snapshot.cache-ttl:30s}")
+    private Duration cacheTtl;
+
+    /**
+     * 已解码快照缓存
+     * 快照失效只清除处理变更的节点上的缓存，其他节点最多在过期时间内读到旧快照
+     */
+    private Cache<String, AttendanceMatrix> decodedCache;
+
+    @PostConstruct
+    public void init() {
+        decodedCache = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(cacheTtl)
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttendanceMatrix buildMatrix(String courseId) {
+        // 列：课程下的所有签到任务
+        List<Course> checkinTasks = courseRepository.findByParentCourseIdAndType(
+            courseId, SystemConstants.CourseType.CHECKIN);
+        List<String> taskIds = new ArrayList<>(checkinTasks.size());
+        Map<String, Integer> taskOrdinals = new HashMap<>(checkinTasks.size() * 2);
+        for (Course task : checkinTasks) {
+            taskOrdinals.put(task.getId(), taskIds.size());
+            taskIds.add(task.getId());
+        }
+
+        // 行：课程活跃成员，以及有签到记录但已不在课程中的用户
+        List<CourseUser> members = courseUserRepository.findByCourseIdAndActiveTrue(courseId);
+        Map<String, Integer> userOrdinals = new LinkedHashMap<>(members.size() * 2);
+        for (CourseUser member : members) {
+            userOrdinals.putIfAbsent(member.getUserId(), userOrdinals.size());
+        }
+
+        // 单次流式读取签到记录，按稠密序号写入原始数组
+        int[] recordRows = new int[Math.max(16, userOrdinals.size())];
+        int[] recordColumns = new int[recordRows.length];
+        byte[] recordCodes = new byte[recordRows.length];
+        int recordCount = 0;
+        try (Stream<Object[]> records = courseRecordRepository.streamStatusByParentCourseId(courseId)) {
+            Iterator<Object[]> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                Object[] record = iterator.next();
+                Integer column = taskOrdinals.get((String) record[1]);
+                if (column == null) {
+                    continue;
+                }
+                Integer row = userOrdinals.get((String) record[0]);
+                if (row == null) {
+                    row = userOrdinals.size();
+                    userOrdinals.put((String) record[0], row);
+                }
+                if (recordCount == recordRows.length) {
+                    int capacity = recordCount * 2;
+                    recordRows = Arrays.copyOf(recordRows, capacity);
+                    recordColumns = Arrays.copyOf(recordColumns, capacity);
+                    recordCodes = Arrays.copyOf(recordCodes, capacity);
+                }
+                recordRows[recordCount] = row;
+                recordColumns[recordCount] = column;
+                recordCodes[recordCount] = (byte) AttendanceMatrix.toCode((String) record[2]);
+                recordCount++;
+            }
+        }
+
+        AttendanceMatrix matrix = AttendanceMatrix.create(userOrdinals.keySet(), taskIds, members.size());
+        for (int i = 0; i < recordCount; i++) {
+            matrix.set(recordRows[i], recordColumns[i], recordCodes[i]);
+        }
+        return matrix;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public AttendanceMatrix createSnapshot(String courseId) {
+        AttendanceMatrix matrix = buildMatrix(courseId);
+        byte[] data = matrix.encode(compress);
+
+        CourseAttendanceSnapshot snapshot = CourseAttendanceSnapshot.builder()
+            .courseId(courseId)
+            .version(AttendanceMatrix.VERSION)
+            .userCount(matrix.getUserCount())
+            .taskCount(matrix.getTaskCount())
+            .data(data)
+            .build();
+        snapshotRepository.save(snapshot);
+        decodedCache.put(courseId, matrix);
+
+        log.info("已生成课程考勤快照: courseId={}, 用户数={}, 签到任务数={}, 大小={}字节",
+            courseId, matrix.getUserCount(), matrix.getTaskCount(), data.length);
+        return matrix;
+    }
+
+    @Override
+    public AttendanceMatrix getSnapshot(String courseId) {
+        AttendanceMatrix cached = decodedCache.getIfPresent(courseId);
+        if (cached != null) {
+            return cached;
+        }
+
+        AttendanceMatrix matrix = loadSnapshot(courseId);
+        if (matrix == null) {
+            // 快照缺失时在独立的读写事务中重建，调用方可能处于只读事务
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            try {
+                return transactionTemplate.execute(status -> createSnapshot(courseId));
+            } catch (DataIntegrityViolationException e) {
+                // 并发读取同时重建，其他请求已先写入快照：在新事务中读取已提交的快照
+                log.debug("课程考勤快照已由并发请求生成: courseId={}", courseId);
+                matrix = transactionTemplate.execute(status -> loadSnapshot(courseId));
+                if (matrix == null) {
+                    throw e;
+                }
+            }
+        }
+
+        decodedCache.put(courseId, matrix);
+        return matrix;
+    }
+
+    /**
+     * 读取并解码当前版本的快照，不存在或版本不符时返回null
+     */
+    private AttendanceMatrix loadSnapshot(String courseId) {
+        return snapshotRepository.findById(courseId)
+            .filter(snapshot -> snapshot.getVersion() == AttendanceMatrix.VERSION)
+            .map(snapshot -> AttendanceMatrix.decode(snapshot.getData()))
+            .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public void evictSnapshot(String courseId) {
+        decodedCache.invalidate(courseId);
+        if (snapshotRepository.deleteByCourseId(courseId) > 0) {
+            log.info("已删除课程考勤快照: courseId={}", courseId);
+        }
+    }
+}
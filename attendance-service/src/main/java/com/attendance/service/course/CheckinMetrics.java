@@ -0,0 +1,112 @@
+package com.attendance.service.course;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.jfr.CheckinStageEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 签到流程指标
+ * 按阶段和签到方式记录耗时（attendance.checkin.stage），以及整体耗时和结果（attendance.checkin）。
+ * 计时器在启动时按已知的签到方式预先注册，未知方式统一记为OTHER，避免标签基数失控
+ */
+@Component
+public class CheckinMetrics {
+
+    /**
+     * 签到流程阶段
+     */
+    public enum Stage {
+        /** 查询签到任务 */
+        TASK_LOOKUP,
+        /** 校验课程成员 */
+        MEMBERSHIP,
+        /** 检查重复签到 */
+        DUPLICATE,
+        /** 按签到方式验证 */
+        VERIFY,
+        /** 写入签到记录 */
+        INSERT,
+        /** 组装返回DTO */
+        ASSEMBLE
+    }
+
+    private static final String OTHER = "OTHER";
+
+    private static final List<String> METHODS = List.of(
+        SystemConstants.CheckInType.QR_CODE,
+        SystemConstants.CheckInType.LOCATION,
+        SystemConstants.CheckInType.WIFI,
+        SystemConstants.CheckInType.MANUAL,
+        OTHER);
+
+    private final Map<String, EnumMap<Stage, Timer>> stageTimers = new HashMap<>();
+    private final Map<String, Timer> successTimers = new HashMap<>();
+    private final Map<String, Timer> failureTimers = new HashMap<>();
+
+    public CheckinMetrics(MeterRegistry meterRegistry) {
+        for (String method : METHODS) {
+            EnumMap<Stage, Timer> timers = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                timers.put(stage, Timer.builder("attendance.checkin.stage")
+                    .description("签到流程各阶段耗时")
+                    .tag("stage", stage.name().toLowerCase())
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            }
+            stageTimers.put(method, timers);
+            successTimers.put(method, checkinTimer(meterRegistry, method, "success"));
+            failureTimers.put(method, checkinTimer(meterRegistry, method, "failure"));
+        }
+    }
+
+    /**
+     * 记录一个阶段的耗时，开启JFR录制时同时提交阶段事件
+     *
+     * @param stage 阶段
+     * @param method 签到方式
+     * @param checkinId 签到任务ID
+     * @param courseId 签到任务所属课程ID
+     * @param startNanos 阶段开始时间（System.nanoTime）
+     * @return 当前时间，作为下一阶段的开始时间
+     */
+    public long record(Stage stage, String method, String checkinId, String courseId, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers.get(normalize(method)).get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        CheckinStageEvent.emit(checkinId, courseId, method, stage.name(), now - startNanos);
+        return now;
+    }
+
+    /**
+     * 记录整次签到的耗时和结果
+     *
+     * @param method 签到方式
+     * @param startNanos 签到开始时间（System.nanoTime）
+     * @param success 是否签到成功
+     */
+    public void complete(String method, long startNanos, boolean success) {
+        Timer timer = (success ? successTimers : failureTimers).get(normalize(method));
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer checkinTimer(MeterRegistry meterRegistry, String method, String outcome) {
+        return Timer.builder("attendance.checkin")
+            .description("签到请求整体耗时")
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static String normalize(String method) {
+        return method != null && METHODS.contains(method) ? method : OTHER;
+    }
+}
@@ -1,5 +1,6 @@
 package com.attendance.service.course;
 
+import com.attendance.model.dto.course.AttendanceMatrixDTO;
 import com.attendance.model.dto.course.CourseDTO;
 import com.attendance.model.dto.course.CourseUserDTO;
 import com.attendance.model.dto.course.CourseRecordDTO;
@@ -230,6 +231,15 @@ public interface CourseService {
      */
     Map<String, Object> getCourseAttendanceDetail(String courseId);
     
+    /**
+     * 获取课程考勤矩阵（所有学生 × 所有签到任务）
+     * 签到记录通过一次流式查询读取，已归档课程直接使用考勤快照
+     *
+     * @param courseId 课程ID
+     * @return 考勤矩阵
+     */
+    AttendanceMatrixDTO getAttendanceMatrix(String courseId);
+    
     /**
      * 删除课程（逻辑删除）
      * 只有课程创建者或管理员可以删除课程
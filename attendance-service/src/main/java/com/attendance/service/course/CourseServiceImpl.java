@@ -1,8 +1,15 @@
 package com.attendance.service.course;
 
+import com.attendance.common.config.security.SecurityUserDetails;
 import com.attendance.common.constants.SystemConstants;
 import com.attendance.common.exception.BusinessException;
+import com.attendance.common.exception.ErrorCode;
+import com.attendance.common.exception.RejectionException;
+import com.attendance.common.jfr.StatisticsEvent;
+import com.attendance.common.util.AttendanceMatrix;
 import com.attendance.common.util.DateTimeUtil;
+import com.attendance.common.util.SecurityUtil;
+import com.attendance.model.dto.course.AttendanceMatrixDTO;
 import com.attendance.model.dto.course.CourseDTO;
 import com.attendance.model.dto.course.CourseUserDTO;
 import com.attendance.model.dto.course.CourseRecordDTO;
@@ -14,13 +21,12 @@ import com.attendance.repository.course.CourseRepository;
 import com.attendance.repository.course.CourseUserRepository;
 import com.attendance.repository.course.CourseRecordRepository;
 import com.attendance.repository.user.UserRepository;
+import com.attendance.service.security.CoursePermissionCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -42,10 +48,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CourseServiceImpl implements CourseService {
 
+    /**
+     * 解析位置签到参数，ObjectMapper线程安全，无需每次签到创建
+     */
+    private static final ObjectMapper VERIFY_PARAMS_MAPPER = new ObjectMapper();
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final CourseUserRepository courseUserRepository;
     private final CourseRecordRepository courseRecordRepository;
+    private final AttendanceSnapshotService attendanceSnapshotService;
+    private final CourseStatusUpdater courseStatusUpdater;
+    private final CoursePermissionCache coursePermissionCache;
+    private final CheckinMetrics checkinMetrics;
     
     @Override
     public CourseDTO getCourse(String id) {
@@ -73,6 +88,7 @@ public class CourseServiceImpl implements CourseService {
     /**
      * 检查并更新课程状态
      * 根据课程的结束日期和当前日期，自动更新课程状态
+     * 状态变更由 CourseStatusUpdater 在独立事务中持久化，因此可以在只读事务中调用
      *
      * @param course 需要检查的课程
      * @return 如果状态发生更改则返回true
@@ -93,8 +109,8 @@ public class CourseServiceImpl implements CourseService {
                 course.getId(), course.getName(), course.getEndDate(), 
                 course.getStatus(), SystemConstants.CourseStatus.FINISHED);
             
+            courseStatusUpdater.updateStatus(course.getId(), course.getStatus(), SystemConstants.CourseStatus.FINISHED);
             course.setStatus(SystemConstants.CourseStatus.FINISHED);
-            courseRepository.save(course);
             updated = true;
         }
         
@@ -106,14 +122,27 @@ public class CourseServiceImpl implements CourseService {
                 course.getId(), course.getName(), course.getStatus(), 
                 SystemConstants.CourseStatus.ARCHIVED);
             
+            // 归档时同时冻结考勤矩阵快照
+            courseStatusUpdater.updateStatus(course.getId(), course.getStatus(), SystemConstants.CourseStatus.ARCHIVED);
             course.setStatus(SystemConstants.CourseStatus.ARCHIVED);
-            courseRepository.save(course);
             updated = true;
         }
         
         return updated;
     }
     
+    /**
+     * 已归档课程的成员或签到任务发生变化时，删除过期的考勤快照（下次读取时重建）
+     *
+     * @param course 课程
+     */
+    private void evictAttendanceSnapshotIfArchived(Course course) {
+        if (SystemConstants.CourseType.COURSE.equals(course.getType()) &&
+            SystemConstants.CourseStatus.ARCHIVED.equals(course.getStatus())) {
+            attendanceSnapshotService.evictSnapshot(course.getId());
+        }
+    }
+    
     @Override
     public List<CourseDTO> getAllCourses() {
         List<Course> courses = courseRepository.findByTypeAndActive(SystemConstants.CourseType.COURSE, true);
@@ -133,28 +162,23 @@ public class CourseServiceImpl implements CourseService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CourseDTO> getMyCourses() {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         List<Course> courses = new ArrayList<>();
         
         // 检查用户角色
-        boolean isTeacher = authentication.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_" + SystemConstants.UserRole.TEACHER));
+        boolean isTeacher = hasRole(SystemConstants.UserRole.TEACHER);
         
-        boolean isStudent = authentication.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_" + SystemConstants.UserRole.STUDENT));
+        boolean isStudent = hasRole(SystemConstants.UserRole.STUDENT);
         
         // 教师只能看到自己创建的课程
         if (isTeacher) {
             courses = courseRepository.findByCreatorIdAndTypeAndActive(
                 currentUser.getId(), SystemConstants.CourseType.COURSE, true);
-            log.debug("教师用户[{}]查询创建的课程: 找到{}个", username, courses.size());
+            log.debug("教师用户[{}]查询创建的课程: 找到{}个", currentUser.getUsername(), courses.size());
         } 
         // 学生只能看到自己加入的课程
         else if (isStudent) {
@@ -170,13 +194,13 @@ public class CourseServiceImpl implements CourseService {
                         SystemConstants.CourseType.COURSE.equals(course.getType()) && 
                         course.getActive())
                     .collect(Collectors.toList());
-                log.debug("学生用户[{}]查询加入的课程: 找到{}个", username, courses.size());
+                log.debug("学生用户[{}]查询加入的课程: 找到{}个", currentUser.getUsername(), courses.size());
             }
         }
         // 管理员可以看到所有课程
         else {
             courses = courseRepository.findByTypeAndActive(SystemConstants.CourseType.COURSE, true);
-            log.debug("管理员用户[{}]查询所有课程: 找到{}个", username, courses.size());
+            log.debug("管理员用户[{}]查询所有课程: 找到{}个", currentUser.getUsername(), courses.size());
         }
         
         // 检查并更新课程状态
@@ -195,24 +219,19 @@ public class CourseServiceImpl implements CourseService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getMyCourses(int page, int size) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 创建分页请求，添加按创建时间降序排序
         Pageable pageable = PageRequest.of(page, size, org.springframework.data.domain.Sort.by("createdAt").descending());
         Page<Course> coursePageResult = null;
         
         // 检查用户角色
-        boolean isTeacher = authentication.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_" + SystemConstants.UserRole.TEACHER));
+        boolean isTeacher = hasRole(SystemConstants.UserRole.TEACHER);
         
-        boolean isStudent = authentication.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_" + SystemConstants.UserRole.STUDENT));
+        boolean isStudent = hasRole(SystemConstants.UserRole.STUDENT);
         
         // 教师只能看到自己创建的课程
         if (isTeacher) {
@@ -330,10 +349,7 @@ public class CourseServiceImpl implements CourseService {
     @Transactional
     public CourseDTO createCourse(String name, String description, LocalDate startDate, LocalDate endDate) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User creator = userRepository.findByUsername(username)
+        User creator = userRepository.findById(SecurityUtil.getCurrentUserId())
             .orElseThrow(() -> new BusinessException("用户不存在"));
         
         // 验证日期
@@ -380,10 +396,7 @@ public class CourseServiceImpl implements CourseService {
                                       LocalDateTime startTime, LocalDateTime endTime, 
                                       String checkinType, String verifyParams) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User creator = userRepository.findByUsername(username)
+        User creator = userRepository.findById(SecurityUtil.getCurrentUserId())
             .orElseThrow(() -> new BusinessException("用户验证失败：无法获取当前用户信息，请重新登录"));
         
         // 查找父课程
@@ -392,7 +405,7 @@ public class CourseServiceImpl implements CourseService {
         
         // 验证用户是否为课程创建者
         if (!parentCourse.getCreatorId().equals(creator.getId()) && 
-            !isAdmin(authentication)) {
+            !isAdmin()) {
             throw new BusinessException("权限不足：只有课程创建者可以创建签到任务，请确认您是否有权限操作该课程");
         }
         
@@ -497,6 +510,8 @@ public class CourseServiceImpl implements CourseService {
             savedCheckinTask = courseRepository.save(savedCheckinTask);
         }
         
+        evictAttendanceSnapshotIfArchived(parentCourse);
+        
         CourseDTO courseDTO = convertToDTO(savedCheckinTask, creator);
         courseDTO.setParentCourseName(parentCourse.getName());
         
@@ -504,27 +519,22 @@ public class CourseServiceImpl implements CourseService {
     }
     
     // 检查是否为管理员
-    private boolean isAdmin(Authentication authentication) {
-        return authentication.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    private boolean isAdmin() {
+        return SecurityUtil.hasRole(SystemConstants.UserRole.ADMIN);
     }
     
     @Override
     @Transactional
     public CourseDTO updateCourse(String courseId, String name, String description, LocalDate startDate, LocalDate endDate) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 查找课程
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new BusinessException("课程不存在"));
         
         // 验证权限：只有课程创建者和管理员可以更新课程
-        if (!course.getCreatorId().equals(currentUser.getId()) && !isAdmin(authentication)) {
+        if (!course.getCreatorId().equals(currentUser.getId()) && !isAdmin()) {
             throw new BusinessException("您没有权限更新该课程");
         }
         
@@ -572,10 +582,7 @@ public class CourseServiceImpl implements CourseService {
     @Transactional
     public CourseUserDTO joinCourseByCode(String code) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
+        User currentUser = userRepository.findById(SecurityUtil.getCurrentUserId())
             .orElseThrow(() -> new BusinessException("用户不存在"));
         
         // 查找课程
@@ -593,8 +600,7 @@ public class CourseServiceImpl implements CourseService {
         }
         
         // 检查用户角色 - 只有学生可以加入课程
-        boolean isStudent = authentication.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_" + SystemConstants.UserRole.STUDENT));
+        boolean isStudent = hasRole(SystemConstants.UserRole.STUDENT);
             
         if (!isStudent) {
             throw new BusinessException("只有学生可以加入课程");
@@ -610,6 +616,8 @@ public class CourseServiceImpl implements CourseService {
                 existing.setActive(true);
                 existing.setJoinedAt(LocalDateTime.now());
                 CourseUser updated = courseUserRepository.save(existing);
+                coursePermissionCache.evictMember(course.getId(), currentUser.getId());
+                evictAttendanceSnapshotIfArchived(course);
                 
                 return convertToCourseUserDTO(updated, currentUser, course);
             }
@@ -627,6 +635,8 @@ public class CourseServiceImpl implements CourseService {
         courseUser.setActive(true);
         
         CourseUser saved = courseUserRepository.save(courseUser);
+        coursePermissionCache.evictMember(course.getId(), currentUser.getId());
+        evictAttendanceSnapshotIfArchived(course);
         
         return convertToCourseUserDTO(saved, currentUser, course);
     }
@@ -635,10 +645,7 @@ public class CourseServiceImpl implements CourseService {
     @Transactional
     public CourseUserDTO joinCourseByQRCode(String qrCode) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
+        User currentUser = userRepository.findById(SecurityUtil.getCurrentUserId())
             .orElseThrow(() -> new BusinessException("用户不存在"));
         
         // 将二维码解析为课程ID
@@ -686,6 +693,7 @@ public class CourseServiceImpl implements CourseService {
         courseUser.setActive(true);
         
         courseUserRepository.save(courseUser);
+        coursePermissionCache.evictMember(course.getId(), currentUser.getId());
         
         // 返回课程用户关联信息
         CourseUserDTO dto = new CourseUserDTO();
@@ -717,17 +725,12 @@ public class CourseServiceImpl implements CourseService {
         }
         
         // 验证当前用户是否有权添加成员
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 只有创建者或助教可以添加成员
         if (!course.getCreatorId().equals(currentUser.getId())) {
-            boolean isAssistant = courseUserRepository.findByCourseIdAndUserId(courseId, currentUser.getId())
-                .map(cu -> SystemConstants.CourseUserRole.ASSISTANT.equals(cu.getRole()))
-                .orElse(false);
+            boolean isAssistant = SystemConstants.CourseUserRole.ASSISTANT.equals(
+                coursePermissionCache.getPermission(currentUser.getId(), courseId).role());
                 
             if (!isAssistant) {
                 throw new BusinessException("只有课程创建者或助教才能添加成员");
@@ -757,9 +760,14 @@ public class CourseServiceImpl implements CourseService {
             courseUser.setActive(true);
             
             courseUserRepository.save(courseUser);
+            coursePermissionCache.evictMember(courseId, userId);
             successCount++;
         }
         
+        if (successCount > 0) {
+            evictAttendanceSnapshotIfArchived(course);
+        }
+        
         return successCount;
     }
     
@@ -787,6 +795,8 @@ public class CourseServiceImpl implements CourseService {
         
         // 移除课程成员
         courseUserRepository.delete(courseUser);
+        coursePermissionCache.evictMember(courseId, userId);
+        evictAttendanceSnapshotIfArchived(course);
         
         // 记录日志(如果有需要)
         if (reason != null && !reason.trim().isEmpty()) {
@@ -868,6 +878,20 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public Map<String, Object> getCourseAttendanceStats(String courseId, int page, int size) {
+        StatisticsEvent event = StatisticsEvent.start("getCourseAttendanceStats", courseId, null);
+        try {
+            Map<String, Object> result = doGetCourseAttendanceStats(courseId, page, size);
+            event.success = true;
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * 课程各签到任务的出勤统计
+     */
+    private Map<String, Object> doGetCourseAttendanceStats(String courseId, int page, int size) {
         // 验证课程是否存在
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new BusinessException("课程不存在"));
@@ -877,16 +901,13 @@ public class CourseServiceImpl implements CourseService {
         }
         
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 验证用户是否有权限查看（必须是课程成员或创建者）
         boolean isCreator = course.getCreatorId().equals(currentUser.getId());
-        boolean isMember = courseUserRepository.existsByCourseIdAndUserIdAndActiveTrue(courseId, currentUser.getId());
+        boolean isMember = coursePermissionCache.isActiveMember(currentUser.getId(), courseId);
         
-        if (!isCreator && !isMember && !hasRole(authentication, "ADMIN")) {
+        if (!isCreator && !isMember && !hasRole("ADMIN")) {
             throw new BusinessException("您不是该课程的成员，无权查看");
         }
         
@@ -915,7 +936,7 @@ public class CourseServiceImpl implements CourseService {
             item.put("statistics", statistics);
             
             // 如果是学生，添加个人签到状态
-            if (!isCreator && !hasRole(authentication, "ADMIN")) {
+            if (!isCreator && !hasRole("ADMIN")) {
                 Optional<CourseRecord> record = courseRecordRepository.findByUserIdAndCourseId(currentUser.getId(), checkin.getId());
                 String personalStatus = record.isPresent() ? record.get().getStatus() : SystemConstants.RecordStatus.ABSENT;
                 item.put("personalStatus", personalStatus);
@@ -936,7 +957,22 @@ public class CourseServiceImpl implements CourseService {
     }
     
     @Override
+    @Transactional(readOnly = true, timeoutString = "${app.reporting.query-timeout-seconds:30}")
     public Map<String, Object> getCheckinStatistics(String checkinId) {
+        StatisticsEvent event = StatisticsEvent.start("getCheckinStatistics", null, checkinId);
+        try {
+            Map<String, Object> result = doGetCheckinStatistics(checkinId);
+            event.success = true;
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * 签到任务统计
+     */
+    private Map<String, Object> doGetCheckinStatistics(String checkinId) {
         Map<String, Object> statistics = new HashMap<>();
         
         // 获取签到任务
@@ -1105,8 +1141,7 @@ public class CourseServiceImpl implements CourseService {
             .collect(Collectors.toList());
             
         // 转换为学生信息列表 (仅教师可见)
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (hasRole(authentication, "TEACHER") || hasRole(authentication, "ADMIN")) {
+        if (hasRole("TEACHER") || hasRole("ADMIN")) {
             List<Map<String, Object>> absentStudents = new ArrayList<>();
             for (String userId : absentUserIds) {
                 User user = userRepository.findById(userId).orElse(null);
@@ -1125,9 +1160,8 @@ public class CourseServiceImpl implements CourseService {
     }
 
     // 检查用户是否具有指定角色
-    private boolean hasRole(Authentication authentication, String roleName) {
-        return authentication.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_" + roleName));
+    private boolean hasRole(String roleName) {
+        return SecurityUtil.hasRole(roleName);
     }
 
     @Override
@@ -1141,16 +1175,13 @@ public class CourseServiceImpl implements CourseService {
         }
         
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 验证用户是否有权限查看（必须是课程成员或创建者）
         boolean isCreator = course.getCreatorId().equals(currentUser.getId());
-        boolean isMember = courseUserRepository.existsByCourseIdAndUserIdAndActiveTrue(courseId, currentUser.getId());
+        boolean isMember = coursePermissionCache.isActiveMember(currentUser.getId(), courseId);
         
-        if (!isCreator && !isMember && !hasRole(authentication, "ADMIN")) {
+        if (!isCreator && !isMember && !hasRole("ADMIN")) {
             throw new BusinessException("您不是该课程的成员，无权查看");
         }
         
@@ -1180,7 +1211,7 @@ public class CourseServiceImpl implements CourseService {
             item.put("createdAt", checkin.getCreatedAt());
             
             // 如果是学生，添加个人签到状态
-            if (!isCreator && !hasRole(authentication, "ADMIN")) {
+            if (!isCreator && !hasRole("ADMIN")) {
                 Optional<CourseRecord> record = courseRecordRepository.findByUserIdAndCourseId(currentUser.getId(), checkin.getId());
                 String recordStatus = record.isPresent() ? record.get().getStatus() : SystemConstants.RecordStatus.ABSENT;
                 
@@ -1239,7 +1270,22 @@ public class CourseServiceImpl implements CourseService {
     }
     
     @Override
+    @Transactional(readOnly = true, timeoutString = "${app.reporting.query-timeout-seconds:30}")
     public Map<String, Object> getCourseAttendanceDetail(String courseId) {
+        StatisticsEvent event = StatisticsEvent.start("getCourseAttendanceDetail", courseId, null);
+        try {
+            Map<String, Object> result = doGetCourseAttendanceDetail(courseId);
+            event.success = true;
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * 课程考勤明细
+     */
+    private Map<String, Object> doGetCourseAttendanceDetail(String courseId) {
         // 验证课程是否存在
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new BusinessException("课程不存在"));
@@ -1252,19 +1298,27 @@ public class CourseServiceImpl implements CourseService {
         checkAndUpdateCourseStatus(course);
         
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 验证用户是否有权限查看（必须是课程成员或创建者）
         boolean isCreator = course.getCreatorId().equals(currentUser.getId());
-        boolean isMember = courseUserRepository.existsByCourseIdAndUserIdAndActiveTrue(courseId, currentUser.getId());
+        boolean isMember = coursePermissionCache.isActiveMember(currentUser.getId(), courseId);
         
-        if (!isCreator && !isMember && !hasRole(authentication, "ADMIN")) {
+        if (!isCreator && !isMember && !hasRole("ADMIN")) {
             throw new BusinessException("您不是该课程的成员，无权查看");
         }
         
+        // 已归档课程直接从考勤快照计算
+        if (SystemConstants.CourseStatus.ARCHIVED.equals(course.getStatus())) {
+            AttendanceMatrix matrix = attendanceSnapshotService.getSnapshot(courseId);
+            boolean includePersonal = !isCreator && !hasRole("ADMIN");
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("courseInfo", convertToDTO(course, null));
+            response.put("statistics", buildSnapshotStatistics(matrix, currentUser.getId(), includePersonal));
+            return response;
+        }
+        
         // 获取课程下的所有签到任务
         List<Course> allCheckinTasks = courseRepository.findByParentCourseIdAndType(
             courseId, SystemConstants.CourseType.CHECKIN);
@@ -1306,7 +1360,7 @@ public class CourseServiceImpl implements CourseService {
         }
         
         // 如果是学生，添加个人统计
-        if (!isCreator && !hasRole(authentication, "ADMIN")) {
+        if (!isCreator && !hasRole("ADMIN")) {
             Map<String, Object> personalStats = new HashMap<>();
             
             long personalNormalCount = 0;
@@ -1349,17 +1403,207 @@ public class CourseServiceImpl implements CourseService {
         return response;
     }
     
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${app.reporting.query-timeout-seconds:30}")
+    public AttendanceMatrixDTO getAttendanceMatrix(String courseId) {
+        StatisticsEvent event = StatisticsEvent.start("getAttendanceMatrix", courseId, null);
+        try {
+            AttendanceMatrixDTO result = doGetAttendanceMatrix(courseId);
+            event.success = true;
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * 课程考勤矩阵
+     */
+    private AttendanceMatrixDTO doGetAttendanceMatrix(String courseId) {
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new BusinessException("课程不存在"));
+            
+        if (!SystemConstants.CourseType.COURSE.equals(course.getType())) {
+            throw new BusinessException("指定ID不是有效的课程");
+        }
+        
+        // 已归档课程使用快照，其他课程单次流式读取签到记录构建
+        AttendanceMatrix matrix = SystemConstants.CourseStatus.ARCHIVED.equals(course.getStatus())
+            ? attendanceSnapshotService.getSnapshot(courseId)
+            : attendanceSnapshotService.buildMatrix(courseId);
+        
+        // 行：学生成员，以及有签到记录的其他用户（如已退出的学生）
+        Set<String> studentIds = new HashSet<>(courseUserRepository.findUserIdsByCourseIdAndRole(
+            courseId, SystemConstants.CourseUserRole.STUDENT));
+        int taskCount = matrix.getTaskCount();
+        int[] rows = new int[matrix.getUserCount()];
+        int studentCount = 0;
+        for (int row = 0; row < matrix.getUserCount(); row++) {
+            if (studentIds.contains(matrix.getUserId(row)) || matrix.countInRow(row, AttendanceMatrix.NONE) < taskCount) {
+                rows[studentCount++] = row;
+            }
+        }
+        
+        String[] userIds = new String[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            userIds[i] = matrix.getUserId(rows[i]);
+        }
+        Map<String, User> userMap = new HashMap<>(studentCount * 2);
+        for (User user : userRepository.findAllById(Arrays.asList(userIds))) {
+            userMap.put(user.getId(), user);
+        }
+        String[] usernames = new String[studentCount];
+        String[] fullNames = new String[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            User user = userMap.get(userIds[i]);
+            usernames[i] = user != null ? user.getUsername() : null;
+            fullNames[i] = user != null ? user.getFullName() : null;
+        }
+        
+        // 列：签到任务（按矩阵列顺序）
+        Map<String, Course> taskMap = courseRepository.findByParentCourseIdAndType(
+                courseId, SystemConstants.CourseType.CHECKIN).stream()
+            .collect(Collectors.toMap(Course::getId, task -> task));
+        String[] checkinIds = new String[taskCount];
+        String[] checkinNames = new String[taskCount];
+        LocalDateTime[] checkinStartTimes = new LocalDateTime[taskCount];
+        for (int column = 0; column < taskCount; column++) {
+            checkinIds[column] = matrix.getTaskId(column);
+            Course task = taskMap.get(checkinIds[column]);
+            checkinNames[column] = task != null ? task.getName() : null;
+            checkinStartTimes[column] = task != null ? task.getCheckinStartTime() : null;
+        }
+        
+        // 单次遍历矩阵，同时累计每个学生和每个签到任务的计数
+        byte[] statuses = new byte[studentCount * taskCount];
+        int[] studentNormalCounts = new int[studentCount];
+        int[] studentLateCounts = new int[studentCount];
+        int[] checkinNormalCounts = new int[taskCount];
+        int[] checkinLateCounts = new int[taskCount];
+        for (int i = 0; i < studentCount; i++) {
+            int offset = i * taskCount;
+            for (int column = 0; column < taskCount; column++) {
+                int code = matrix.get(rows[i], column);
+                statuses[offset + column] = (byte) code;
+                if (code == AttendanceMatrix.NORMAL) {
+                    studentNormalCounts[i]++;
+                    checkinNormalCounts[column]++;
+                } else if (code == AttendanceMatrix.LATE) {
+                    studentLateCounts[i]++;
+                    checkinLateCounts[column]++;
+                }
+            }
+        }
+        
+        return AttendanceMatrixDTO.builder()
+            .courseId(course.getId())
+            .courseName(course.getName())
+            .checkinIds(checkinIds)
+            .checkinNames(checkinNames)
+            .checkinStartTimes(checkinStartTimes)
+            .checkinNormalCounts(checkinNormalCounts)
+            .checkinLateCounts(checkinLateCounts)
+            .userIds(userIds)
+            .usernames(usernames)
+            .fullNames(fullNames)
+            .studentNormalCounts(studentNormalCounts)
+            .studentLateCounts(studentLateCounts)
+            .statuses(statuses)
+            .build();
+    }
+    
+    /**
+     * 根据考勤快照计算课程签到统计，结果与实时统计保持一致
+     *
+     * @param matrix 考勤矩阵
+     * @param userId 当前用户ID
+     * @param includePersonal 是否包含个人统计
+     * @return 统计信息
+     */
+    private Map<String, Object> buildSnapshotStatistics(AttendanceMatrix matrix, String userId, boolean includePersonal) {
+        Map<String, Object> statistics = new HashMap<>();
+        
+        long totalStudents = matrix.getMemberCount();
+        long totalCheckins = matrix.getTaskCount();
+        statistics.put("totalStudents", totalStudents);
+        statistics.put("totalCheckins", totalCheckins);
+        
+        long totalNormalCount = 0;
+        long totalLateCount = 0;
+        long totalAbsentCount = 0;
+        
+        for (int column = 0; column < matrix.getTaskCount(); column++) {
+            long normalCount = matrix.countInColumn(column, AttendanceMatrix.NORMAL);
+            long lateCount = matrix.countInColumn(column, AttendanceMatrix.LATE);
+            
+            totalNormalCount += normalCount;
+            totalLateCount += lateCount;
+            totalAbsentCount += Math.max(0, totalStudents - (normalCount + lateCount));
+        }
+        
+        statistics.put("totalNormalCount", totalNormalCount);
+        statistics.put("totalLateCount", totalLateCount);
+        statistics.put("totalAbsentCount", totalAbsentCount);
+        
+        if (totalCheckins > 0 && totalStudents > 0) {
+            double attendanceRate = (double) (totalNormalCount + totalLateCount) / (totalCheckins * totalStudents) * 100;
+            statistics.put("attendanceRate", Math.round(attendanceRate * 100) / 100.0); // 保留两位小数
+        } else {
+            statistics.put("attendanceRate", 0.0);
+        }
+        
+        if (includePersonal) {
+            Map<String, Object> personalStats = new HashMap<>();
+            
+            int row = matrix.rowOf(userId);
+            long personalNormalCount = row < 0 ? 0 : matrix.countInRow(row, AttendanceMatrix.NORMAL);
+            long personalLateCount = row < 0 ? 0 : matrix.countInRow(row, AttendanceMatrix.LATE);
+            long personalAbsentCount = row < 0 ? totalCheckins : matrix.countInRow(row, AttendanceMatrix.NONE);
+            
+            personalStats.put("normalCount", personalNormalCount);
+            personalStats.put("lateCount", personalLateCount);
+            personalStats.put("absentCount", personalAbsentCount);
+            
+            if (totalCheckins > 0) {
+                double personalAttendanceRate = (double) (personalNormalCount + personalLateCount) / totalCheckins * 100;
+                personalStats.put("attendanceRate", Math.round(personalAttendanceRate * 100) / 100.0); // 保留两位小数
+            } else {
+                personalStats.put("attendanceRate", 0.0);
+            }
+            
+            statistics.put("personalStats", personalStats);
+        }
+        
+        return statistics;
+    }
+    
     @Override
     public CourseRecordDTO submitCheckIn(String courseId, String verifyMethod, String location, String device, String verifyData) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            CourseRecordDTO dto = doSubmitCheckIn(courseId, verifyMethod, location, device, verifyData, start);
+            success = true;
+            return dto;
+        } finally {
+            checkinMetrics.complete(verifyMethod, start, success);
+        }
+    }
+
+    /**
+     * 提交签到，按阶段记录耗时
+     */
+    private CourseRecordDTO doSubmitCheckIn(String courseId, String verifyMethod, String location, String device,
+                                            String verifyData, long stageStart) {
         // 检查是否是二维码扫描格式（可能包含时间戳）
         if (SystemConstants.CheckInType.QR_CODE.equals(verifyMethod) && courseId != null && courseId.contains(":")) {
-            log.info("检测到二维码格式的签到ID: {}", courseId);
+            log.debug("检测到二维码格式的签到ID: {}", courseId);
             // 分离实际的签到任务ID和时间戳
             String[] parts = courseId.split(":");
             if (parts.length >= 2) {
                 String originalId = courseId;
                 courseId = parts[0];
-                log.info("从二维码内容中提取签到任务ID: {} -> {}", originalId, courseId);
+                log.debug("从二维码内容中提取签到任务ID: {} -> {}", originalId, courseId);
                 
                 // 如果verifyData为空，则使用完整的二维码内容作为验证数据
                 if (verifyData == null || verifyData.isEmpty()) {
@@ -1371,54 +1615,51 @@ public class CourseServiceImpl implements CourseService {
         
         // 验证签到任务是否存在
         Course checkinTask = courseRepository.findById(courseId)
-            .orElseThrow(() -> new BusinessException("签到任务不存在：请检查签到任务ID是否正确"));
+            .orElseThrow(ErrorCode.CHECKIN_TASK_NOT_FOUND::rejection);
             
         if (!SystemConstants.CourseType.CHECKIN.equals(checkinTask.getType())) {
-            throw new BusinessException("无效的签到操作：提供的ID不是签到任务，请确认您使用了正确的签到ID");
+            throw ErrorCode.CHECKIN_NOT_A_TASK.rejection();
         }
         
         // 检查任务状态
         if (!SystemConstants.TaskStatus.ACTIVE.equals(checkinTask.getStatus())) {
-            if (SystemConstants.TaskStatus.CREATED.equals(checkinTask.getStatus())) {
-                throw new BusinessException("签到尚未开始：该签到任务已创建但尚未激活，请等待教师开始签到");
-            } else if (SystemConstants.TaskStatus.ENDED.equals(checkinTask.getStatus()) || 
-                     SystemConstants.TaskStatus.COMPLETED.equals(checkinTask.getStatus())) {
-                throw new BusinessException("签到已结束：该签到任务已经关闭，无法继续签到");
-            } else {
-                throw new BusinessException("签到已取消：该签到任务已被教师取消");
-            }
+            throw checkinStatusRejection(checkinTask.getStatus());
         }
         
         // 检查签到时间
         LocalDateTime now = LocalDateTime.now();
         if (checkinTask.getCheckinStartTime() != null && now.isBefore(checkinTask.getCheckinStartTime())) {
-            throw new BusinessException("签到未开始：请在" + 
+            throw ErrorCode.CHECKIN_NOT_STARTED.rejection("签到未开始：请在" + 
                 DateTimeUtil.formatDateTime(checkinTask.getCheckinStartTime()) + "之后再尝试签到");
         }
         
         if (checkinTask.getCheckinEndTime() != null && now.isAfter(checkinTask.getCheckinEndTime())) {
-            throw new BusinessException("签到已截止：签到时间已于" + 
+            throw ErrorCode.CHECKIN_DEADLINE_PASSED.rejection("签到已截止：签到时间已于" + 
                 DateTimeUtil.formatDateTime(checkinTask.getCheckinEndTime()) + "结束，请联系教师处理");
         }
+        stageStart = checkinMetrics.record(CheckinMetrics.Stage.TASK_LOOKUP, verifyMethod, courseId, checkinTask.getParentCourseId(), stageStart);
         
         // 获取当前用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户验证失败：无法获取当前用户信息，请重新登录"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
             
         // 检查是否为课程成员
-        if (!courseUserRepository.existsByCourseIdAndUserIdAndActiveTrue(
-                checkinTask.getParentCourseId(), currentUser.getId())) {
-            throw new BusinessException("签到失败：您不是该课程的成员，只有课程成员才能进行签到");
+        if (!coursePermissionCache.isActiveMember(currentUser.getId(), checkinTask.getParentCourseId())) {
+            throw ErrorCode.CHECKIN_NOT_MEMBER.rejection();
         }
+        // 任务实体来自二级缓存，成员关系来自权限缓存，其他节点上的结束、取消任务和移除成员不会使本节点的缓存失效，
+        // 写入前用一条不经过缓存的查询按数据库再确认一次
+        if (!courseRepository.isCheckinOpenForMember(courseId, currentUser.getId(), SystemConstants.TaskStatus.ACTIVE)) {
+            throw staleCheckinRejection(courseId);
+        }
+        stageStart = checkinMetrics.record(CheckinMetrics.Stage.MEMBERSHIP, verifyMethod, courseId, checkinTask.getParentCourseId(), stageStart);
         
         // 检查是否重复签到
         Optional<CourseRecord> existingRecord = courseRecordRepository.findByUserIdAndCourseId(
             currentUser.getId(), courseId);
         if (existingRecord.isPresent()) {
-            throw new BusinessException("重复签到：您已经完成了本次签到，无需重复操作");
+            throw ErrorCode.CHECKIN_DUPLICATE.rejection();
         }
+        stageStart = checkinMetrics.record(CheckinMetrics.Stage.DUPLICATE, verifyMethod, courseId, checkinTask.getParentCourseId(), stageStart);
         
         // 验证签到数据 (根据不同的签到方式)
         boolean isLate = false;
@@ -1438,7 +1679,7 @@ public class CourseServiceImpl implements CourseService {
                     
                     // 验证提取的courseId是否匹配
                     if (!courseId.equals(extractedCourseId)) {
-                        throw new BusinessException("二维码验证失败：扫描的二维码数据无效，请确认您扫描了正确的签到二维码");
+                        throw ErrorCode.QR_CODE_INVALID.rejection();
                     }
                     
                     // 验证时间戳的有效性（只有最近生成的二维码才有效）
@@ -1451,18 +1692,18 @@ public class CourseServiceImpl implements CourseService {
                         int maxAllowedTimeDiff = 3;
                         
                         if (timeDiff > maxAllowedTimeDiff) {
-                            throw new BusinessException("二维码已过期：请使用最新的二维码进行签到");
+                            throw ErrorCode.QR_CODE_EXPIRED.rejection();
                         }
                         
                         log.debug("二维码时间戳验证通过: 二维码时间块={}, 当前时间块={}, 时间差={}个块", 
                                 qrCodeTimeBlock, currentTimeBlock, timeDiff);
                     } catch (NumberFormatException e) {
                         log.warn("二维码时间戳格式错误: {}", parts[1]);
-                        throw new BusinessException("二维码格式错误：无效的时间戳");
+                        throw ErrorCode.QR_CODE_MALFORMED.rejection();
                     }
                 } else if (!courseId.equals(verifyData)) {
                     // 兼容旧版二维码（不包含时间戳）
-                    throw new BusinessException("二维码验证失败：扫描的二维码数据无效，请确认您扫描了正确的签到二维码");
+                    throw ErrorCode.QR_CODE_INVALID.rejection();
                 }
             }
             // 如果未提供verifyData，使用courseId作为默认值（与二维码生成逻辑一致）
@@ -1472,88 +1713,69 @@ public class CourseServiceImpl implements CourseService {
         } else if (SystemConstants.CheckInType.LOCATION.equals(verifyMethod)) {
             // 位置签到逻辑
             if (location == null || location.isEmpty()) {
-                throw new BusinessException("位置签到失败：位置信息缺失，请允许应用获取您的位置信息后重试");
+                throw ErrorCode.LOCATION_MISSING.rejection();
             }
             
             // 获取签到任务的验证参数
             String verifyParams = checkinTask.getVerifyParams();
             if (verifyParams == null || verifyParams.isEmpty()) {
-                throw new BusinessException("位置签到失败：教师未设置位置签到参数");
+                throw ErrorCode.LOCATION_NOT_CONFIGURED.rejection();
             }
             
+            // 解析JSON格式的verifyParams，获取教师设置的经纬度和半径
+            JsonNode paramsNode;
             try {
-                // 解析JSON格式的verifyParams
-                ObjectMapper objectMapper = new ObjectMapper();
-                JsonNode paramsNode = objectMapper.readTree(verifyParams);
-                
-                // 获取教师设置的经纬度和半径
-                double targetLat = paramsNode.path("latitude").asDouble();
-                double targetLng = paramsNode.path("longitude").asDouble();
-                double radius = paramsNode.path("radius").asDouble();
-                
-                if (targetLat == 0 || targetLng == 0 || radius == 0) {
-                    log.warn("位置签到参数不完整: {}", verifyParams);
-                    throw new BusinessException("位置签到失败：位置签到参数配置不正确");
-                }
-                
-                // 解析学生提交的位置
-                try {
-                    // 直接在这里解析位置字符串 (格式可能为: "纬度,经度" 或 "纬度,经度,地址文本")
-                    double studentLat;
-                    double studentLng;
-                    
-                    if (location == null || location.isEmpty() || !location.contains(",")) {
-                        throw new BusinessException("位置签到失败：无效的位置坐标格式 " + location);
-                    }
-                    
-                    log.debug("解析位置坐标: {}", location);
-                    
-                    // 分割坐标字符串，只取前两个值作为纬度和经度
-                    String[] parts = location.split(",");
-                    if (parts.length < 2) {
-                        throw new BusinessException("位置签到失败：无效的位置坐标格式，应包含'纬度,经度': " + location);
-                    }
-                    
-                    try {
-                        studentLat = Double.parseDouble(parts[0].trim());
-                        studentLng = Double.parseDouble(parts[1].trim());
-                        
-                        // 记录解析后的坐标值
-                        log.debug("解析得到纬度={}, 经度={}", studentLat, studentLng);
-                    } catch (NumberFormatException e) {
-                        log.error("解析坐标值失败: {}", e.getMessage());
-                        throw new BusinessException("位置签到失败：无效的坐标值: " + parts[0] + "," + parts[1]);
-                    }
-                    
-                    // 直接计算两点之间的距离
-                    double distance = calculateDistance(targetLat, targetLng, studentLat, studentLng);
-                    
-                    log.info("位置签到距离计算: 目标位置=({}, {}), 学生位置=({}, {}), 距离={}米, 允许范围={}米",
-                            targetLat, targetLng, studentLat, studentLng, distance, radius);
-                    
-                    // 检查距离是否在允许范围内
-                    if (distance > radius) {
-                        throw new BusinessException(String.format(
-                                "位置签到失败：您当前位置距离签到地点太远（%.2f米），超出了允许范围（%.2f米）", 
-                                distance, radius));
-                    }
-                } catch (BusinessException e) {
-                    throw e;
-                } catch (Exception e) {
-                    log.error("位置验证异常: {}", e.getMessage(), e);
-                    throw new BusinessException("位置签到失败：" + e.getMessage());
-                }
+                paramsNode = VERIFY_PARAMS_MAPPER.readTree(verifyParams);
             } catch (JsonProcessingException e) {
-                log.error("解析位置签到参数失败", e);
-                throw new BusinessException("位置签到失败：系统无法解析位置信息");
+                log.warn("解析位置签到参数失败: taskId={}, error={}", courseId, e.getOriginalMessage());
+                throw ErrorCode.LOCATION_PARAMS_INVALID.rejection();
+            }
+            double targetLat = paramsNode.path("latitude").asDouble();
+            double targetLng = paramsNode.path("longitude").asDouble();
+            double radius = paramsNode.path("radius").asDouble();
+            
+            if (targetLat == 0 || targetLng == 0 || radius == 0) {
+                log.warn("位置签到参数不完整: taskId={}, params={}", courseId, verifyParams);
+                throw ErrorCode.LOCATION_PARAMS_INVALID.rejection();
+            }
+            
+            // 解析学生提交的位置 (格式可能为: "纬度,经度" 或 "纬度,经度,地址文本")，只取前两个值作为纬度和经度
+            String[] parts = location.split(",");
+            if (parts.length < 2) {
+                log.debug("位置坐标格式无效: {}", location);
+                throw ErrorCode.LOCATION_INVALID.rejection();
+            }
+            
+            double studentLat;
+            double studentLng;
+            try {
+                studentLat = Double.parseDouble(parts[0].trim());
+                studentLng = Double.parseDouble(parts[1].trim());
+            } catch (NumberFormatException e) {
+                log.debug("位置坐标值无效: {}", location);
+                throw ErrorCode.LOCATION_INVALID.rejection();
+            }
+            
+            // 直接计算两点之间的距离
+            double distance = calculateDistance(targetLat, targetLng, studentLat, studentLng);
+            
+            log.debug("位置签到距离计算: 目标位置=({}, {}), 学生位置=({}, {}), 距离={}米, 允许范围={}米",
+                    targetLat, targetLng, studentLat, studentLng, distance, radius);
+            
+            // 检查距离是否在允许范围内
+            if (distance > radius) {
+                throw ErrorCode.LOCATION_OUT_OF_RANGE.rejection(String.format(
+                        "位置签到失败：您当前位置距离签到地点太远（%.2f米），超出了允许范围（%.2f米）", 
+                        distance, radius));
             }
         } else if (SystemConstants.CheckInType.WIFI.equals(verifyMethod)) {
             // WIFI签到逻辑
             if (verifyData == null || verifyData.isEmpty()) {
-                throw new BusinessException("WIFI签到失败：未提供WIFI信息，请确保连接到指定WIFI并允许应用获取网络信息");
+                throw ErrorCode.WIFI_MISSING.rejection();
             }
             // 可以在这里添加WIFI验证逻辑
         }
+        stageStart = checkinMetrics.record(CheckinMetrics.Stage.VERIFY, verifyMethod, courseId, checkinTask.getParentCourseId(), stageStart);
         
         // 如果未提供设备信息，尝试获取基本设备信息
         if (device == null || device.isEmpty()) {
@@ -1574,9 +1796,11 @@ public class CourseServiceImpl implements CourseService {
         record.setRemark(verifyData); // 可能为null
         
         CourseRecord savedRecord = courseRecordRepository.save(record);
+        stageStart = checkinMetrics.record(CheckinMetrics.Stage.INSERT, verifyMethod, courseId, checkinTask.getParentCourseId(), stageStart);
         
         // 返回DTO
         CourseRecordDTO dto = convertToRecordDTO(savedRecord, checkinTask);
+        checkinMetrics.record(CheckinMetrics.Stage.ASSEMBLE, verifyMethod, courseId, checkinTask.getParentCourseId(), stageStart);
         return dto;
     }
     
@@ -1732,10 +1956,7 @@ public class CourseServiceImpl implements CourseService {
         }
         
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
             
         // 确定查询的用户
         String targetUserId = userId;
@@ -1745,7 +1966,7 @@ public class CourseServiceImpl implements CourseService {
         
         // 检查权限：自己只能查看自己的记录，老师和管理员可以查看所有学生记录
         boolean isCreator = course.getCreatorId().equals(currentUser.getId());
-        if (!targetUserId.equals(currentUser.getId()) && !isCreator && !hasRole(authentication, "ADMIN")) {
+        if (!targetUserId.equals(currentUser.getId()) && !isCreator && !hasRole("ADMIN")) {
             throw new BusinessException("您无权查看其他用户的签到记录");
         }
         
@@ -1764,22 +1985,58 @@ public class CourseServiceImpl implements CourseService {
             
         // 查询用户在这些签到任务的记录
         List<CourseRecord> allRecords = new ArrayList<>();
-        for (String checkinId : checkinTaskIds) {
-            Optional<CourseRecord> recordOpt = courseRecordRepository.findByUserIdAndCourseId(targetUserId, checkinId);
-            if (recordOpt.isPresent()) {
-                allRecords.add(recordOpt.get());
+        List<CourseRecord> pagedRecords;
+        int totalItems;
+        int start = page * size;
+        if (SystemConstants.CourseStatus.ARCHIVED.equals(course.getStatus())) {
+            // 已归档课程：从考勤快照中确定有记录的签到任务，只查询当前页的记录
+            AttendanceMatrix matrix = attendanceSnapshotService.getSnapshot(courseId);
+            int row = matrix.rowOf(targetUserId);
+            List<String> recordedTaskIds = new ArrayList<>();
+            if (row >= 0) {
+                for (String checkinId : checkinTaskIds) {
+                    int column = matrix.columnOf(checkinId);
+                    if (column >= 0 && matrix.get(row, column) != AttendanceMatrix.NONE) {
+                        recordedTaskIds.add(checkinId);
+                    }
+                }
+            }
+            totalItems = recordedTaskIds.size();
+            
+            int end = Math.min(start + size, totalItems);
+            pagedRecords = new ArrayList<>();
+            if (start < end) {
+                List<String> pageTaskIds = recordedTaskIds.subList(start, end);
+                Map<String, CourseRecord> recordMap = courseRecordRepository
+                    .findByUserIdAndCourseIdIn(targetUserId, pageTaskIds).stream()
+                    .collect(Collectors.toMap(CourseRecord::getCourseId, r -> r, (a, b) -> a));
+                for (String checkinId : pageTaskIds) {
+                    CourseRecord record = recordMap.get(checkinId);
+                    if (record != null) {
+                        pagedRecords.add(record);
+                    }
+                }
+            }
+        } else {
+            for (String checkinId : checkinTaskIds) {
+                Optional<CourseRecord> recordOpt = courseRecordRepository.findByUserIdAndCourseId(targetUserId, checkinId);
+                if (recordOpt.isPresent()) {
+                    allRecords.add(recordOpt.get());
+                }
             }
+            totalItems = allRecords.size();
+            
+            // 手动分页
+            int end = Math.min(start + size, totalItems);
+            pagedRecords = start < end ? allRecords.subList(start, end) : new ArrayList<>();
         }
         
-        // 手动分页
-        int start = page * size;
-        int end = Math.min(start + size, allRecords.size());
-        List<CourseRecord> pagedRecords = start < end ? allRecords.subList(start, end) : new ArrayList<>();
-        
-        // 转换为DTO列表
+        // 转换为DTO列表（签到任务已全部加载，无需逐条查询）
+        Map<String, Course> checkinTaskMap = checkinTasks.stream()
+            .collect(Collectors.toMap(Course::getId, task -> task));
         List<Map<String, Object>> records = new ArrayList<>();
         for (CourseRecord record : pagedRecords) {
-            Course checkinTask = courseRepository.findById(record.getCourseId()).orElse(null);
+            Course checkinTask = checkinTaskMap.get(record.getCourseId());
             if (checkinTask != null) {
                 Map<String, Object> item = new HashMap<>();
                 item.put("recordId", record.getId());
@@ -1815,8 +2072,8 @@ public class CourseServiceImpl implements CourseService {
         Map<String, Object> response = new HashMap<>();
         response.put("records", records);
         response.put("currentPage", page);
-        response.put("totalItems", allRecords.size());
-        response.put("totalPages", (int) Math.ceil((double) allRecords.size() / size));
+        response.put("totalItems", totalItems);
+        response.put("totalPages", (int) Math.ceil((double) totalItems / size));
         
         // 添加用户和课程信息
         Map<String, Object> userInfo = new HashMap<>();
@@ -1846,18 +2103,14 @@ public class CourseServiceImpl implements CourseService {
     @Transactional
     public boolean deleteCourse(String courseId) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 查找课程
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new BusinessException("课程不存在"));
         
         // 验证权限：只有课程创建者和管理员可以删除课程
-        if (!course.getCreatorId().equals(currentUser.getId()) && !isAdmin(authentication)) {
+        if (!course.getCreatorId().equals(currentUser.getId()) && !isAdmin()) {
             throw new BusinessException("您没有权限删除该课程");
         }
         
@@ -1888,11 +2141,13 @@ public class CourseServiceImpl implements CourseService {
             }
             
             // 2. 逻辑删除课程
+            evictAttendanceSnapshotIfArchived(course);
             course.setActive(false);
             course.setStatus(SystemConstants.CourseStatus.DELETED);
             courseRepository.save(course);
+            coursePermissionCache.evictCourse(courseId);
             
-            log.info("成功删除课程(逻辑删除): ID={}, 名称={}, 创建者={}", courseId, course.getName(), username);
+            log.info("成功删除课程(逻辑删除): ID={}, 名称={}, 创建者={}", courseId, course.getName(), currentUser.getUsername());
             return true;
         } catch (Exception e) {
             log.error("删除课程失败: ID={}, 原因={}", courseId, e.getMessage(), e);
@@ -1907,11 +2162,7 @@ public class CourseServiceImpl implements CourseService {
     @Transactional
     public boolean deleteCheckinTask(String checkinId) {
         // 获取当前登录用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        SecurityUserDetails currentUser = SecurityUtil.getCurrentUser();
         
         // 查找签到任务
         Course checkinTask = courseRepository.findById(checkinId)
@@ -1927,7 +2178,7 @@ public class CourseServiceImpl implements CourseService {
             .orElseThrow(() -> new BusinessException("所属课程不存在"));
         
         // 验证权限：只有课程创建者和管理员可以删除签到任务
-        if (!parentCourse.getCreatorId().equals(currentUser.getId()) && !isAdmin(authentication)) {
+        if (!parentCourse.getCreatorId().equals(currentUser.getId()) && !isAdmin()) {
             throw new BusinessException("您没有权限删除该签到任务");
         }
         
@@ -1948,8 +2199,9 @@ public class CourseServiceImpl implements CourseService {
             checkinTask.setActive(false);
             checkinTask.setStatus(SystemConstants.TaskStatus.DELETED);
             courseRepository.save(checkinTask);
+            evictAttendanceSnapshotIfArchived(parentCourse);
             
-            log.info("成功删除签到任务(逻辑删除): ID={}, 名称={}, 创建者={}", checkinId, checkinTask.getName(), username);
+            log.info("成功删除签到任务(逻辑删除): ID={}, 名称={}, 创建者={}", checkinId, checkinTask.getName(), currentUser.getUsername());
             return true;
         } catch (Exception e) {
             log.error("删除签到任务失败: ID={}, 原因={}", checkinId, e.getMessage(), e);
@@ -1975,15 +2227,59 @@ public class CourseServiceImpl implements CourseService {
             }
         }
         
+        String previousStatus = course.getStatus();
         course.setStatus(status);
         Course updatedCourse = courseRepository.save(course);
         
+        // 维护归档课程的考勤快照
+        if (SystemConstants.CourseType.COURSE.equals(course.getType()) && !status.equals(previousStatus)) {
+            if (SystemConstants.CourseStatus.ARCHIVED.equals(status)) {
+                attendanceSnapshotService.createSnapshot(course.getId());
+            } else if (SystemConstants.CourseStatus.ARCHIVED.equals(previousStatus)) {
+                attendanceSnapshotService.evictSnapshot(course.getId());
+            }
+        }
+        
         User creator = userRepository.findById(updatedCourse.getCreatorId())
             .orElse(null);
         
         return convertToDTO(updatedCourse, creator);
     }
 
+    /**
+     * 缓存与数据库不一致时，按数据库最新数据确定签到的拒绝原因
+     *
+     * @param checkinId 签到任务ID
+     * @return 拒绝异常
+     */
+    private RejectionException staleCheckinRejection(String checkinId) {
+        Optional<String> status = courseRepository.findStatusById(checkinId);
+        if (status.isEmpty()) {
+            return ErrorCode.CHECKIN_TASK_NOT_FOUND.rejection();
+        }
+        if (!SystemConstants.TaskStatus.ACTIVE.equals(status.get())) {
+            return checkinStatusRejection(status.get());
+        }
+        // 任务仍在进行中，说明成员已在其他节点被移除
+        return ErrorCode.CHECKIN_NOT_MEMBER.rejection();
+    }
+
+    /**
+     * 签到任务未处于进行中时的拒绝原因
+     *
+     * @param status 任务状态
+     * @return 拒绝异常
+     */
+    private RejectionException checkinStatusRejection(String status) {
+        if (SystemConstants.TaskStatus.CREATED.equals(status)) {
+            return ErrorCode.CHECKIN_NOT_ACTIVATED.rejection();
+        }
+        if (SystemConstants.TaskStatus.ENDED.equals(status) || SystemConstants.TaskStatus.COMPLETED.equals(status)) {
+            return ErrorCode.CHECKIN_CLOSED.rejection();
+        }
+        return ErrorCode.CHECKIN_CANCELED.rejection();
+    }
+
     /**
      * 计算两个坐标点之间的距离（米）
      * 
@@ -0,0 +1,46 @@
+package com.attendance.service.course;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.repository.course.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 课程状态自动更新器
+ * 在独立的读写事务中持久化状态变更，使只读查询（可能路由到副本）中也能安全地触发自动结课和归档
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseStatusUpdater {
+
+    private final CourseRepository courseRepository;
+    private final AttendanceSnapshotService attendanceSnapshotService;
+
+    /**
+     * 将课程状态从预期状态更新为新状态，状态已被其他请求修改时不做处理
+     * 归档时同时生成考勤快照
+     *
+     * @param courseId 课程ID
+     * @param expectedStatus 预期的当前状态
+     * @param newStatus 新状态
+     * @return 是否更新成功
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean updateStatus(String courseId, String expectedStatus, String newStatus) {
+        return courseRepository.findById(courseId)
+            .filter(course -> expectedStatus.equals(course.getStatus()))
+            .map(course -> {
+                course.setStatus(newStatus);
+                courseRepository.save(course);
+                if (SystemConstants.CourseStatus.ARCHIVED.equals(newStatus)) {
+                    attendanceSnapshotService.createSnapshot(courseId);
+                }
+                return true;
+            })
+            .orElse(false);
+    }
+}
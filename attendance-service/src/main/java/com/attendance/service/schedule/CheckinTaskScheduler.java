@@ -1,6 +1,7 @@
 package com.attendance.service.schedule;
 
 import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.jfr.SchedulerRunEvent;
 import com.attendance.model.entity.Course;
 import com.attendance.repository.course.CourseRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 签到任务状态自动更新调度器
@@ -31,23 +33,33 @@ public class CheckinTaskScheduler {
     @Transactional
     public void updateTaskStatus() {
         log.debug("开始执行签到任务状态自动更新...");
-        
-        LocalDateTime now = LocalDateTime.now();
-        
-        // 1. 激活已到开始时间的任务
-        activateScheduledTasks(now);
-        
-        // 2. 结束已到结束时间的任务
-        endExpiredTasks(now);
-        
+        SchedulerRunEvent event = SchedulerRunEvent.start("checkinTaskStatus");
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            
+            // 1. 激活已到开始时间的任务
+            List<Course> activated = activateScheduledTasks(now);
+            
+            // 2. 结束已到结束时间的任务
+            List<Course> ended = endExpiredTasks(now);
+            
+            if (event.isEnabled()) {
+                event.processed = activated.size() + ended.size();
+                event.setTaskIds(Stream.concat(activated.stream(), ended.stream()).map(Course::getId).toList());
+            }
+        } finally {
+            event.finish();
+        }
         log.debug("签到任务状态自动更新完成");
     }
     
     /**
      * 激活已到开始时间的签到任务
      * 将CREATED状态且开始时间已到的任务更新为ACTIVE状态
+     *
+     * @return 本次激活的任务
      */
-    private void activateScheduledTasks(LocalDateTime now) {
+    private List<Course> activateScheduledTasks(LocalDateTime now) {
         // 查找开始时间已到的待激活任务
         List<Course> tasksToActivate = courseRepository.findByCheckinStartTimeBeforeAndTypeAndStatus(
             now,
@@ -67,13 +79,16 @@ public class CheckinTaskScheduler {
                     SystemConstants.TaskStatus.CREATED, SystemConstants.TaskStatus.ACTIVE);
             }
         }
+        return tasksToActivate;
     }
     
     /**
      * 结束已到结束时间的签到任务
      * 将ACTIVE状态且结束时间已到的任务更新为ENDED状态
+     *
+     * @return 本次结束的任务
      */
-    private void endExpiredTasks(LocalDateTime now) {
+    private List<Course> endExpiredTasks(LocalDateTime now) {
         // 查找结束时间已到的待结束任务
         List<Course> tasksToEnd = courseRepository.findByCheckinEndTimeBeforeAndTypeAndStatus(
             now, 
@@ -93,5 +108,6 @@ public class CheckinTaskScheduler {
                     SystemConstants.TaskStatus.ACTIVE, SystemConstants.TaskStatus.ENDED);
             }
         }
+        return tasksToEnd;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.attendance.service.schedule;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 调度延迟监控
+ * 以固定频率运行一个探测任务，实际执行时间晚于预期的部分即为调度延迟：
+ * 调度线程被长任务占满或JVM停顿时延迟会升高，定时任务随之推迟执行。
+ * 指标：attendance.scheduler.lag（最近一次延迟，秒）、
+ * attendance.scheduler.lag.distribution（延迟分布，其max为滑动窗口内的最大延迟）
+ */
+@Component
+public class SchedulerLagMonitor {
+
+    /**
+     * 探测间隔（毫秒）
+     */
+    private static final long PROBE_INTERVAL_MILLIS = 1000;
+
+    private static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS);
+
+    private final Timer lagTimer;
+
+    private volatile long lastRunNanos;
+    private volatile long lastLagNanos;
+
+    public SchedulerLagMonitor(MeterRegistry meterRegistry) {
+        this.lagTimer = Timer.builder("attendance.scheduler.lag.distribution")
+            .description("定时任务调度延迟分布")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("attendance.scheduler.lag", this, monitor -> monitor.lastLagNanos / 1e9)
+            .description("最近一次探测的调度延迟（秒）")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 探测任务：fixedRate下两次执行的间隔应等于探测间隔，超出部分记为延迟
+     */
+    @Scheduled(fixedRate = PROBE_INTERVAL_MILLIS)
+    public void probe() {
+        long now = System.nanoTime();
+        long last = lastRunNanos;
+        lastRunNanos = now;
+        if (last == 0) {
+            return;
+        }
+        long lag = Math.max(0, now - last - PROBE_INTERVAL_NANOS);
+        lastLagNanos = lag;
+        lagTimer.record(lag, TimeUnit.NANOSECONDS);
+    }
+}
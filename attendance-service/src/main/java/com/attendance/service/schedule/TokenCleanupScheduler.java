@@ -0,0 +1,61 @@
+package com.attendance.service.schedule;
+
+import com.attendance.common.jfr.SchedulerRunEvent;
+import com.attendance.service.auth.RefreshTokenService;
+import com.attendance.service.auth.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 令牌清理调度器
+ * 定期删除已过期的刷新令牌和撤销记录，并同步其他节点的令牌撤销
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenCleanupScheduler {
+
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * 同步令牌撤销列表
+     * 默认每10秒执行一次
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:10000}",
+            initialDelayString = "${jwt.revocation.sync-interval:10000}")
+    public void syncRevokedTokens() {
+        SchedulerRunEvent event = SchedulerRunEvent.start("syncRevokedTokens");
+        try {
+            tokenRevocationService.sync();
+        } catch (Exception e) {
+            log.warn("同步令牌撤销列表失败: {}", e.getMessage());
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * 清理过期的刷新令牌
+     * 每小时执行一次
+     */
+    @Scheduled(fixedRate = 3600000, initialDelay = 60000)
+    public void purgeExpiredRefreshTokens() {
+        SchedulerRunEvent event = SchedulerRunEvent.start("purgeExpiredTokens");
+        try {
+            int deleted = refreshTokenService.purgeExpired();
+            if (deleted > 0) {
+                log.info("已清理{}个过期的刷新令牌", deleted);
+            }
+            int purged = tokenRevocationService.purgeExpired();
+            if (purged > 0) {
+                log.info("已清理{}条过期的令牌撤销记录", purged);
+            }
+            event.processed = deleted + purged;
+        } finally {
+            event.finish();
+        }
+    }
+}
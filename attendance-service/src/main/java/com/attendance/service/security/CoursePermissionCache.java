@@ -0,0 +1,217 @@
+package com.attendance.service.security;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.CourseUser;
+import com.attendance.repository.course.CourseRepository;
+import com.attendance.repository.course.CourseUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 课程权限缓存
+ * 缓存（用户, 课程）对应的成员角色，供权限表达式和服务层重复使用；
+ * 同一请求内的重复检查直接从请求级备忘中返回。
+ * 成员关系变化时需调用 evict 方法，事务中的失效会在提交后再执行一次，避免并发请求回填旧数据
+ */
+@Component
+public class CoursePermissionCache {
+
+    private static final String REQUEST_MEMO_ATTRIBUTE = CoursePermissionCache.class.getName() + ".MEMO";
+
+    private final CourseRepository courseRepository;
+    private final CourseUserRepository courseUserRepository;
+    private final Cache<PermissionKey, CoursePermission> permissions;
+    private final Cache<String, Optional<String>> checkinParents;
+
+    /**
+     * 失效次数，用于识别加载期间发生的失效
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 用户在课程中的权限
+     *
+     * @param role 成员角色，非成员为null
+     * @param active 是否为活跃成员
+     */
+    public record CoursePermission(String role, boolean active) {
+
+        private static final CoursePermission NONE = new CoursePermission(null, false);
+
+        /**
+         * 是否为课程创建者
+         */
+        public boolean isCreator() {
+            return SystemConstants.CourseUserRole.CREATOR.equals(role);
+        }
+    }
+
+    private record PermissionKey(String userId, String courseId) {
+    }
+
+    public CoursePermissionCache(CourseRepository courseRepository,
+                                 CourseUserRepository courseUserRepository,
+                                 @Value("${app.security.permission-cache.max-size:10000}") long maxSize,
+                                 @Value("${app.security.permission-cache.ttl:5m}") Duration ttl) {
+        this.courseRepository = courseRepository;
+        this.courseUserRepository = courseUserRepository;
+        this.permissions = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+        this.checkinParents = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * 获取用户在课程中的权限
+     *
+     * @param userId 用户ID
+     * @param courseId 课程ID
+     * @return 权限信息，非成员返回无角色的权限
+     */
+    public CoursePermission getPermission(String userId, String courseId) {
+        PermissionKey key = new PermissionKey(userId, courseId);
+        Map<PermissionKey, CoursePermission> memo = requestMemo();
+        if (memo != null) {
+            CoursePermission memoized = memo.get(key);
+            if (memoized != null) {
+                return memoized;
+            }
+        }
+
+        // 在缓存的计算函数之外查询数据库：计算函数在ConcurrentHashMap的桶锁内执行，
+        // 其中的数据库I/O会阻塞同一桶上的其他线程，虚拟线程下还会占住载体线程
+        CoursePermission permission = permissions.getIfPresent(key);
+        if (permission == null) {
+            long generation = evictions.get();
+            permission = loadPermission(key);
+            permissions.put(key, permission);
+            // 加载期间发生过失效，回填的可能是旧数据
+            if (evictions.get() != generation) {
+                permissions.invalidate(key);
+            }
+        }
+        if (memo != null) {
+            memo.put(key, permission);
+        }
+        return permission;
+    }
+
+    /**
+     * 获取用户在签到任务所属课程中的权限
+     *
+     * @param userId 用户ID
+     * @param checkinId 签到任务ID
+     * @return 权限信息，签到任务不存在时返回无角色的权限
+     */
+    public CoursePermission getCheckinPermission(String userId, String checkinId) {
+        Optional<String> parentCourseId = checkinParents.getIfPresent(checkinId);
+        if (parentCourseId == null) {
+            parentCourseId = courseRepository.findById(checkinId).map(Course::getParentCourseId);
+            checkinParents.put(checkinId, parentCourseId);
+        }
+        return parentCourseId.map(courseId -> getPermission(userId, courseId)).orElse(CoursePermission.NONE);
+    }
+
+    /**
+     * 判断用户是否为课程活跃成员
+     */
+    public boolean isActiveMember(String userId, String courseId) {
+        return getPermission(userId, courseId).active();
+    }
+
+    /**
+     * 成员关系变化时清除指定用户在课程中的权限
+     *
+     * @param courseId 课程ID
+     * @param userId 用户ID
+     */
+    public void evictMember(String courseId, String userId) {
+        PermissionKey key = new PermissionKey(userId, courseId);
+        runNowAndAfterCommit(() -> {
+            evictions.incrementAndGet();
+            permissions.invalidate(key);
+            Map<PermissionKey, CoursePermission> memo = requestMemo();
+            if (memo != null) {
+                memo.remove(key);
+            }
+        });
+    }
+
+    /**
+     * 课程归属或整体成员变化时清除该课程的全部权限
+     *
+     * @param courseId 课程ID
+     */
+    public void evictCourse(String courseId) {
+        runNowAndAfterCommit(() -> {
+            evictions.incrementAndGet();
+            permissions.asMap().keySet().removeIf(key -> key.courseId().equals(courseId));
+            Map<PermissionKey, CoursePermission> memo = requestMemo();
+            if (memo != null) {
+                memo.keySet().removeIf(key -> key.courseId().equals(courseId));
+            }
+        });
+    }
+
+    /**
+     * 清除全部缓存的权限和签到任务归属
+     */
+    public void invalidateAll() {
+        evictions.incrementAndGet();
+        permissions.invalidateAll();
+        checkinParents.invalidateAll();
+    }
+
+    private CoursePermission loadPermission(PermissionKey key) {
+        return courseUserRepository.findByCourseIdAndUserId(key.courseId(), key.userId())
+            .map(this::toPermission)
+            .orElse(CoursePermission.NONE);
+    }
+
+    private CoursePermission toPermission(CourseUser courseUser) {
+        return new CoursePermission(courseUser.getRole(), Boolean.TRUE.equals(courseUser.getActive()));
+    }
+
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<PermissionKey, CoursePermission> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object memo = attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<PermissionKey, CoursePermission>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<PermissionKey, CoursePermission>) memo;
+    }
+}
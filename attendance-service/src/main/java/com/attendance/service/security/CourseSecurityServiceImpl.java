@@ -1,9 +1,8 @@
 package com.attendance.service.security;
 
+import com.attendance.common.util.SecurityUtil;
 import com.attendance.model.entity.Course;
-import com.attendance.model.entity.CourseUser;
 import com.attendance.repository.course.CourseRepository;
-import com.attendance.repository.course.CourseUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -22,7 +21,7 @@ import java.util.Optional;
 public class CourseSecurityServiceImpl implements CourseSecurityService {
 
     private final CourseRepository courseRepository;
-    private final CourseUserRepository courseUserRepository;
+    private final CoursePermissionCache permissionCache;
     /**
      * 检查当前用户是否为课程创建者
      *
@@ -51,18 +50,8 @@ public class CourseSecurityServiceImpl implements CourseSecurityService {
         String username = authentication.getName();
         log.debug("检查用户 [{}] 是否为课程 [{}] 的创建者", username, courseId);
 
-        // 2. 获取课程信息
-        Optional<Course> courseOpt = courseRepository.findById(courseId);
-        if (!courseOpt.isPresent()) {
-            log.debug("课程 [{}] 不存在", courseId);
-            return false;
-        }
-        
-        Course course = courseOpt.get();
-        
-        // 3. 查询用户在课程中的关联信息
-        Optional<CourseUser> courseUserOpt = courseUserRepository.findByCourseIdAndUsername(courseId, username);
-        if (courseUserOpt.isPresent() && courseUserOpt.get().isCreator()) {
+        // 2. 查询用户在课程中的权限（缓存）
+        if (permissionCache.getPermission(SecurityUtil.getCurrentUserId(), courseId).isCreator()) {
             log.debug("用户 [{}] 是课程 [{}] 的创建者", username, courseId);
             return true;
         }
@@ -99,18 +88,8 @@ public class CourseSecurityServiceImpl implements CourseSecurityService {
         String username = authentication.getName();
         log.debug("检查用户 [{}] 是否为签到任务 [{}] 的创建者", username, checkinId);
 
-        // 2. 获取签到任务信息
-        Optional<Course> checkinOpt = courseRepository.findById(checkinId);
-        if (!checkinOpt.isPresent()) {
-            log.debug("签到任务 [{}] 不存在", checkinId);
-            return false;
-        }
-
-        Course checkin = checkinOpt.get();
-        
-        // 3. 查询用户在课程中的关联信息
-        Optional<CourseUser> courseUserOpt = courseUserRepository.findByCourseIdAndUsername(checkin.getParentCourseId(), username);
-        if (courseUserOpt.isPresent() && courseUserOpt.get().isCreator()) {
+        // 2. 查询用户在签到任务所属课程中的权限（缓存）
+        if (permissionCache.getCheckinPermission(SecurityUtil.getCurrentUserId(), checkinId).isCreator()) {
             log.debug("用户 [{}] 是签到任务 [{}] 的创建者", username, checkinId);
             return true;
         }
@@ -140,7 +119,7 @@ public class CourseSecurityServiceImpl implements CourseSecurityService {
         log.debug("检查用户 [{}] 是否为课程 [{}] 的成员", username, courseId);
 
         // 检查用户是否为课程成员
-        boolean isMember = courseUserRepository.existsByCourseIdAndUsernameAndActiveTrue(courseId, username);
+        boolean isMember = permissionCache.isActiveMember(SecurityUtil.getCurrentUserId(), courseId);
         
         if (isMember) {
             log.debug("用户 [{}] 是课程 [{}] 的成员", username, courseId);
@@ -186,7 +165,7 @@ public class CourseSecurityServiceImpl implements CourseSecurityService {
         }
         
         // 检查用户是否已经是课程成员
-        boolean alreadyMember = courseUserRepository.existsByCourseIdAndUsernameAndActiveTrue(courseId, username);
+        boolean alreadyMember = permissionCache.isActiveMember(SecurityUtil.getCurrentUserId(), courseId);
         if (alreadyMember) {
             log.debug("用户 [{}] 已经是课程 [{}] 的成员", username, courseId);
             return false;
@@ -1,14 +1,11 @@
 package com.attendance.service.security;
 
 import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.util.SecurityUtil;
 import com.attendance.model.entity.Course;
-import com.attendance.model.entity.CourseUser;
 import com.attendance.model.entity.CourseRecord;
-import com.attendance.model.entity.User;
 import com.attendance.repository.course.CourseRepository;
-import com.attendance.repository.course.CourseUserRepository;
 import com.attendance.repository.course.CourseRecordRepository;
-import com.attendance.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -20,14 +17,13 @@ import java.util.Optional;
 /**
  * 统一安全服务实现类
  */
-@Service
+@Service("securityService")
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityServiceImpl implements SecurityService {
 
-    private final UserRepository userRepository;
     private final CourseRepository courseRepository;
-    private final CourseUserRepository courseUserRepository;
+    private final CoursePermissionCache permissionCache;
     private final CourseRecordRepository courseRecordRepository;
     
     /**
@@ -38,15 +34,7 @@ public class SecurityServiceImpl implements SecurityService {
      */
     @Override
     public boolean isCurrentUser(String userId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName();
-        
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            return false;
-        }
-        
-        return currentUsername.equals(userOpt.get().getUsername());
+        return userId != null && userId.equals(SecurityUtil.getCurrentUserId());
     }
     
     /**
@@ -105,17 +93,8 @@ public class SecurityServiceImpl implements SecurityService {
         
         CourseRecord record = recordOpt.get();
         
-        // 普通用户只能访问自己的记录
-        String username = authentication.getName();
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty()) {
-            return false;
-        }
-        
-        User user = userOpt.get();
-        
         // 用户只能访问自己的签到记录
-        return record.getUserId().equals(user.getId());
+        return record.getUserId().equals(SecurityUtil.getCurrentUserId());
     }
     
     /**
@@ -138,21 +117,12 @@ public class SecurityServiceImpl implements SecurityService {
             return true;
         }
         
-        String username = authentication.getName();
-        
         Optional<Course> courseOpt = courseRepository.findById(courseId);
         if (courseOpt.isEmpty()) {
             return false;
         }
         
-        Course course = courseOpt.get();
-        
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
-            return false;
-        }
-        
-        return user.getId().equals(course.getCreatorId());
+        return SecurityUtil.getCurrentUserId().equals(courseOpt.get().getCreatorId());
     }
     
     /**
@@ -181,19 +151,9 @@ public class SecurityServiceImpl implements SecurityService {
             return true;
         }
         
-        // 获取当前用户
-        String username = authentication.getName();
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty()) {
-            return false;
-        }
-        
-        User user = userOpt.get();
-        
         // 检查是否为助教
-        Optional<CourseUser> courseUserOpt = courseUserRepository.findByCourseIdAndUserId(courseId, user.getId());
-        return courseUserOpt.isPresent() && 
-               SystemConstants.CourseUserRole.ASSISTANT.equals(courseUserOpt.get().getRole());
+        return SystemConstants.CourseUserRole.ASSISTANT.equals(
+                permissionCache.getPermission(SecurityUtil.getCurrentUserId(), courseId).role());
     }
     
     /**
@@ -208,20 +168,8 @@ public class SecurityServiceImpl implements SecurityService {
             return false;
         }
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        // 获取用户信息
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty()) {
-            return false;
-        }
-        
-        User user = userOpt.get();
-        
-        // 查询用户-课程关联
-        Optional<CourseUser> courseUserOpt = courseUserRepository.findByCourseIdAndUserId(courseId, user.getId());
-        return courseUserOpt.isPresent() && courseUserOpt.get().getActive();
+        // 查询用户-课程关联（缓存）
+        return permissionCache.isActiveMember(SecurityUtil.getCurrentUserId(), courseId);
     }
     
     /**
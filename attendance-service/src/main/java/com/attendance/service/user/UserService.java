@@ -35,11 +35,13 @@ public interface UserService {
     
     /**
      * 更新当前用户信息
+     * 修改密码时撤销该用户的所有刷新令牌和本次请求使用的访问令牌
      * 
      * @param request 更新请求
+     * @param accessToken 本次请求的访问令牌，可为空
      * @return 更新后的用户信息
      */
-    UserDTO updateCurrentUser(UpdateUserRequest request);
+    UserDTO updateCurrentUser(UpdateUserRequest request, String accessToken);
     
     /**
      * 获取课程用户列表
@@ -1,21 +1,25 @@
 package com.attendance.service.user;
 
+import com.attendance.common.config.security.JwtTokenProvider;
 import com.attendance.common.exception.BusinessException;
+import com.attendance.common.util.SecurityUtil;
 import com.attendance.model.dto.user.UserDTO;
 import com.attendance.model.dto.user.UpdateUserRequest;
 import com.attendance.model.entity.User;
 import com.attendance.model.entity.CourseUser;
 import com.attendance.repository.user.UserRepository;
 import com.attendance.repository.course.CourseUserRepository;
+import com.attendance.service.auth.RefreshTokenService;
+import com.attendance.service.auth.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Map;
@@ -34,6 +38,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final CourseUserRepository courseUserRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtTokenProvider jwtTokenProvider;
     
     /**
      * 获取当前用户信息
@@ -42,10 +49,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserDTO getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findById(SecurityUtil.getCurrentUserId())
                 .orElseThrow(() -> new BusinessException("用户不存在"));
         
         return convertToDTO(user);
@@ -81,18 +85,17 @@ public class UserServiceImpl implements UserService {
     
     /**
      * 更新当前用户信息
+     * 修改密码时在同一事务中撤销所有刷新令牌族和当前访问令牌，已泄露的令牌不能继续换取新令牌
      * 
      * @param request 更新请求
+     * @param accessToken 本次请求的访问令牌，可为空
      * @return 更新后的用户信息
      */
     @Override
     @Transactional
-    public UserDTO updateCurrentUser(UpdateUserRequest request) {
+    public UserDTO updateCurrentUser(UpdateUserRequest request, String accessToken) {
         // 获取当前用户
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findById(SecurityUtil.getCurrentUserId())
                 .orElseThrow(() -> new BusinessException("用户不存在"));
         
         // 更新基本信息
@@ -119,6 +122,8 @@ public class UserServiceImpl implements UserService {
         // 更新密码（如果提供了）
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
+            refreshTokenService.revokeAll(user.getId());
+            revokeAccessToken(accessToken, user.getId());
         }
         
         // 保存更新
@@ -127,6 +132,21 @@ public class UserServiceImpl implements UserService {
         return convertToDTO(updatedUser);
     }
     
+    /**
+     * 撤销访问令牌，令牌为空、已过期或无效时忽略
+     */
+    private void revokeAccessToken(String accessToken, String userId) {
+        if (!StringUtils.hasText(accessToken)) {
+            return;
+        }
+        try {
+            JwtTokenProvider.VerifiedToken verified = jwtTokenProvider.verifyToken(accessToken);
+            tokenRevocationService.revoke(verified.tokenId(), userId, verified.expiresAt());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("修改密码时访问令牌已失效: {}", e.getMessage());
+        }
+    }
+    
     /**
      * 获取课程用户列表
      * 
@@ -134,6 +154,7 @@ public class UserServiceImpl implements UserService {
      * @return 用户列表
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getCourseUsers(String courseId) {
         List<CourseUser> courseUsers = courseUserRepository.findByCourseId(courseId);
         
@@ -156,6 +177,7 @@ public class UserServiceImpl implements UserService {
      * @return 带分页的用户列表
      */
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getCourseUsers(String courseId, int page, int size) {
         // 创建分页请求
         Pageable pageable = PageRequest.of(page, size);
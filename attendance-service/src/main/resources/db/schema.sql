@@ -77,4 +77,44 @@ CREATE TABLE IF NOT EXISTS course_record (
     FOREIGN KEY (course_id) REFERENCES courses(id),
     FOREIGN KEY (parent_course_id) REFERENCES courses(id),
     UNIQUE KEY unique_user_course (user_id, course_id)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4; 
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4; 
+
+-- 创建课程考勤快照表（归档课程的考勤矩阵）
+CREATE TABLE IF NOT EXISTS course_attendance_snapshot (
+    course_id VARCHAR(36) PRIMARY KEY COMMENT '课程ID',
+    version INT NOT NULL COMMENT '快照格式版本',
+    user_count INT NOT NULL COMMENT '矩阵行数（用户数）',
+    task_count INT NOT NULL COMMENT '矩阵列数（签到任务数）',
+    data LONGBLOB NOT NULL COMMENT '考勤矩阵二进制数据',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    FOREIGN KEY (course_id) REFERENCES courses(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建刷新令牌表（只保存令牌摘要）
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id VARCHAR(36) PRIMARY KEY COMMENT '主键ID',
+    token_hash CHAR(64) NOT NULL COMMENT '令牌SHA-256摘要',
+    user_id VARCHAR(36) NOT NULL COMMENT '用户ID',
+    family_id VARCHAR(36) NOT NULL COMMENT '令牌族ID',
+    expires_at TIMESTAMP NOT NULL COMMENT '过期时间',
+    used_at TIMESTAMP NULL COMMENT '轮换时间',
+    revoked BOOLEAN NOT NULL DEFAULT FALSE COMMENT '是否已撤销',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    UNIQUE KEY idx_refresh_token_hash (token_hash),
+    KEY idx_refresh_token_user (user_id),
+    KEY idx_refresh_token_family (family_id),
+    FOREIGN KEY (user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建访问令牌撤销表
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY COMMENT '令牌ID',
+    user_id VARCHAR(36) COMMENT '用户ID',
+    expires_at TIMESTAMP NOT NULL COMMENT '令牌原过期时间',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    KEY idx_revoked_token_created (created_at),
+    KEY idx_revoked_token_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
\ No newline at end of file
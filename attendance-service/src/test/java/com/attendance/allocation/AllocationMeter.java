@@ -0,0 +1,118 @@
+package com.attendance.allocation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 按线程分配计数器统计单次操作分配的字节数
+ * 先预热使JIT编译和各级缓存进入稳定状态，再分多轮测量取最小值，排除偶发的类加载和缓存扩容
+ */
+final class AllocationMeter {
+
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * 与 logback-file-only.xml 的文件日志格式一致
+     */
+    private static final String FILE_LOG_PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    @FunctionalInterface
+    interface Operation {
+        void run() throws Exception;
+    }
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * 测量单次操作分配的字节数
+     *
+     * @param warmup 预热次数
+     * @param iterations 每轮测量次数
+     * @param operation 被测操作
+     * @return 各轮平均值中的最小值
+     */
+    static long bytesPerOperation(int warmup, int iterations, Operation operation) throws Exception {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "当前JVM不支持线程分配计数");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        long threadId = Thread.currentThread().getId();
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++) {
+                operation.run();
+            }
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - before;
+            best = Math.min(best, allocated / iterations);
+        }
+        return best;
+    }
+
+    /**
+     * 断言单次分配不超过预算，超出时断言信息中给出实测值和预算
+     */
+    static void assertWithinBudget(String operation, long measuredBytes, long budgetBytes) {
+        assertTrue(measuredBytes <= budgetBytes, () -> String.format(
+            "%s 单次分配 %,d 字节，超过预算 %,d 字节", operation, measuredBytes, budgetBytes));
+    }
+
+    /**
+     * 应用日志按生产配置（INFO级别、文件日志格式）格式化后写入空输出流，
+     * 日志的分配计入预算且不受测试顺序和日志文件的影响；关闭时恢复原配置
+     */
+    static AutoCloseable productionLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger logger = context.getLogger("com.attendance");
+        Level level = logger.getLevel();
+        boolean additive = logger.isAdditive();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(FILE_LOG_PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName("ALLOCATION_NULL");
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return () -> {
+            logger.detachAppender(appender);
+            appender.stop();
+            logger.setAdditive(additive);
+            logger.setLevel(level);
+        };
+    }
+
+    /**
+     * 以动态代理实现仓库等接口的桩，只分配实参数组，不像Mockito那样记录调用和调用位置
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
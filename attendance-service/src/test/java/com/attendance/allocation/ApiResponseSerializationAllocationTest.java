@@ -0,0 +1,79 @@
+package com.attendance.allocation;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.model.ApiResponse;
+import com.attendance.model.dto.course.CourseRecordDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 签到接口响应 ApiResponse&lt;CourseRecordDTO&gt; 的JSON序列化分配预算
+ * ObjectMapper 按 spring.jackson 配置构造，直接写入输出流，与消息转换器写响应的方式一致
+ */
+class ApiResponseSerializationAllocationTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 5_000;
+
+    /**
+     * 单条签到记录响应预算（实测约1.7KB）
+     */
+    private static final long CHECKIN_RESPONSE_BUDGET = 2_200;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<CourseRecordDTO> response;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+8"));
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .dateFormat(dateFormat)
+            .timeZone("GMT+8")
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        LocalDateTime now = LocalDateTime.of(2025, 5, 2, 8, 30, 15);
+        response = ApiResponse.success("签到成功", CourseRecordDTO.builder()
+            .id("3c5e7a9b-2d4f-4a6c-8e0b-4d6f8a0c2e4a")
+            .userId("5f0c6a4e-3b1d-4a8e-9a43-2f7d1c6e8b90")
+            .username("student001")
+            .fullName("学生001")
+            .courseId("9a7c5e3f-1b2d-4c6e-8f0a-2b4d6f8a0c1e")
+            .courseName("第5周签到")
+            .parentCourseId("0b8e4f3c-7a21-4d6e-8c59-1e2f3a4b5c6d")
+            .parentCourseName("数据结构与算法")
+            .status(SystemConstants.RecordStatus.NORMAL)
+            .checkInTime(now)
+            .device("Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X)")
+            .verifyMethod(SystemConstants.CheckInType.QR_CODE)
+            .remark("9a7c5e3f-1b2d-4c6e-8f0a-2b4d6f8a0c1e:349521234")
+            .active(true)
+            .createdAt(now)
+            .updatedAt(now)
+            .build());
+    }
+
+    @Test
+    void checkinResponse() throws Exception {
+        assertTrue(objectMapper.writeValueAsString(response).contains("\"checkInTime\":\"2025-05-02 08:30:15\""));
+
+        // 复用缓冲区，只统计序列化本身的分配；写完后Jackson会关闭输出流，ByteArrayOutputStream关闭后仍可写
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP, ITERATIONS, () -> {
+            out.reset();
+            objectMapper.writeValue(out, response);
+        });
+        AllocationMeter.assertWithinBudget("ApiResponse<CourseRecordDTO> JSON", bytes, CHECKIN_RESPONSE_BUDGET);
+    }
+}
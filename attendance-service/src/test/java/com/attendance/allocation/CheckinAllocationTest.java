@@ -0,0 +1,162 @@
+package com.attendance.allocation;
+
+import com.attendance.common.config.security.SecurityUserDetails;
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.model.dto.course.CourseRecordDTO;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.CourseRecord;
+import com.attendance.model.entity.CourseUser;
+import com.attendance.model.entity.User;
+import com.attendance.repository.course.CourseRecordRepository;
+import com.attendance.repository.course.CourseRepository;
+import com.attendance.repository.course.CourseUserRepository;
+import com.attendance.repository.user.UserRepository;
+import com.attendance.service.course.CheckinMetrics;
+import com.attendance.service.course.CourseServiceImpl;
+import com.attendance.service.security.CoursePermissionCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 提交签到（CourseServiceImpl.submitCheckIn）的单次分配预算
+ * 仓库以桩实现代替，测量的是业务逻辑、指标和日志本身的分配，不含数据库访问
+ */
+class CheckinAllocationTest {
+
+    private static final String USER_ID = "5f0c6a4e-3b1d-4a8e-9a43-2f7d1c6e8b90";
+    private static final String COURSE_ID = "0b8e4f3c-7a21-4d6e-8c59-1e2f3a4b5c6d";
+    private static final String CHECKIN_ID = "9a7c5e3f-1b2d-4c6e-8f0a-2b4d6f8a0c1e";
+    private static final String RECORD_ID = "3c5e7a9b-2d4f-4a6c-8e0b-4d6f8a0c2e4a";
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 2_000;
+
+    /**
+     * 二维码签到预算（实测约0.95KB）
+     */
+    private static final long QR_CODE_BUDGET = 1_200;
+
+    /**
+     * 位置签到预算（实测约10.4KB）：当前每次签到新建ObjectMapper解析签到参数，修复后下调
+     */
+    private static final long LOCATION_BUDGET = 12_500;
+
+    private CourseServiceImpl courseService;
+    private AutoCloseable logging;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        Course course = Course.builder()
+            .id(COURSE_ID)
+            .name("数据结构与算法")
+            .type(SystemConstants.CourseType.COURSE)
+            .status(SystemConstants.CourseStatus.ACTIVE)
+            .build();
+        Course checkin = Course.builder()
+            .id(CHECKIN_ID)
+            .name("第5周签到")
+            .type(SystemConstants.CourseType.CHECKIN)
+            .status(SystemConstants.TaskStatus.ACTIVE)
+            .checkinStartTime(now.minusMinutes(1))
+            .checkinEndTime(now.plusHours(1))
+            .verifyParams("{\"latitude\":39.99127,\"longitude\":116.30596,\"radius\":100}")
+            .parentCourseId(COURSE_ID)
+            .build();
+        User user = new User();
+        user.setId(USER_ID);
+        user.setUsername("student001");
+        user.setFullName("学生001");
+        user.setRole(SystemConstants.UserRole.STUDENT);
+        CourseUser member = new CourseUser();
+        member.setCourseId(COURSE_ID);
+        member.setUserId(USER_ID);
+        member.setRole(SystemConstants.CourseUserRole.STUDENT);
+        member.setActive(true);
+
+        CourseRepository courseRepository = AllocationMeter.stub(CourseRepository.class, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "findById" -> Optional.ofNullable(
+                    CHECKIN_ID.equals(args[0]) ? checkin : COURSE_ID.equals(args[0]) ? course : null);
+                case "isCheckinOpenForMember" -> true;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        UserRepository userRepository = AllocationMeter.stub(UserRepository.class, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "findById" -> Optional.of(user);
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        CourseUserRepository courseUserRepository = AllocationMeter.stub(CourseUserRepository.class,
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByCourseIdAndUserId" -> Optional.of(member);
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        CourseRecordRepository courseRecordRepository = AllocationMeter.stub(CourseRecordRepository.class,
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByUserIdAndCourseId" -> Optional.empty();
+                case "save" -> {
+                    // 模拟JPA保存时生成主键和审计时间
+                    CourseRecord record = (CourseRecord) args[0];
+                    record.setId(RECORD_ID);
+                    record.setCreatedAt(record.getCheckInTime());
+                    record.setUpdatedAt(record.getCheckInTime());
+                    yield record;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+        CoursePermissionCache permissionCache = new CoursePermissionCache(
+            courseRepository, courseUserRepository, 10_000, Duration.ofMinutes(5));
+        courseService = new CourseServiceImpl(courseRepository, userRepository, courseUserRepository,
+            courseRecordRepository, null, null, permissionCache, new CheckinMetrics(new SimpleMeterRegistry()));
+
+        SecurityUserDetails principal = new SecurityUserDetails(USER_ID, "student001",
+            SystemConstants.UserRole.STUDENT, true);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        logging = AllocationMeter.productionLogging();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        logging.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void qrCodeCheckIn() throws Exception {
+        // 二维码内容在预热和测量期间保持有效（3个时间块）
+        String verifyData = CHECKIN_ID + ":" + System.currentTimeMillis() / 5000;
+        CourseRecordDTO record = submit(SystemConstants.CheckInType.QR_CODE, null, verifyData);
+        assertEquals(SystemConstants.RecordStatus.NORMAL, record.getStatus());
+
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP, ITERATIONS,
+            () -> submit(SystemConstants.CheckInType.QR_CODE, null, verifyData));
+        AllocationMeter.assertWithinBudget("submitCheckIn(QR_CODE)", bytes, QR_CODE_BUDGET);
+    }
+
+    @Test
+    void locationCheckIn() throws Exception {
+        String location = "39.99130,116.30600,北京市海淀区";
+        CourseRecordDTO record = submit(SystemConstants.CheckInType.LOCATION, location, null);
+        assertEquals(location, record.getLocation());
+
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP, ITERATIONS,
+            () -> submit(SystemConstants.CheckInType.LOCATION, location, null));
+        AllocationMeter.assertWithinBudget("submitCheckIn(LOCATION)", bytes, LOCATION_BUDGET);
+    }
+
+    private CourseRecordDTO submit(String verifyMethod, String location, String verifyData) {
+        return courseService.submitCheckIn(CHECKIN_ID, verifyMethod, location, "Mozilla/5.0 (iPhone)", verifyData);
+    }
+}
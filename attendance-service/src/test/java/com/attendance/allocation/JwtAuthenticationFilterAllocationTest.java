@@ -0,0 +1,94 @@
+package com.attendance.allocation;
+
+import com.attendance.common.config.security.JwtAuthenticationFilter;
+import com.attendance.common.config.security.JwtTokenProvider;
+import com.attendance.common.config.security.SecurityUserDetails;
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.service.auth.TokenRevocationService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JWT认证过滤器的单次分配预算
+ * 令牌命中已验证令牌缓存（稳定状态下的常见路径），每次请求前清空安全上下文
+ */
+class JwtAuthenticationFilterAllocationTest {
+
+    private static final String SECRET = "D9F8E7C6B5A4932187A6B5C4D3E2F1A0B9C8D7E6F5G4H3I2J1K0L9M8N7O6P5";
+    private static final String USER_ID = "5f0c6a4e-3b1d-4a8e-9a43-2f7d1c6e8b90";
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 2_000;
+
+    /**
+     * 已认证请求预算（实测约2.6KB）
+     */
+    private static final long AUTHENTICATED_BUDGET = 3_200;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain chain = (req, res) -> { };
+    private AutoCloseable logging;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecretString", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedCacheSize", 10_000L);
+        tokenProvider.init();
+
+        UserDetailsService userDetailsService = username -> {
+            throw new IllegalStateException("令牌自带用户信息，非撤销敏感路径不应查询数据库");
+        };
+        TokenRevocationService revocationService = AllocationMeter.stub(TokenRevocationService.class,
+            (proxy, method, args) -> switch (method.getName()) {
+                case "isRevoked" -> false;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, revocationService);
+        ReflectionTestUtils.setField(filter, "revocationSensitivePaths",
+            List.of("/admin/**", "/users/me", "/courses/delete", "/courses/members/remove"));
+
+        String token = tokenProvider.generateToken(new SecurityUserDetails(USER_ID, "student001",
+            SystemConstants.UserRole.STUDENT, true));
+        request = new MockHttpServletRequest("POST", "/api/courses/attendance/check-in");
+        request.setContextPath("/api");
+        request.setServletPath("/courses/attendance/check-in");
+        request.addHeader("Authorization", "Bearer " + token);
+        logging = AllocationMeter.productionLogging();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        logging.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequest() throws Exception {
+        authenticate();
+        assertEquals(USER_ID, ((SecurityUserDetails) SecurityContextHolder.getContext()
+            .getAuthentication().getPrincipal()).getId());
+
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP, ITERATIONS, this::authenticate);
+        AllocationMeter.assertWithinBudget("JwtAuthenticationFilter", bytes, AUTHENTICATED_BUDGET);
+    }
+
+    private void authenticate() throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, chain);
+    }
+}
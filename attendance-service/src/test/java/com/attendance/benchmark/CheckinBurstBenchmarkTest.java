@@ -0,0 +1,210 @@
+package com.attendance.benchmark;
+
+import com.attendance.AttendanceApplication;
+import com.attendance.common.config.security.JwtTokenProvider;
+import com.attendance.common.config.security.SecurityUserDetails;
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.util.VirtualThreads;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.CourseUser;
+import com.attendance.model.entity.User;
+import com.attendance.repository.course.CourseRecordRepository;
+import com.attendance.repository.course.CourseRepository;
+import com.attendance.repository.course.CourseUserRepository;
+import com.attendance.repository.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 签到突发流量基准：分别以平台线程和虚拟线程模式启动应用，
+ * 同时发起大量签到请求，对比吞吐量和延迟分布（结果写入应用日志 logs/attendance.log），
+ * 并断言每个请求都得到响应、成功响应数与落库的签到记录数一致
+ *
+ * 默认不执行，运行方式：
+ * mvn test -Dtest=CheckinBurstBenchmarkTest -Dbenchmark=true [-Dbenchmark.students=500]
+ * [-Dbenchmark.datasource.url=jdbc:mysql://...]
+ * 虚拟线程模式需要Java 21及以上，低版本JDK只运行平台线程模式
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CheckinBurstBenchmarkTest {
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 300);
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        log.info("{}", platform);
+
+        if (!VirtualThreads.isSupported()) {
+            log.info("当前JDK不支持虚拟线程，跳过虚拟线程模式: java.version={}", Runtime.version());
+            return;
+        }
+        Result virtual = run(true);
+        log.info("{}", virtual);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        String url = System.getProperty("benchmark.datasource.url",
+            "jdbc:h2:mem:benchmark_" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AttendanceApplication.class)
+            .profiles("test")
+            // 以命令行参数传入，优先级高于application.yml
+            .run("--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--app.virtual-threads.enabled=" + virtualThreads,
+                "--app.security.rate-limit.enabled=false",
+                "--app.concurrency-limit.enabled=false",
+                "--logging.level.com.attendance=WARN",
+                "--logging.level.com.attendance.benchmark=INFO")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            Fixture fixture = seed(context);
+
+            HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+            String body = "{\"checkinId\":\"" + fixture.checkinId + "\",\"verifyMethod\":\"QR_CODE\"}";
+            URI uri = URI.create("http://localhost:" + port + "/api/courses/attendance/check-in");
+
+            long[] latencies = new long[fixture.tokens.size()];
+            AtomicInteger errors = new AtomicInteger();
+            AtomicInteger unanswered = new AtomicInteger();
+            List<CompletableFuture<?>> futures = new ArrayList<>(fixture.tokens.size());
+            long start = System.nanoTime();
+            for (int i = 0; i < fixture.tokens.size(); i++) {
+                int index = i;
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(60))
+                    .header(SystemConstants.Security.HEADER_STRING,
+                        SystemConstants.Security.TOKEN_PREFIX + fixture.tokens.get(i))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+                long sent = System.nanoTime();
+                futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .handle((response, failure) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (failure != null) {
+                            unanswered.incrementAndGet();
+                        }
+                        if (failure != null || response.statusCode() != 200
+                            || !response.body().contains("\"code\":200")) {
+                            errors.incrementAndGet();
+                        }
+                        return null;
+                    }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            long elapsed = System.nanoTime() - start;
+
+            // 突发下允许部分请求因拿不到连接被拒绝，但每个请求都必须得到响应，
+            // 且成功的签到恰好各落库一条，失败的请求不留下记录
+            int succeeded = latencies.length - errors.get();
+            long records = context.getBean(CourseRecordRepository.class).countByCourseId(fixture.checkinId);
+            assertEquals(0, unanswered.get(), mode + " 模式下有请求未得到响应");
+            assertTrue(succeeded > 0, mode + " 模式下所有签到请求均失败");
+            assertEquals(succeeded, records, mode + " 模式下签到记录数与成功响应数不一致");
+            return new Result(mode, latencies, elapsed, errors.get());
+        }
+    }
+
+    private Fixture seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        CourseUserRepository courseUserRepository = context.getBean(CourseUserRepository.class);
+        JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        String password = context.getBean(PasswordEncoder.class).encode("password");
+
+        User teacher = userRepository.save(newUser(SystemConstants.UserRole.TEACHER, password));
+        Course course = courseRepository.save(Course.builder()
+            .name("基准测试课程")
+            .creatorId(teacher.getId())
+            .code(UUID.randomUUID().toString().substring(0, 8))
+            .type(SystemConstants.CourseType.COURSE)
+            .status(SystemConstants.CourseStatus.ACTIVE)
+            .startDate(LocalDate.now())
+            .endDate(LocalDate.now().plusMonths(3))
+            .build());
+        Course checkin = courseRepository.save(Course.builder()
+            .name("基准测试签到")
+            .creatorId(teacher.getId())
+            .code(UUID.randomUUID().toString().substring(0, 8))
+            .type(SystemConstants.CourseType.CHECKIN)
+            .status(SystemConstants.TaskStatus.ACTIVE)
+            .checkinType(SystemConstants.CheckInType.QR_CODE)
+            .checkinStartTime(LocalDateTime.now().minusMinutes(1))
+            .checkinEndTime(LocalDateTime.now().plusHours(1))
+            .parentCourseId(course.getId())
+            .build());
+
+        List<String> tokens = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            User student = userRepository.save(newUser(SystemConstants.UserRole.STUDENT, password));
+            CourseUser member = new CourseUser();
+            member.setCourseId(course.getId());
+            member.setUserId(student.getId());
+            member.setRole(SystemConstants.CourseUserRole.STUDENT);
+            member.setJoinedAt(LocalDateTime.now());
+            member.setJoinMethod(SystemConstants.JoinMethod.ADDED);
+            courseUserRepository.save(member);
+            tokens.add(jwtTokenProvider.generateToken(new SecurityUserDetails(student)));
+        }
+        return new Fixture(checkin.getId(), tokens);
+    }
+
+    private User newUser(String role, String password) {
+        User user = new User();
+        user.setUsername(UUID.randomUUID().toString().replace("-", "").substring(0, 20));
+        user.setPassword(password);
+        user.setFullName("基准测试用户");
+        user.setRole(role);
+        return user;
+    }
+
+    private record Fixture(String checkinId, List<String> tokens) {
+    }
+
+    private record Result(String mode, long[] latencies, long elapsedNanos, int errors) {
+
+        @Override
+        public String toString() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return String.format("[%s] 请求数=%d, 失败=%d, 耗时=%dms, 吞吐=%.1f req/s, "
+                    + "p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                mode, sorted.length, errors, elapsedNanos / 1_000_000,
+                sorted.length * 1e9 / elapsedNanos,
+                percentile(sorted, 0.50), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
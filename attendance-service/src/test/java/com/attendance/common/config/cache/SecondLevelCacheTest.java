@@ -0,0 +1,141 @@
+package com.attendance.common.config.cache;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.CourseUser;
+import com.attendance.model.entity.User;
+import com.attendance.repository.course.CourseRepository;
+import com.attendance.repository.course.CourseUserRepository;
+import com.attendance.repository.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 二级缓存测试：验证缓存命中，以及更新、删除后不会读到旧数据
+ * 测试方法不开启外层事务，每次仓库调用都使用独立的会话
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseUserRepository courseUserRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedLookupHitsEntityRegion() {
+        User user = userRepository.save(newUser());
+
+        userRepository.findById(user.getId()).orElseThrow();
+        userRepository.findById(user.getId()).orElseThrow();
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(SystemConstants.CacheRegion.USERS);
+        assertTrue(region.getHitCount() >= 2);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void updatedEntitiesAreNotReadStale() {
+        User user = userRepository.save(newUser());
+        Course course = courseRepository.save(newCourse(user.getId()));
+        userRepository.findById(user.getId()).orElseThrow();
+        courseRepository.findById(course.getId()).orElseThrow();
+
+        User toUpdate = userRepository.findById(user.getId()).orElseThrow();
+        toUpdate.setFullName("更新后的姓名");
+        userRepository.save(toUpdate);
+        Course courseToUpdate = courseRepository.findById(course.getId()).orElseThrow();
+        courseToUpdate.setStatus(SystemConstants.CourseStatus.ARCHIVED);
+        courseRepository.save(courseToUpdate);
+
+        assertEquals("更新后的姓名", userRepository.findById(user.getId()).orElseThrow().getFullName());
+        assertEquals(SystemConstants.CourseStatus.ARCHIVED,
+            courseRepository.findById(course.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void queryCacheIsInvalidatedByUpdates() {
+        User user = userRepository.save(newUser());
+        String oldUsername = user.getUsername();
+        userRepository.findByUsername(oldUsername).orElseThrow();
+        userRepository.findByUsername(oldUsername).orElseThrow();
+        assertTrue(statistics.getQueryCacheHitCount() >= 1);
+
+        User toUpdate = userRepository.findById(user.getId()).orElseThrow();
+        toUpdate.setUsername("renamed_" + oldUsername.substring(0, 8));
+        userRepository.save(toUpdate);
+
+        assertFalse(userRepository.findByUsername(oldUsername).isPresent());
+        assertEquals(user.getId(), userRepository.findByUsername(toUpdate.getUsername()).orElseThrow().getId());
+    }
+
+    @Test
+    void bulkDeleteEvictsMembershipRegion() {
+        User user = userRepository.save(newUser());
+        Course course = courseRepository.save(newCourse(user.getId()));
+        CourseUser member = new CourseUser();
+        member.setCourseId(course.getId());
+        member.setUserId(user.getId());
+        member.setRole(SystemConstants.CourseUserRole.STUDENT);
+        member.setJoinedAt(LocalDateTime.now());
+        member.setJoinMethod(SystemConstants.JoinMethod.ADDED);
+        member = courseUserRepository.save(member);
+
+        assertTrue(courseUserRepository.findById(member.getId()).isPresent());
+        assertTrue(courseUserRepository.existsByCourseIdAndUserIdAndActiveTrue(course.getId(), user.getId()));
+
+        courseUserRepository.deleteAllByCourseId(course.getId());
+
+        assertFalse(courseUserRepository.findById(member.getId()).isPresent());
+        assertFalse(courseUserRepository.existsByCourseIdAndUserIdAndActiveTrue(course.getId(), user.getId()));
+    }
+
+    private User newUser() {
+        User user = new User();
+        user.setUsername(UUID.randomUUID().toString().replace("-", "").substring(0, 20));
+        user.setPassword("password");
+        user.setFullName("测试用户");
+        user.setRole(SystemConstants.UserRole.TEACHER);
+        return user;
+    }
+
+    private Course newCourse(String creatorId) {
+        return Course.builder()
+            .name("测试课程")
+            .creatorId(creatorId)
+            .code(UUID.randomUUID().toString().substring(0, 8))
+            .type(SystemConstants.CourseType.COURSE)
+            .status(SystemConstants.CourseStatus.ACTIVE)
+            .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.attendance.common.config.datasource;
+
+import com.attendance.common.config.concurrency.WorkloadContext;
+import com.attendance.common.config.concurrency.WorkloadType;
+import com.attendance.repository.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 读写分离路由测试
+ * 主库和副本分别使用两个独立的内存数据库，通过 DATABASE() 判断语句实际落在哪个库；
+ * 副本中没有表结构，Spring Data 仓库的默认事务若被路由到副本会直接失败
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+    "app.datasource.replica.username=sa",
+    "app.datasource.replica.stickiness-ms=60000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY = "routing_primary";
+    private static final String REPLICA = "routing_replica";
+
+    @Autowired
+    private RoutingProbe probe;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceTransactionUsesReplica() {
+        assertEquals(REPLICA, probe.readOnlyDatabase());
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        assertEquals(PRIMARY, probe.writeDatabase());
+    }
+
+    @Test
+    void repositoryDefaultTransactionUsesPrimary() {
+        assertDoesNotThrow(() -> userRepository.findAll());
+        assertDoesNotThrow(() -> userRepository.count());
+    }
+
+    @Test
+    void readAfterWriteStaysOnPrimaryForSameUser() {
+        authenticate("routing-writer");
+        assertEquals(PRIMARY, probe.writeDatabase());
+        assertEquals(PRIMARY, probe.readOnlyDatabase());
+
+        authenticate("routing-reader");
+        assertEquals(REPLICA, probe.readOnlyDatabase());
+    }
+
+    @Test
+    void checkinWorkloadWriteStartsStickinessWindow() {
+        authenticate("routing-checkin");
+        WorkloadType previous = WorkloadContext.set(WorkloadType.CHECKIN);
+        try {
+            assertEquals(PRIMARY, probe.writeDatabase());
+        } finally {
+            WorkloadContext.set(previous);
+        }
+        assertEquals(PRIMARY, probe.readOnlyDatabase());
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null));
+    }
+
+    @TestConfiguration
+    static class RoutingProbeConfig {
+
+        @Bean
+        RoutingProbe routingProbe(JdbcTemplate jdbcTemplate) {
+            return new RoutingProbe(jdbcTemplate);
+        }
+    }
+
+    /**
+     * 模拟业务服务：在声明式事务中查询当前连接所在的数据库
+     */
+    static class RoutingProbe {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        RoutingProbe(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Transactional(readOnly = true)
+        public String readOnlyDatabase() {
+            return currentDatabase();
+        }
+
+        @Transactional
+        public String writeDatabase() {
+            return currentDatabase();
+        }
+
+        private String currentDatabase() {
+            return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class).toLowerCase();
+        }
+    }
+}
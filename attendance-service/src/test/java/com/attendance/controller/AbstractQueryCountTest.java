@@ -0,0 +1,299 @@
+package com.attendance.controller;
+
+import com.attendance.common.config.datasource.SqlStatistics;
+import com.attendance.common.config.security.JwtTokenProvider;
+import com.attendance.common.config.security.SecurityUserDetails;
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.CourseUser;
+import com.attendance.model.entity.User;
+import com.attendance.repository.course.CourseRepository;
+import com.attendance.repository.course.CourseUserRepository;
+import com.attendance.repository.user.UserRepository;
+import com.attendance.service.security.CoursePermissionCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * 接口SQL语句数回归测试基类
+ * 使用独立的内存数据库启动应用，准备接近真实规模的数据（一个课程500名学生、60个签到任务及签到记录），
+ * 通过数据源代理统计每个请求执行的语句数并断言精确值。
+ * 每次请求前清空二级缓存和课程权限缓存，按冷缓存统计，循环中逐条查询（N+1）会直接体现为语句数增长
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:query_count;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+    "app.security.rate-limit.enabled=false",
+    "app.concurrency-limit.enabled=false",
+    "app.sql-statistics.log-requests=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class AbstractQueryCountTest {
+
+    protected static final int STUDENT_COUNT = 500;
+    protected static final int CHECKIN_COUNT = 60;
+    protected static final String PASSWORD = "password";
+
+    private static Fixture fixture;
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CourseRepository courseRepository;
+
+    @Autowired
+    protected CourseUserRepository courseUserRepository;
+
+    @Autowired
+    protected JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CoursePermissionCache coursePermissionCache;
+
+    /**
+     * 测试数据
+     *
+     * @param teacher 课程创建者
+     * @param students 课程学生
+     * @param course 课程
+     * @param checkins 已结束的签到任务（按开始时间升序）
+     */
+    protected record Fixture(User teacher, List<User> students, Course course, List<Course> checkins) {
+
+        public User student() {
+            return students.get(0);
+        }
+
+        public Course checkin() {
+            return checkins.get(checkins.size() - 1);
+        }
+    }
+
+    /**
+     * 测试数据在同一个应用上下文中只准备一次
+     */
+    @BeforeEach
+    void prepareFixture() {
+        synchronized (AbstractQueryCountTest.class) {
+            if (fixture == null || !courseRepository.existsById(fixture.course().getId())) {
+                fixture = new TransactionTemplate(transactionManager).execute(status -> seed());
+            }
+        }
+    }
+
+    protected Fixture fixture() {
+        return fixture;
+    }
+
+    /**
+     * 执行请求并断言成功，返回请求执行的SQL语句数
+     * 异步请求（报表、导出）等待异步处理完成后统计
+     */
+    protected int countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        coursePermissionCache.invalidateAll();
+
+        MvcResult result = mockMvc.perform(request).andReturn();
+        SqlStatistics statistics = (SqlStatistics) result.getRequest().getAttribute(SqlStatistics.REQUEST_ATTRIBUTE);
+        if (result.getRequest().isAsyncStarted()) {
+            result.getAsyncResult();
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+
+        int status = result.getResponse().getStatus();
+        String body = result.getResponse().getContentAsString();
+        assertTrue(status >= 200 && status < 300, "请求失败: status=" + status + ", body=" + body);
+        if (MediaType.APPLICATION_JSON_VALUE.equals(result.getResponse().getContentType())) {
+            assertTrue(body.startsWith("{\"code\":200"), "请求失败: " + body);
+        }
+        assertNotNull(statistics, "未统计到SQL语句，检查 app.sql-statistics.enabled");
+        return statistics.getStatements();
+    }
+
+    /**
+     * 断言请求执行的SQL语句数
+     */
+    protected void assertStatements(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        assertEquals(expected, countStatements(request),
+            "SQL语句数发生变化，检查是否引入了循环中的逐条查询（N+1）");
+    }
+
+    /**
+     * 为用户添加Bearer令牌
+     */
+    protected MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header(SystemConstants.Security.HEADER_STRING,
+            SystemConstants.Security.TOKEN_PREFIX + jwtTokenProvider.generateToken(new SecurityUserDetails(user)));
+    }
+
+    protected MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    protected User newUser(String role) {
+        User user = new User();
+        user.setUsername("qc_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16));
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setFullName("测试用户");
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    /**
+     * 创建课程并将创建者加入课程
+     */
+    protected Course newCourse(User teacher) {
+        Course course = courseRepository.save(Course.builder()
+            .name("测试课程")
+            .creatorId(teacher.getId())
+            .code(UUID.randomUUID().toString().substring(0, 8))
+            .type(SystemConstants.CourseType.COURSE)
+            .status(SystemConstants.CourseStatus.ACTIVE)
+            .startDate(LocalDate.now().minusDays(30))
+            .endDate(LocalDate.now().plusDays(90))
+            .build());
+        addMember(course, teacher, SystemConstants.CourseUserRole.CREATOR, SystemConstants.JoinMethod.CREATED);
+        return course;
+    }
+
+    /**
+     * 创建进行中的签到任务
+     */
+    protected Course newActiveCheckin(Course course) {
+        return courseRepository.save(Course.builder()
+            .name("进行中的签到")
+            .creatorId(course.getCreatorId())
+            .code(UUID.randomUUID().toString().substring(0, 8))
+            .type(SystemConstants.CourseType.CHECKIN)
+            .status(SystemConstants.TaskStatus.ACTIVE)
+            .checkinType(SystemConstants.CheckInType.QR_CODE)
+            .checkinStartTime(LocalDateTime.now().minusMinutes(1))
+            .checkinEndTime(LocalDateTime.now().plusHours(1))
+            .parentCourseId(course.getId())
+            .build());
+    }
+
+    protected CourseUser addMember(Course course, User user, String role, String joinMethod) {
+        CourseUser member = new CourseUser();
+        member.setCourseId(course.getId());
+        member.setUserId(user.getId());
+        member.setRole(role);
+        member.setJoinedAt(LocalDateTime.now());
+        member.setJoinMethod(joinMethod);
+        member.setActive(true);
+        return courseUserRepository.save(member);
+    }
+
+    private Fixture seed() {
+        String password = passwordEncoder.encode(PASSWORD);
+        User teacher = newUser(SystemConstants.UserRole.TEACHER);
+        Course course = newCourse(teacher);
+
+        List<User> students = new ArrayList<>(STUDENT_COUNT);
+        List<CourseUser> members = new ArrayList<>(STUDENT_COUNT);
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            User student = new User();
+            student.setUsername(String.format("qc_student_%s_%03d", course.getCode(), i));
+            student.setPassword(password);
+            student.setFullName("学生" + i);
+            student.setRole(SystemConstants.UserRole.STUDENT);
+            students.add(student);
+        }
+        students = userRepository.saveAll(students);
+        for (User student : students) {
+            CourseUser member = new CourseUser();
+            member.setCourseId(course.getId());
+            member.setUserId(student.getId());
+            member.setRole(SystemConstants.CourseUserRole.STUDENT);
+            member.setJoinedAt(LocalDateTime.now().minusDays(29));
+            member.setJoinMethod(SystemConstants.JoinMethod.CODE);
+            member.setActive(true);
+            members.add(member);
+        }
+        courseUserRepository.saveAll(members);
+
+        // 已结束的签到任务，每天一次
+        LocalDateTime firstStart = LocalDateTime.now().minusDays(CHECKIN_COUNT + 1L).withNano(0);
+        List<Course> checkins = new ArrayList<>(CHECKIN_COUNT);
+        for (int i = 0; i < CHECKIN_COUNT; i++) {
+            LocalDateTime start = firstStart.plusDays(i);
+            checkins.add(Course.builder()
+                .name("第" + (i + 1) + "次签到")
+                .creatorId(teacher.getId())
+                .code(UUID.randomUUID().toString().substring(0, 8))
+                .type(SystemConstants.CourseType.CHECKIN)
+                .status(SystemConstants.TaskStatus.ENDED)
+                .checkinType(SystemConstants.CheckInType.QR_CODE)
+                .checkinStartTime(start)
+                .checkinEndTime(start.plusMinutes(30))
+                .parentCourseId(course.getId())
+                .build());
+        }
+        checkins = courseRepository.saveAll(checkins);
+
+        // 签到记录：约80%正常或迟到，其余缺勤（无记录）
+        List<Object[]> records = new ArrayList<>(STUDENT_COUNT * CHECKIN_COUNT);
+        for (int c = 0; c < CHECKIN_COUNT; c++) {
+            Course checkin = checkins.get(c);
+            for (int s = 0; s < STUDENT_COUNT; s++) {
+                if ((s + c) % 5 == 0) {
+                    continue;
+                }
+                boolean late = (s + c) % 7 == 0;
+                Timestamp time = Timestamp.valueOf(checkin.getCheckinStartTime().plusMinutes(late ? 15 : 2));
+                records.add(new Object[]{
+                    UUID.randomUUID().toString(), students.get(s).getId(), checkin.getId(), course.getId(),
+                    late ? SystemConstants.RecordStatus.LATE : SystemConstants.RecordStatus.NORMAL,
+                    time, "Test Device", SystemConstants.CheckInType.QR_CODE, checkin.getId(), true, time, time
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO course_record (id, user_id, course_id, parent_course_id, status, "
+            + "check_in_time, device, verify_method, remark, active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", records);
+
+        return new Fixture(teacher, students, course, checkins);
+    }
+}
@@ -0,0 +1,63 @@
+package com.attendance.controller.auth;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.controller.AbstractQueryCountTest;
+import com.attendance.model.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * AuthController 各接口的SQL语句数
+ */
+class AuthControllerQueryCountTest extends AbstractQueryCountTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void login() throws Exception {
+        User user = newUser(SystemConstants.UserRole.STUDENT);
+        assertStatements(2, loginRequest(user));
+    }
+
+    @Test
+    void refresh() throws Exception {
+        JsonNode tokens = login(newUser(SystemConstants.UserRole.STUDENT));
+        assertStatements(4, json(post("/auth/refresh"),
+            "{\"refreshToken\":\"" + tokens.path("refreshToken").asText() + "\"}"));
+    }
+
+    @Test
+    void logout() throws Exception {
+        JsonNode tokens = login(newUser(SystemConstants.UserRole.STUDENT));
+        assertStatements(4, json(post("/auth/logout"),
+            "{\"refreshToken\":\"" + tokens.path("refreshToken").asText() + "\"}")
+            .header(SystemConstants.Security.HEADER_STRING,
+                SystemConstants.Security.TOKEN_PREFIX + tokens.path("accessToken").asText()));
+    }
+
+    @Test
+    void register() throws Exception {
+        String username = "qc_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        assertStatements(3, json(post("/auth/register"),
+            "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"fullName\":\"新用户\","
+                + "\"email\":\"" + username + "@example.com\"}"));
+    }
+
+    private MockHttpServletRequestBuilder loginRequest(User user) {
+        return json(post("/auth/login"),
+            "{\"username\":\"" + user.getUsername() + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    private JsonNode login(User user) throws Exception {
+        String body = mockMvc.perform(loginRequest(user)).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+}
@@ -0,0 +1,77 @@
+package com.attendance.controller.auth;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.controller.AbstractQueryCountTest;
+import com.attendance.model.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 修改密码后令牌失效（业务异常以响应体中的401表示需要重新登录）：刷新令牌（包括修改前已轮换出的令牌）和修改时使用的访问令牌都不能再使用
+ */
+class PasswordChangeRevocationTest extends AbstractQueryCountTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void refreshTokensAreRevokedAfterPasswordChange() throws Exception {
+        User user = newUser(SystemConstants.UserRole.STUDENT);
+        JsonNode first = login(user);
+        JsonNode rotated = refresh(first.path("refreshToken").asText());
+        String accessToken = rotated.path("accessToken").asText();
+
+        mockMvc.perform(bearer(accessToken, json(put("/users/me"), "{\"password\":\"NewPassw0rd!\"}")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.code").value(200));
+
+        mockMvc.perform(json(post("/auth/refresh"),
+                "{\"refreshToken\":\"" + rotated.path("refreshToken").asText() + "\"}"))
+            .andExpect(jsonPath("$.code").value(401));
+        mockMvc.perform(bearer(accessToken, get("/users/current")))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshTokensSurviveProfileUpdateWithoutPassword() throws Exception {
+        User user = newUser(SystemConstants.UserRole.STUDENT);
+        JsonNode tokens = login(user);
+
+        mockMvc.perform(bearer(tokens.path("accessToken").asText(),
+                json(put("/users/me"), "{\"fullName\":\"新的姓名\"}")))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(json(post("/auth/refresh"),
+                "{\"refreshToken\":\"" + tokens.path("refreshToken").asText() + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.code").value(200));
+    }
+
+    private JsonNode login(User user) throws Exception {
+        String body = mockMvc.perform(json(post("/auth/login"),
+                "{\"username\":\"" + user.getUsername() + "\",\"password\":\"" + PASSWORD + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+
+    private JsonNode refresh(String refreshToken) throws Exception {
+        String body = mockMvc.perform(json(post("/auth/refresh"), "{\"refreshToken\":\"" + refreshToken + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+
+    private MockHttpServletRequestBuilder bearer(String accessToken, MockHttpServletRequestBuilder request) {
+        return request.header(SystemConstants.Security.HEADER_STRING, SystemConstants.Security.TOKEN_PREFIX + accessToken);
+    }
+}
@@ -0,0 +1,71 @@
+package com.attendance.controller.course;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.common.exception.ErrorCode;
+import com.attendance.controller.AbstractQueryCountTest;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.User;
+import com.attendance.repository.course.CourseRecordRepository;
+import com.attendance.service.security.CoursePermissionCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 签到写入与节点本地缓存的一致性测试
+ * 直接修改数据库模拟其他节点上的变更：本节点的二级缓存和权限缓存中仍是旧数据，签到应按数据库最新状态拒绝
+ */
+class CheckinStaleCacheTest extends AbstractQueryCountTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseRecordRepository courseRecordRepository;
+
+    @Autowired
+    private CoursePermissionCache coursePermissionCache;
+
+    @Test
+    void taskCanceledOnAnotherNodeRejectsCheckIn() throws Exception {
+        Course course = newCourse(newUser(SystemConstants.UserRole.TEACHER));
+        User student = newUser(SystemConstants.UserRole.STUDENT);
+        addMember(course, student, SystemConstants.CourseUserRole.STUDENT, SystemConstants.JoinMethod.CODE);
+        Course checkin = newActiveCheckin(course);
+        courseRepository.findById(checkin.getId()).orElseThrow();
+
+        jdbcTemplate.update("UPDATE courses SET status = ? WHERE id = ?",
+            SystemConstants.TaskStatus.CANCELED, checkin.getId());
+
+        mockMvc.perform(checkIn(student, checkin))
+            .andExpect(jsonPath("$.message").value(ErrorCode.CHECKIN_CANCELED.getMessage()));
+        assertFalse(courseRecordRepository.findByUserIdAndCourseId(student.getId(), checkin.getId()).isPresent());
+    }
+
+    @Test
+    void memberRemovedOnAnotherNodeRejectsCheckIn() throws Exception {
+        Course course = newCourse(newUser(SystemConstants.UserRole.TEACHER));
+        User student = newUser(SystemConstants.UserRole.STUDENT);
+        addMember(course, student, SystemConstants.CourseUserRole.STUDENT, SystemConstants.JoinMethod.CODE);
+        Course checkin = newActiveCheckin(course);
+        assertTrue(coursePermissionCache.isActiveMember(student.getId(), course.getId()));
+
+        jdbcTemplate.update("UPDATE course_users SET active = false WHERE course_id = ? AND user_id = ?",
+            course.getId(), student.getId());
+
+        mockMvc.perform(checkIn(student, checkin))
+            .andExpect(jsonPath("$.message").value(ErrorCode.CHECKIN_NOT_MEMBER.getMessage()));
+        assertFalse(courseRecordRepository.findByUserIdAndCourseId(student.getId(), checkin.getId()).isPresent());
+    }
+
+    private MockHttpServletRequestBuilder checkIn(User student, Course checkin) {
+        return as(student, json(post("/courses/attendance/check-in"),
+            "{\"checkinId\":\"" + checkin.getId() + "\",\"verifyMethod\":\"QR_CODE\"}"));
+    }
+}
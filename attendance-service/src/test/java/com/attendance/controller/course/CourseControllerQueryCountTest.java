@@ -0,0 +1,204 @@
+package com.attendance.controller.course;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.controller.AbstractQueryCountTest;
+import com.attendance.model.entity.Course;
+import com.attendance.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * CourseController 各接口的SQL语句数
+ * 修改数据的接口使用单独创建的教师和课程，避免影响共享的测试数据
+ */
+class CourseControllerQueryCountTest extends AbstractQueryCountTest {
+
+    private static final String PAGE = "{\"page\":0,\"size\":20}";
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Test
+    void createCourse() throws Exception {
+        User teacher = newUser(SystemConstants.UserRole.TEACHER);
+        assertStatements(4, as(teacher, json(post("/courses/create"),
+            "{\"name\":\"新课程\",\"type\":\"COURSE\",\"startDate\":\"" + LocalDate.now()
+                + "\",\"endDate\":\"" + LocalDate.now().plusMonths(4) + "\"}")));
+    }
+
+    @Test
+    void createAttendance() throws Exception {
+        User teacher = newUser(SystemConstants.UserRole.TEACHER);
+        Course course = newCourse(teacher);
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        assertStatements(5, as(teacher, json(post("/courses/attendance/create"),
+            "{\"courseId\":\"" + course.getId() + "\",\"title\":\"新签到\",\"startTime\":\"" + start.format(DATE_TIME)
+                + "\",\"endTime\":\"" + start.plusMinutes(30).format(DATE_TIME) + "\",\"checkInType\":\"QR_CODE\"}")));
+    }
+
+    @Test
+    void getCourse() throws Exception {
+        assertStatements(3, as(fixture().teacher(), get("/courses/detail")
+            .param("id", fixture().course().getId())));
+    }
+
+    @Test
+    void getMyCoursesAsTeacher() throws Exception {
+        assertStatements(3, as(fixture().teacher(), json(post("/courses/list"), PAGE)));
+    }
+
+    @Test
+    void getMyCoursesAsStudent() throws Exception {
+        assertStatements(4, as(fixture().student(), json(post("/courses/list"), PAGE)));
+    }
+
+    @Test
+    void getAttendanceListAsTeacher() throws Exception {
+        assertStatements(4, as(fixture().teacher(), json(post("/courses/attendance/list"), PAGE)
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void getAttendanceListAsStudent() throws Exception {
+        assertStatements(24, as(fixture().student(), json(post("/courses/attendance/list"), PAGE)
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void getCourseAttendanceDetail() throws Exception {
+        // 当前逐个签到任务统计（每个任务两条），修复后下调
+        assertStatements(124, as(fixture().teacher(), get("/courses/attendance/detail")
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void getAttendanceMatrix() throws Exception {
+        assertStatements(8, as(fixture().teacher(), get("/courses/attendance/matrix")
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void exportCheckinAttendance() throws Exception {
+        assertStatements(4, as(fixture().teacher(), get("/courses/attendance/export")
+            .param("checkinId", fixture().checkin().getId())));
+    }
+
+    @Test
+    void exportCourseAttendance() throws Exception {
+        assertStatements(5, as(fixture().teacher(), get("/courses/export")
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void exportTeacherAttendance() throws Exception {
+        assertStatements(1, as(fixture().teacher(), get("/courses/export/teacher")));
+    }
+
+    @Test
+    void joinCourseByCode() throws Exception {
+        Course course = newCourse(newUser(SystemConstants.UserRole.TEACHER));
+        User student = newUser(SystemConstants.UserRole.STUDENT);
+        assertStatements(4, as(student, post("/courses/members/join").param("code", course.getCode())));
+    }
+
+    @Test
+    void getCourseMembers() throws Exception {
+        assertStatements(22, as(fixture().teacher(), json(post("/courses/members/list"), PAGE)
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void submitCheckIn() throws Exception {
+        Course course = newCourse(newUser(SystemConstants.UserRole.TEACHER));
+        User student = newUser(SystemConstants.UserRole.STUDENT);
+        addMember(course, student, SystemConstants.CourseUserRole.STUDENT, SystemConstants.JoinMethod.CODE);
+        Course checkin = newActiveCheckin(course);
+        assertStatements(7, as(student, json(post("/courses/attendance/check-in"),
+            "{\"checkinId\":\"" + checkin.getId() + "\",\"verifyMethod\":\"QR_CODE\"}")));
+    }
+
+    @Test
+    void getUserCourseRecordsAsStudent() throws Exception {
+        // 当前逐个签到任务查询本人记录（N+1），修复后下调
+        assertStatements(63, as(fixture().student(), json(post("/courses/attendance/user/records"), PAGE)
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void getUserCourseRecordsAsTeacher() throws Exception {
+        // 当前逐个签到任务查询学生记录（N+1），修复后下调
+        assertStatements(63, as(fixture().teacher(), json(post("/courses/attendance/user/records"), PAGE)
+            .param("courseId", fixture().course().getId())
+            .param("userId", fixture().student().getId())));
+    }
+
+    @Test
+    void generateCourseQRCode() throws Exception {
+        assertStatements(4, as(fixture().teacher(), get("/courses/qrcode")
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void generateCheckinQRCode() throws Exception {
+        assertStatements(3, as(fixture().teacher(), get("/courses/attendance/qrcode")
+            .param("checkinId", fixture().checkin().getId())));
+    }
+
+    @Test
+    void getAttendanceRecordList() throws Exception {
+        // 当前逐条记录查询用户信息（N+1），修复后下调
+        assertStatements(506, as(fixture().teacher(), json(post("/courses/attendance/record/list"), PAGE)
+            .param("checkinId", fixture().checkin().getId())));
+    }
+
+    @Test
+    void getAttendanceRecordStatus() throws Exception {
+        assertStatements(24, as(fixture().student(), json(post("/courses/attendance/record/status"), PAGE)
+            .param("courseId", fixture().course().getId())));
+    }
+
+    @Test
+    void getAttendanceRecordStatistics() throws Exception {
+        // 当前逐个成员查询签到记录（N+1），修复后下调
+        assertStatements(504, as(fixture().teacher(), json(post("/courses/attendance/record/statistics"), PAGE)
+            .param("checkinId", fixture().checkin().getId())));
+    }
+
+    @Test
+    void deleteCourse() throws Exception {
+        User teacher = newUser(SystemConstants.UserRole.TEACHER);
+        Course course = newCourse(teacher);
+        newActiveCheckin(course);
+        assertStatements(6, as(teacher, post("/courses/delete").param("courseId", course.getId())));
+    }
+
+    @Test
+    void deleteAttendance() throws Exception {
+        User teacher = newUser(SystemConstants.UserRole.TEACHER);
+        Course checkin = newActiveCheckin(newCourse(teacher));
+        assertStatements(5, as(teacher, post("/courses/attendance/delete").param("checkinId", checkin.getId())));
+    }
+
+    @Test
+    void removeMember() throws Exception {
+        User teacher = newUser(SystemConstants.UserRole.TEACHER);
+        Course course = newCourse(teacher);
+        User student = newUser(SystemConstants.UserRole.STUDENT);
+        addMember(course, student, SystemConstants.CourseUserRole.STUDENT, SystemConstants.JoinMethod.CODE);
+        assertStatements(4, as(teacher, json(post("/courses/members/remove"),
+            "{\"courseId\":\"" + course.getId() + "\",\"userId\":\"" + student.getId() + "\"}")));
+    }
+
+    @Test
+    void updateCourse() throws Exception {
+        User teacher = newUser(SystemConstants.UserRole.TEACHER);
+        Course course = newCourse(teacher);
+        assertStatements(5, as(teacher, json(post("/courses/update"),
+            "{\"courseId\":\"" + course.getId() + "\",\"description\":\"更新后的描述\"}")));
+    }
+}
@@ -0,0 +1,37 @@
+package com.attendance.controller.user;
+
+import com.attendance.common.constants.SystemConstants;
+import com.attendance.controller.AbstractQueryCountTest;
+import com.attendance.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * UserController 各接口的SQL语句数
+ */
+class UserControllerQueryCountTest extends AbstractQueryCountTest {
+
+    @Test
+    void getCurrentUser() throws Exception {
+        assertStatements(1, as(fixture().student(), get("/users/current")));
+    }
+
+    @Test
+    void getUser() throws Exception {
+        assertStatements(1, as(fixture().student(), get("/users/{id}", fixture().student().getId())));
+    }
+
+    @Test
+    void updateCurrentUser() throws Exception {
+        User user = newUser(SystemConstants.UserRole.STUDENT);
+        assertStatements(2, as(user, json(put("/users/me"), "{\"fullName\":\"新的姓名\",\"bio\":\"简介\"}")));
+    }
+
+    @Test
+    void getCourseUsers() throws Exception {
+        // 当前逐个成员查询用户信息（N+1），修复后下调
+        assertStatements(502, as(fixture().teacher(), get("/users/course/{courseId}", fixture().course().getId())));
+    }
+}
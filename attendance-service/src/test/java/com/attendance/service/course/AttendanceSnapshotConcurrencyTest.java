@@ -0,0 +1,66 @@
+package com.attendance.service.course;
+
+import com.attendance.common.util.AttendanceMatrix;
+import com.attendance.controller.AbstractQueryCountTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 考勤快照并发重建测试
+ * 快照失效后多个请求同时读取会同时重建并插入同一主键，后提交的请求应读取已生成的快照而不是失败
+ */
+class AttendanceSnapshotConcurrencyTest extends AbstractQueryCountTest {
+
+    private static final int READERS = 8;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private AttendanceSnapshotService snapshotService;
+
+    @Test
+    void concurrentReadsAfterEvictionShareOneSnapshot() throws Exception {
+        String courseId = fixture().course().getId();
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                readConcurrently(executor, courseId);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void readConcurrently(ExecutorService executor, String courseId) throws Exception {
+        snapshotService.evictSnapshot(courseId);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<AttendanceMatrix>> results = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return snapshotService.getSnapshot(courseId);
+                }));
+            }
+            start.countDown();
+
+            byte[] expected = results.get(0).get().encode(false);
+            for (Future<AttendanceMatrix> result : results) {
+                AttendanceMatrix matrix = result.get();
+                assertEquals(CHECKIN_COUNT, matrix.getTaskCount());
+                assertArrayEquals(expected, matrix.encode(false));
+            }
+        } finally {
+            snapshotService.evictSnapshot(courseId);
+        }
+    }
+}